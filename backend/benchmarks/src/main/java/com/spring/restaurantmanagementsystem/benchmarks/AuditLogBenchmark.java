@@ -0,0 +1,115 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import com.spring.restaurantmanagementsystem.audit.AuditLog;
+import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.service.AdminService;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * What the audit log adds to an admin request. {@code updateUser} and {@code updateUserAudited} run the
+ * same update against stubbed repositories, without and with the audit listener, so their difference
+ * is the cost on the request thread; {@code record} is that cost alone. The audit writer runs for real
+ * on a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    private static final UpdateUserRequest REQUEST = new UpdateUserRequest("renamed", null, null, null);
+    private static final EntityChangedEvent EVENT = new EntityChangedEvent(EntityType.USER, ChangeType.UPDATED, 1L);
+
+    private Path directory;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLog auditLog;
+    private AdminService adminService;
+    private AdminService auditedAdminService;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-benchmark");
+        meterRegistry = new SimpleMeterRegistry();
+        auditLog = new AuditLog(directory.toString(), 64 << 20, 65536, 256, 1000, meterRegistry);
+        auditLog.start();
+
+        User user = Fixtures.users(1).getFirst();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.existsByUsernameAndIdNot(anyString(), anyLong())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        ShardRouter shardRouter = new ShardRouter(1);
+        adminService = new AdminService(userRepository, mock(RoleRepository.class), mock(StoreRepository.class),
+                mock(PasswordEncoder.class), shardRouter, event -> { });
+        auditedAdminService = new AdminService(userRepository, mock(RoleRepository.class),
+                mock(StoreRepository.class), mock(PasswordEncoder.class), shardRouter,
+                event -> auditLog.onEntityChanged((EntityChangedEvent) event));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        auditLog.stop();
+        double dropped = meterRegistry.get("app.audit.dropped").counter().count();
+        if (dropped > 0) {
+            System.out.printf("%n%.0f audit records dropped; the writer fell behind%n", dropped);
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public UserDto updateUser() {
+        return adminService.updateUser(1L, REQUEST);
+    }
+
+    @Benchmark
+    public UserDto updateUserAudited() {
+        return auditedAdminService.updateUser(1L, REQUEST);
+    }
+
+    @Benchmark
+    public void record() {
+        auditLog.onEntityChanged(EVENT);
+    }
+}
@@ -0,0 +1,128 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark.
+ * A benchmark regresses when it is more than {@code threshold} percent worse than the baseline
+ * and the two scores' error intervals do not overlap, so run-to-run noise is not reported.
+ * Whether lower or higher is better follows the benchmark mode.
+ */
+final class BaselineComparison {
+
+    /** Secondary metric reported by JMH's GC profiler for bytes allocated per operation. */
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    record Score(String mode, double score, double error, String unit) {
+
+        boolean lowerIsBetter() {
+            // avgt, sample and ss measure time per operation; thrpt measures operations per time
+            return !"thrpt".equals(mode);
+        }
+    }
+
+    record Row(String benchmark, Score baseline, Score current, double changePercent, boolean regression) {
+    }
+
+    private final List<Row> rows;
+    private final List<String> added;
+    private final List<String> removed;
+
+    private BaselineComparison(List<Row> rows, List<String> added, List<String> removed) {
+        this.rows = rows;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    static BaselineComparison of(Path baselineFile, Path currentFile, double threshold) throws IOException {
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(currentFile);
+
+        List<Row> rows = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                added.add(entry.getKey());
+                continue;
+            }
+            Score after = entry.getValue();
+            double change = (after.score() - before.score()) / before.score() * 100;
+            double worse = before.lowerIsBetter() ? change : -change;
+            boolean outsideNoise = before.lowerIsBetter()
+                    ? after.score() - after.error() > before.score() + before.error()
+                    : after.score() + after.error() < before.score() - before.error();
+            rows.add(new Row(entry.getKey(), before, after, change, worse > threshold && outsideNoise));
+        }
+        List<String> removed = baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .toList();
+        return new BaselineComparison(rows, added, removed);
+    }
+
+    boolean hasRegressions() {
+        return rows.stream().anyMatch(Row::regression);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-60s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Row row : rows) {
+            out.printf("%-60s %14.3f %14.3f %+8.1f%% %s%s%n",
+                    row.benchmark(),
+                    row.baseline().score(),
+                    row.current().score(),
+                    row.changePercent(),
+                    row.current().unit(),
+                    row.regression() ? "  REGRESSION" : "");
+        }
+        added.forEach(name -> out.println("New benchmark without baseline: " + name));
+        removed.forEach(name -> out.println("Baseline benchmark not run: " + name));
+        out.println(hasRegressions() ? "Regressions found." : "No regressions.");
+    }
+
+    /**
+     * Reads a JMH JSON result file keyed by class and method name plus the parameters.
+     * When the run used {@code -prof gc}, the bytes allocated per operation are added as a
+     * separate entry so allocation regressions are reported like time regressions.
+     */
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            String benchmark = result.path("benchmark").asText();
+            int method = benchmark.lastIndexOf('.');
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', method - 1) + 1));
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.properties().forEach(param -> sorted.put(param.getKey(), param.getValue().asText()));
+                key.append(sorted);
+            }
+            scores.put(key.toString(), score(result.path("mode").asText(), result.path("primaryMetric")));
+            JsonNode allocation = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            if (allocation.isObject()) {
+                // Allocation is lower-is-better whatever the benchmark mode
+                scores.put(key + " alloc", score(ALLOCATION_METRIC, allocation));
+            }
+        }
+        return scores;
+    }
+
+    private static Score score(String mode, JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        return new Score(
+                mode,
+                metric.path("score").asDouble(),
+                Double.isNaN(error) ? 0 : error,
+                metric.path("scoreUnit").asText());
+    }
+}
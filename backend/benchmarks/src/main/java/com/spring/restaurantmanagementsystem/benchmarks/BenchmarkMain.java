@@ -0,0 +1,77 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the benchmarks, always writing JMH's JSON results, and optionally compares them with a
+ * saved baseline.
+ *
+ * <pre>
+ * --result FILE         where to write the JSON results (default target/jmh-result.json)
+ * --save-baseline FILE  copy the results to FILE after the run
+ * --baseline FILE       compare the results with FILE; exits with 1 on a regression
+ * --threshold PERCENT   slowdown tolerated before reporting a regression (default 10)
+ * --compare FILE        skip the run and compare FILE with the baseline
+ * </pre>
+ * Any other arguments are passed to JMH, e.g. a benchmark regex or {@code -f 2}.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path result = Path.of("target", "jmh-result.json");
+        Path baseline = null;
+        Path saveBaseline = null;
+        Path compare = null;
+        double threshold = 10;
+        List<String> jmhArgs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--result" -> result = Path.of(args[++i]);
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                case "--save-baseline" -> saveBaseline = Path.of(args[++i]);
+                case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+                case "--compare" -> compare = Path.of(args[++i]);
+                default -> jmhArgs.add(args[i]);
+            }
+        }
+
+        if (compare == null) {
+            if (result.getParent() != null) {
+                Files.createDirectories(result.getParent());
+            }
+            new Runner(new OptionsBuilder()
+                    .parent(new CommandLineOptions(jmhArgs.toArray(String[]::new)))
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.toString())
+                    .build())
+                    .run();
+            compare = result;
+        }
+
+        if (saveBaseline != null) {
+            Files.copy(compare, saveBaseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Saved baseline to " + saveBaseline);
+        }
+
+        if (baseline != null) {
+            BaselineComparison comparison = BaselineComparison.of(baseline, compare, threshold);
+            comparison.print(System.out);
+            if (comparison.hasRegressions()) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.service.AdminService;
+import com.spring.restaurantmanagementsystem.service.StoreService;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The entity-to-DTO mappers behind the staff and store lists. The services are called through
+ * their public list methods with repositories stubbed to return prebuilt entities, so the
+ * measurement is the mapping itself rather than the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private AdminService adminService;
+    private StoreService storeService;
+
+    @Setup
+    public void setUp() {
+        List<User> users = Fixtures.users(size);
+        List<Store> stores = Fixtures.stores(size);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        StoreRepository storeRepository = mock(StoreRepository.class);
+        when(userRepository.findAll(any(Sort.class))).thenReturn(users);
+        when(storeRepository.findAll()).thenReturn(stores);
+
+        ShardRouter shardRouter = new ShardRouter(1);
+        adminService = new AdminService(userRepository, mock(RoleRepository.class), storeRepository,
+                mock(PasswordEncoder.class), shardRouter, event -> { });
+        storeService = new StoreService(storeRepository, userRepository, shardRouter, event -> { },
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Benchmark
+    public List<UserDto> userDtos() {
+        return adminService.getAllUsers();
+    }
+
+    @Benchmark
+    public List<StoreDto> storeDtos() {
+        return storeService.getAllStores();
+    }
+}
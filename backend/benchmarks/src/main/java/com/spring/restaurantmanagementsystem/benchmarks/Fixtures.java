@@ -0,0 +1,82 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared test data for the benchmarks.
+ */
+final class Fixtures {
+
+    static final String SECRET_KEY = "c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0";
+    static final long EXPIRATION_MS = 3_600_000;
+
+    private Fixtures() {
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", EXPIRATION_MS);
+        return jwtService;
+    }
+
+    /**
+     * Builds users spread over a handful of stores, with the mix of roles the staff list sees.
+     */
+    static List<User> users(int count) {
+        Role admin = role(1L, RoleEnum.ADMIN);
+        Role cashier = role(2L, RoleEnum.CASHIER);
+        Role waiter = role(3L, RoleEnum.WAITER);
+        List<Store> stores = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            stores.add(store(i));
+        }
+
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@restaurant.com");
+            user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z0EXGyAr0ZnW1QxEwQbY0Nrm");
+            user.setRoles(i == 0 ? Set.of(admin) : Set.of(i % 2 == 0 ? cashier : waiter));
+            user.setStore(i == 0 ? null : stores.get(i % stores.size()));
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Store> stores(int count) {
+        List<Store> stores = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            stores.add(store(i));
+        }
+        return stores;
+    }
+
+    private static Role role(Long id, RoleEnum name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+
+    private static Store store(long id) {
+        Store store = new Store();
+        store.setId(id);
+        store.setName("Store " + id);
+        store.setLatitude(41.38 + id / 100.0);
+        store.setLongitude(2.17 + id / 100.0);
+        return store;
+    }
+}
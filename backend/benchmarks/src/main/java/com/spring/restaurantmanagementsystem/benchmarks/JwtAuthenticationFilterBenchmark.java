@@ -0,0 +1,68 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import com.spring.restaurantmanagementsystem.security.AuthenticatedUser;
+import com.spring.restaurantmanagementsystem.security.JwtAuthenticationFilter;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JWT filter end to end for a request carrying a valid cookie: token parsing, the user
+ * lookup (served from memory here, see {@link UserDetailsServiceBenchmark} for the database)
+ * and populating the security context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = Fixtures.jwtService();
+        AuthenticatedUser admin = new AuthenticatedUser(1L, "admin", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        UserDetailsService userDetailsService = username -> admin;
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+
+        request = new MockHttpServletRequest("GET", "/api/auth/me");
+        request.setCookies(new Cookie("jwtToken", jwtService.generateToken("admin")));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two hottest user lookups, {@code findByStore} and the e-mail uniqueness check on update, over
+ * 1,000,000 users in 1,000 stores on the embedded H2 database, with the migrated indexes and without
+ * any index on {@code users.store_id} or {@code users.email}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SchemaIndexBenchmark {
+
+    private static final int STORES = 1_000;
+    private static final int USERS = 1_000_000;
+    private static final int SEED_SLICE = 50_000;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private List<Store> stores;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:schema-index-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "application.security.jwt.secret-key=" + Fixtures.SECRET_KEY,
+                        "application.security.jwt.expiration=" + Fixtures.EXPIRATION_MS,
+                        "application.warmup.enabled=false",
+                        "application.schema.index-check.fail-on-missing=false",
+                        "DEF_USER=admin",
+                        "DEF_PASS=admin123",
+                        "logging.level.root=WARN")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexed) {
+            // H2 keeps an index of its own for every foreign key, so the key goes as well
+            jdbcTemplate.execute("drop index idx_users_store_id");
+            jdbcTemplate.execute("alter table users drop constraint fk_users_store");
+            jdbcTemplate.execute("alter table users drop constraint uk_users_email");
+        }
+        seed(jdbcTemplate);
+        // The cached store list predates the rows inserted behind Hibernate's back
+        stores = context.getBean(StoreRepository.class)
+                .findAllById(jdbcTemplate.queryForList("select id from stores", Long.class));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("insert into stores (name, latitude, longitude) "
+                + "select 'Store ' || x, 41.38, 2.17 from system_range(1, ?)", STORES);
+        long firstStore = jdbcTemplate.queryForObject("select min(id) from stores", Long.class);
+        // In slices, so no single statement holds a million rows of undo log
+        for (int from = 1; from <= USERS; from += SEED_SLICE) {
+            jdbcTemplate.update("insert into users (username, password, email, store_id) "
+                    + "select 'staff' || x, 'hash', 'staff' || x || '@restaurant.com', ? + mod(x, ?) "
+                    + "from system_range(?, ?)", firstStore, STORES, from, from + SEED_SLICE - 1);
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<User> findByStore() {
+        next = (next + 1) % stores.size();
+        return userRepository.findByStore(stores.get(next));
+    }
+
+    @Benchmark
+    public Boolean existsByEmailAndIdNot() {
+        next = (next + 7919) % USERS;
+        return userRepository.existsByEmailAndIdNot("staff" + (next + 1) + "@restaurant.com", 1L);
+    }
+}
@@ -0,0 +1,135 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import com.spring.restaurantmanagementsystem.directory.StaffDirectory;
+import com.spring.restaurantmanagementsystem.directory.StaffDirectoryLoader;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Staff analytics over 1,000,000 users in 1,000 stores, three ways: a scan of the in-memory staff
+ * directory, the equivalent SQL aggregate on the embedded H2 database, and loading the entities and
+ * counting in Java. The users are inserted straight with SQL, then the directory is loaded from them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StaffDirectoryBenchmark {
+
+    private static final int STORES = 1_000;
+    private static final int USERS = 1_000_000;
+    private static final int SEED_SLICE = 50_000;
+
+    private ConfigurableApplicationContext context;
+    private StaffDirectory staffDirectory;
+    private JdbcTemplate jdbcTemplate;
+    private UserRepository userRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        // H2 would otherwise answer a repeated query from its result cache
+                        "spring.datasource.url=jdbc:h2:mem:staff-directory-benchmark;DB_CLOSE_DELAY=-1;"
+                                + "OPTIMIZE_REUSE_RESULTS=FALSE",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "application.security.jwt.secret-key=" + Fixtures.SECRET_KEY,
+                        "application.security.jwt.expiration=" + Fixtures.EXPIRATION_MS,
+                        "application.warmup.enabled=false",
+                        "DEF_USER=admin",
+                        "DEF_PASS=admin123",
+                        "logging.level.root=WARN")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userRepository = context.getBean(UserRepository.class);
+        staffDirectory = context.getBean(StaffDirectory.class);
+        seed();
+        context.getBean(StaffDirectoryLoader.class).load();
+    }
+
+    // Every store gets 1,000 users; two in three of them are waiters, the rest cashiers
+    private void seed() {
+        jdbcTemplate.update("insert into stores (name, latitude, longitude) "
+                + "select 'Store ' || x, 36 + mod(x, 8) + 0.5, -9 + mod(x, 12) + 0.5 from system_range(1, ?)", STORES);
+        long firstStore = jdbcTemplate.queryForObject("select min(id) from stores", Long.class);
+        // In slices, so no single statement holds a million rows of undo log
+        for (int from = 1; from <= USERS; from += SEED_SLICE) {
+            jdbcTemplate.update("insert into users (username, password, email, store_id) "
+                    + "select 'staff' || x, 'hash', 'staff' || x || '@restaurant.com', ? + mod(x, ?) "
+                    + "from system_range(?, ?)", firstStore, STORES, from, from + SEED_SLICE - 1);
+        }
+        long waiter = roleId(RoleEnum.WAITER);
+        long cashier = roleId(RoleEnum.CASHIER);
+        jdbcTemplate.update("insert into user_roles (user_id, role_id) "
+                + "select id, case when mod(id, 3) = 0 then ? else ? end from users where username like 'staff%'",
+                cashier, waiter);
+    }
+
+    private long roleId(RoleEnum role) {
+        return jdbcTemplate.queryForObject("select id from roles where name = ?", Long.class, role.name());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<Long, Integer> waitersPerStoreDirectory() {
+        return staffDirectory.headcountByStore(RoleEnum.WAITER);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> waitersPerStoreSql() {
+        return jdbcTemplate.queryForList("select u.store_id, count(*) from users u "
+                + "join user_roles ur on ur.user_id = u.id join roles r on r.id = ur.role_id "
+                + "where r.name = 'WAITER' and u.store_id is not null group by u.store_id");
+    }
+
+    @Benchmark
+    public Map<Long, Long> waitersPerStoreEntities() {
+        return userRepository.findAll().stream()
+                .filter(user -> user.getStore() != null
+                        && user.getRoles().stream().anyMatch(role -> role.getName() == RoleEnum.WAITER))
+                .collect(Collectors.groupingBy(User::getStoreId, Collectors.counting()));
+    }
+
+    @Benchmark
+    public int cashiersInRegionDirectory() {
+        return staffDirectory.headcountInRegion(38, 42, -4, 0, RoleEnum.CASHIER);
+    }
+
+    @Benchmark
+    public Integer cashiersInRegionSql() {
+        return jdbcTemplate.queryForObject("select count(*) from users u join stores s on s.id = u.store_id "
+                + "join user_roles ur on ur.user_id = u.id join roles r on r.id = ur.role_id "
+                + "where r.name = 'CASHIER' and s.latitude between 38 and 42 and s.longitude between -4 and 0",
+                Integer.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.spring.restaurantmanagementsystem.benchmarks;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.web.UserListJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JSON serialization of the staff list: Jackson data binding with the same defaults Spring MVC uses,
+ * against the streaming {@link UserListJsonWriter} the application registers for user lists.
+ * The streaming benchmarks write into a reused buffer, as a response body would; run with
+ * {@code -prof gc} to see the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDtoSerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<UserDto> users;
+    private UserListJsonWriter writer;
+    private ByteArrayOutputStream body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        users = Fixtures.users(size).stream()
+                .map(UserDtoSerializationBenchmark::toDto)
+                .toList();
+        writer = new UserListJsonWriter();
+        body = new ByteArrayOutputStream(size * 160);
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public int databindUsersToStream() throws IOException {
+        body.reset();
+        objectMapper.writeValue(body, users);
+        return body.size();
+    }
+
+    @Benchmark
+    public int streamUsers() throws IOException {
+        body.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(body, JsonEncoding.UTF8)) {
+            writer.write(users, generator);
+        }
+        return body.size();
+    }
+
+    @Benchmark
+    public int streamUsersNormalized() throws IOException {
+        body.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(body, JsonEncoding.UTF8)) {
+            writer.writeNormalized(users, generator);
+        }
+        return body.size();
+    }
+
+    private static UserDto toDto(User user) {
+        StoreDto store = user.getStore() == null ? null : new StoreDto(user.getStore().getId(),
+                user.getStore().getName(), user.getStore().getLatitude(), user.getStore().getLongitude());
+        return new UserDto(user.getId(), user.getUsername(), user.getEmail(),
+                user.getRoles().stream().map(role -> role.getName().name()).collect(Collectors.toSet()),
+                store);
+    }
+}
@@ -0,0 +1,138 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts, written as a JSON report with a stable
+ * layout so two runs can be compared with a plain diff.
+ * Latencies are in microseconds internally and reported in milliseconds.
+ */
+final class LoadReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder lateArrivals = new LongAdder();
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean error) {
+        latencies.get(operation).recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (error) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Counts an arrival the generator issued more than a millisecond after its scheduled time,
+     * a sign the generator itself, rather than the server, was the bottleneck.
+     */
+    void recordLateArrival() {
+        lateArrivals.increment();
+    }
+
+    Map<String, Object> toMap(LoadTestOptions options, double seconds) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("stores", options.stores());
+        config.put("users", options.users());
+        config.put("targetRate", options.rate());
+        config.put("durationSeconds", options.duration().toSeconds());
+        config.put("database", options.jdbcUrl() == null ? "h2" : options.jdbcUrl());
+        Map<String, Object> mix = new LinkedHashMap<>();
+        options.mix().forEach((operation, weight) -> mix.put(operation.endpoint(), weight));
+        config.put("mix", mix);
+
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long errorCount = errors.get(operation).sum();
+            total.add(histogram);
+            totalErrors += errorCount;
+            endpoints.put(operation.endpoint(), summary(histogram, errorCount, seconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("total", summary(total, totalErrors, seconds));
+        report.put("lateArrivals", lateArrivals.sum());
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    void write(Path file, Map<String, Object> report) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    @SuppressWarnings("unchecked")
+    static void print(PrintStream out, Map<String, Object> report) {
+        out.printf("%-36s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Req/s", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Map<String, Object> endpoints = (Map<String, Object>) report.get("endpoints");
+        endpoints.forEach((endpoint, summary) -> printRow(out, endpoint, (Map<String, Object>) summary));
+        printRow(out, "TOTAL", (Map<String, Object>) report.get("total"));
+        out.println("Late arrivals: " + report.get("lateArrivals"));
+    }
+
+    private static void printRow(PrintStream out, String endpoint, Map<String, Object> summary) {
+        out.printf("%-36s %9d %9.1f %6.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint,
+                (long) summary.get("requests"),
+                (double) summary.get("throughput"),
+                (double) summary.get("errorRate") * 100,
+                (double) summary.get("p50"),
+                (double) summary.get("p90"),
+                (double) summary.get("p99"),
+                (double) summary.get("p999"),
+                (double) summary.get("max"));
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errorCount, double seconds) {
+        long count = histogram.getTotalCount();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("throughput", round(count / seconds));
+        summary.put("errors", errorCount);
+        summary.put("errorRate", count == 0 ? 0.0 : round((double) errorCount / count));
+        summary.put("p50", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p90", millis(histogram.getValueAtPercentile(90)));
+        summary.put("p99", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("max", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,150 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import com.spring.restaurantmanagementsystem.loadtest.Seeder.SeededData;
+import com.spring.restaurantmanagementsystem.loadtest.Seeder.SeededUser;
+import com.spring.restaurantmanagementsystem.loadtest.Workload.Call;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application on a random port, seeds stores and staff, then drives the
+ * {@link Operation} mix with an open model: arrivals follow a Poisson process at the target
+ * rate whatever the response times, and each arrival runs on its own virtual thread.
+ * Latency is measured from the scheduled arrival time, so queueing delay is not hidden
+ * when the server falls behind. See {@link LoadTestOptions} for the arguments.
+ */
+public final class LoadTestMain {
+
+    private static final String ADMIN_USER = "admin";
+    private static final String ADMIN_PASSWORD = "admin123";
+    private static final int STAFF_SESSIONS = 500;
+    private static final long LATE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (ConfigurableApplicationContext context = boot(options);
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            System.out.printf("Seeding %d stores and %d users...%n", options.stores(), options.users());
+            SeededData data = Seeder.seed(context, options.stores(), options.users());
+
+            JwtService jwtService = context.getBean(JwtService.class);
+            List<String> staffCookies = new ArrayList<>();
+            for (SeededUser user : data.users().subList(0, Math.min(STAFF_SESSIONS, data.users().size()))) {
+                staffCookies.add("jwtToken=" + jwtService.generateToken(user.username()));
+            }
+            Workload workload = new Workload(baseUrl, login(client, baseUrl), staffCookies, data, options.mix());
+
+            System.out.printf("Warming up for %ds at %d req/s...%n", options.warmup().toSeconds(), options.rate());
+            drive(client, workload, options.rate(), options.warmup(), new LoadReport());
+
+            System.out.printf("Measuring for %ds at %d req/s...%n", options.duration().toSeconds(), options.rate());
+            LoadReport report = new LoadReport();
+            long start = System.nanoTime();
+            drive(client, workload, options.rate(), options.duration(), report);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> summary = report.toMap(options, seconds);
+            report.write(options.report(), summary);
+            LoadReport.print(System.out, summary);
+            System.out.println("Report written to " + options.report());
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestOptions options) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "management.server.port=0",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.h2.console.enabled=true",
+                "application.security.jwt.secret-key=c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0",
+                "application.security.jwt.expiration=3600000",
+                "DEF_USER=" + ADMIN_USER,
+                "DEF_PASS=" + ADMIN_PASSWORD,
+                "logging.level.root=WARN"));
+        if (options.jdbcUrl() == null) {
+            properties.add("spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        } else {
+            properties.add("spring.datasource.url=" + options.jdbcUrl());
+            properties.add("spring.datasource.username=" + (options.jdbcUsername() == null ? "" : options.jdbcUsername()));
+            properties.add("spring.datasource.password=" + (options.jdbcPassword() == null ? "" : options.jdbcPassword()));
+        }
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Logs in as the default admin and returns the JWT cookie to send with admin requests.
+     */
+    private static String login(HttpClient client, String baseUrl) throws Exception {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"username\":\"" + ADMIN_USER + "\",\"password\":\"" + ADMIN_PASSWORD + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("jwtToken="))
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Admin login failed with status " + response.statusCode()));
+    }
+
+    /**
+     * Issues arrivals for the given duration and waits for the requests still in flight.
+     */
+    private static void drive(HttpClient client, Workload workload, int rate, Duration duration, LoadReport report) {
+        double meanGapNanos = 1e9 / rate;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long end = System.nanoTime() + duration.toNanos();
+            long next = System.nanoTime();
+            while (next < end) {
+                long now;
+                while ((now = System.nanoTime()) < next) {
+                    LockSupport.parkNanos(next - now);
+                }
+                if (now - next > LATE_NANOS) {
+                    report.recordLateArrival();
+                }
+                long scheduled = next;
+                executor.execute(() -> call(client, workload.next(), scheduled, report));
+                next += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+            }
+        }
+    }
+
+    private static void call(HttpClient client, Call call, long scheduled, LoadReport report) {
+        boolean error;
+        try {
+            HttpResponse<Void> response = client.send(call.request(), HttpResponse.BodyHandlers.discarding());
+            error = response.statusCode() >= 400;
+        } catch (Exception e) {
+            error = true;
+        }
+        report.record(call.operation(), System.nanoTime() - scheduled, error);
+    }
+}
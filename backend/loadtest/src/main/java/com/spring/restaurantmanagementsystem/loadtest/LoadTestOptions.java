@@ -0,0 +1,87 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Command-line options of the load test.
+ *
+ * <pre>
+ * --stores N            stores to seed (default 20)
+ * --users N             staff users to seed, spread over the stores (default 1000)
+ * --rate N              arrivals per second, independent of response times (default 100)
+ * --warmup DURATION     unrecorded warm-up, e.g. 15s (default 15s)
+ * --duration DURATION   recorded run, e.g. 60s or 2m (default 60s)
+ * --mix OP=W,...        operation weights, e.g. me=40,login=1 (unlisted operations keep their default)
+ * --report FILE         JSON report (default target/loadtest-report.json)
+ * --jdbc-url URL        run against this database instead of embedded H2; the schema is recreated,
+ *                       so point it at a throwaway database
+ * --jdbc-username USER
+ * --jdbc-password PASS
+ * </pre>
+ */
+record LoadTestOptions(
+        int stores,
+        int users,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Path report,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        int stores = 20;
+        int users = 1_000;
+        int rate = 100;
+        Duration warmup = Duration.ofSeconds(15);
+        Duration duration = Duration.ofSeconds(60);
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, operation.defaultWeight());
+        }
+        Path report = Path.of("target", "loadtest-report.json");
+        String jdbcUrl = null;
+        String jdbcUsername = null;
+        String jdbcPassword = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            switch (args[i++]) {
+                case "--stores" -> stores = Integer.parseInt(value);
+                case "--users" -> users = Integer.parseInt(value);
+                case "--rate" -> rate = Integer.parseInt(value);
+                case "--warmup" -> warmup = parseDuration(value);
+                case "--duration" -> duration = parseDuration(value);
+                case "--mix" -> {
+                    for (String entry : value.split(",")) {
+                        String[] weight = entry.split("=");
+                        mix.put(Operation.fromKey(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+                    }
+                }
+                case "--report" -> report = Path.of(value);
+                case "--jdbc-url" -> jdbcUrl = value;
+                case "--jdbc-username" -> jdbcUsername = value;
+                case "--jdbc-password" -> jdbcPassword = value;
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i - 1]);
+            }
+        }
+
+        if (stores < 1 || users < 1 || rate < 1) {
+            throw new IllegalArgumentException("--stores, --users and --rate must be positive");
+        }
+        return new LoadTestOptions(stores, users, rate, warmup, duration, mix, report, jdbcUrl, jdbcUsername, jdbcPassword);
+    }
+
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
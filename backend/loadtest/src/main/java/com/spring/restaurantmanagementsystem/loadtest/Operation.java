@@ -0,0 +1,42 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+/**
+ * The requests in the synthetic workload, with the share of traffic each gets by default.
+ * Staff mostly open the app (which calls {@code /api/auth/me}); managers browse the staff and
+ * store lists and occasionally edit someone. Logins are rare but expensive (BCrypt).
+ */
+enum Operation {
+    LOGIN("login", "POST /api/auth/login", 2),
+    ME("me", "GET /api/auth/me", 45),
+    LIST_USERS("users", "GET /api/admin/users", 10),
+    LIST_STORES("stores", "GET /api/admin/stores", 15),
+    STORE_USERS("store-users", "GET /api/admin/stores/{id}/users", 23),
+    UPDATE_USER("update-user", "PUT /api/admin/users/{id}", 5);
+
+    private final String key;
+    private final String endpoint;
+    private final int defaultWeight;
+
+    Operation(String key, String endpoint, int defaultWeight) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,82 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seeds stores and staff through the application's own repositories.
+ * Every staff member gets {@link #STAFF_PASSWORD}; it is hashed once, since BCrypt per user
+ * would dominate seeding time.
+ */
+final class Seeder {
+
+    static final String STAFF_PASSWORD = "password123";
+    private static final int BATCH = 500;
+
+    record SeededUser(Long id, String username) {
+    }
+
+    record SeededData(List<Long> storeIds, List<SeededUser> users) {
+    }
+
+    private Seeder() {
+    }
+
+    static SeededData seed(ApplicationContext context, int storeCount, int userCount) {
+        StoreRepository storeRepository = context.getBean(StoreRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(STAFF_PASSWORD);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Store> stores = transaction.execute(status -> {
+            List<Store> created = new ArrayList<>(storeCount);
+            for (int i = 0; i < storeCount; i++) {
+                Store store = new Store();
+                store.setName("Store " + (i + 1));
+                store.setLatitude(41.38 + i / 1000.0);
+                store.setLongitude(2.17 + i / 1000.0);
+                created.add(store);
+            }
+            return storeRepository.saveAll(created);
+        });
+
+        Role cashier = roleRepository.findByName(RoleEnum.CASHIER).orElseThrow();
+        Role waiter = roleRepository.findByName(RoleEnum.WAITER).orElseThrow();
+        List<SeededUser> users = new ArrayList<>(userCount);
+        for (int from = 0; from < userCount; from += BATCH) {
+            int start = from;
+            int end = Math.min(userCount, from + BATCH);
+            transaction.executeWithoutResult(status -> {
+                List<User> batch = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    User user = new User();
+                    user.setUsername("staff" + i);
+                    user.setEmail("staff" + i + "@restaurant.com");
+                    user.setPassword(passwordHash);
+                    user.setRoles(Set.of(i % 3 == 0 ? cashier : waiter));
+                    user.setStore(stores.get(i % stores.size()));
+                    batch.add(user);
+                }
+                for (User user : userRepository.saveAll(batch)) {
+                    users.add(new SeededUser(user.getId(), user.getUsername()));
+                }
+            });
+        }
+
+        return new SeededData(stores.stream().map(Store::getId).toList(), users);
+    }
+}
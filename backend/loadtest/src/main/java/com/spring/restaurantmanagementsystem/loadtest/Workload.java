@@ -0,0 +1,105 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import com.spring.restaurantmanagementsystem.loadtest.Seeder.SeededData;
+import com.spring.restaurantmanagementsystem.loadtest.Seeder.SeededUser;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the next operation by weight and builds its request against random seeded data.
+ * Staff requests use JWT cookies issued up front for a sample of the seeded users, so only
+ * {@link Operation#LOGIN} pays for password hashing.
+ */
+final class Workload {
+
+    record Call(Operation operation, HttpRequest request) {
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String adminCookie;
+    private final List<String> staffCookies;
+    private final SeededData data;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(String baseUrl, String adminCookie, List<String> staffCookies, SeededData data,
+             Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.adminCookie = adminCookie;
+        this.staffCookies = staffCookies;
+        this.data = data;
+        this.operations = mix.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The operation mix must have a positive weight");
+        }
+    }
+
+    Call next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= pick) {
+            index++;
+        }
+        Operation operation = operations[index];
+        return new Call(operation, build(operation, random));
+    }
+
+    private HttpRequest build(Operation operation, ThreadLocalRandom random) {
+        return switch (operation) {
+            case LOGIN -> {
+                SeededUser user = data.users().get(random.nextInt(data.users().size()));
+                yield json(request("/api/auth/login"),
+                        "{\"username\":\"" + user.username() + "\",\"password\":\"" + Seeder.STAFF_PASSWORD + "\"}",
+                        "POST");
+            }
+            case ME -> request("/api/auth/me")
+                    .header("Cookie", staffCookies.get(random.nextInt(staffCookies.size())))
+                    .GET()
+                    .build();
+            case LIST_USERS -> admin("/api/admin/users").GET().build();
+            case LIST_STORES -> admin("/api/admin/stores").GET().build();
+            case STORE_USERS -> admin("/api/admin/stores/" + randomStore(random) + "/users").GET().build();
+            case UPDATE_USER -> {
+                SeededUser user = data.users().get(random.nextInt(data.users().size()));
+                yield json(admin("/api/admin/users/" + user.id()),
+                        "{\"storeId\":" + randomStore(random) + "}",
+                        "PUT");
+            }
+        };
+    }
+
+    private Long randomStore(ThreadLocalRandom random) {
+        return data.storeIds().get(random.nextInt(data.storeIds().size()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private HttpRequest.Builder admin(String path) {
+        return request(path).header("Cookie", adminCookie);
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String body, String method) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Measures time to first request: starts the application, logs in with DEF_USER/DEF_PASS as soon as
+# the port accepts connections, and prints the milliseconds from launch to the first 200 response.
+#
+# Usage: time-to-first-request.sh [java options...] -jar <application jar> [app args...]
+# The application reads its configuration from the environment as usual.
+set -euo pipefail
+
+LOG="${LOG:-${TMPDIR:-/tmp}/time-to-first-request.log}"
+PORT="${SERVER_PORT:-8080}"
+BODY="{\"username\":\"${DEF_USER}\",\"password\":\"${DEF_PASS}\"}"
+
+start=$(date +%s%N)
+java "$@" > "$LOG" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null; wait $pid 2>/dev/null || true' EXIT
+
+until [ "$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' -d "$BODY" \
+        "http://localhost:${PORT}/api/auth/login")" = "200" ]; do
+    if ! kill -0 $pid 2>/dev/null; then
+        echo "Application exited; see $LOG" >&2
+        exit 1
+    fi
+    sleep 0.02
+done
+echo "Time to first request: $(( ($(date +%s%N) - start) / 1000000 )) ms"
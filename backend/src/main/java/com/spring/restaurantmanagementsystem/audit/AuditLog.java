@@ -0,0 +1,219 @@
+package com.spring.restaurantmanagementsystem.audit;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Records committed changes to users and stores in an append-only log on disk. The request thread only
+ * places the record in a bounded queue; a single writer thread appends whatever has accumulated to the
+ * memory-mapped log and flushes it to disk every {@code fsync-interval-ms}, so a crash loses at most
+ * that much of the log. Full segments older than {@code retention-days}, or beyond {@code max-bytes},
+ * are deleted when a new segment is started and at startup. When the queue is full, records are dropped and counted rather than slowing
+ * the request down.
+ */
+@Component
+public class AuditLog implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    static final String SYSTEM_ACTOR = "system";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final Duration retention;
+    private final long maxBytes;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final long fsyncIntervalNanos;
+    private final long pollTimeoutMs;
+    private final Counter dropped;
+
+    private volatile SegmentedAuditFile file;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLog(@Value("${application.audit.directory:audit}") String directory,
+                    @Value("${application.audit.segment-bytes:16777216}") int segmentBytes,
+                    @Value("${application.audit.retention-days:365}") long retentionDays,
+                    @Value("${application.audit.max-bytes:1073741824}") long maxBytes,
+                    @Value("${application.audit.queue-capacity:8192}") int queueCapacity,
+                    @Value("${application.audit.batch-size:256}") int batchSize,
+                    @Value("${application.audit.fsync-interval-ms:1000}") long fsyncIntervalMs,
+                    MeterRegistry meterRegistry) {
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.retention = Duration.ofDays(retentionDays);
+        this.maxBytes = maxBytes;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        this.pollTimeoutMs = Math.min(fsyncIntervalMs, 100);
+        this.dropped = Counter.builder("app.audit.dropped")
+                .description("Audit records lost because the queue was full or the log could not be written")
+                .register(meterRegistry);
+        Gauge.builder("app.audit.backlog", queue, BlockingQueue::size)
+                .description("Audit records queued and not yet written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a record of the change once its transaction has committed, attributed to the current user.
+     * Changes made outside a transaction are recorded immediately.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        record(new AuditRecord(Instant.now().truncatedTo(ChronoUnit.MILLIS), currentActor(),
+                event.entityType(), event.changeType(), event.entityId()));
+    }
+
+    /**
+     * Places a record in the queue, or drops it if the queue is full or the log is stopped.
+     *
+     * @param record The record.
+     */
+    public void record(AuditRecord record) {
+        if (!running || !queue.offer(record)) {
+            dropped.increment();
+            log.warn("Audit record dropped: {}", record);
+        }
+    }
+
+    /**
+     * Returns the records in the time range, in the order they were written. Records still queued are
+     * not included.
+     *
+     * @param from       Start of the range, inclusive.
+     * @param to         End of the range, inclusive.
+     * @param entityType Only records of this kind of entity, or {@code null} for all.
+     * @param entityId   Only records of this entity id, or {@code null} for all.
+     * @param limit      Maximum number of records returned.
+     * @return The matching records.
+     */
+    public List<AuditRecord> query(Instant from, Instant to, EntityType entityType, Long entityId, int limit) {
+        SegmentedAuditFile current = file;
+        if (current == null) {
+            throw new IllegalStateException("Audit log is not running");
+        }
+        return current.query(from.toEpochMilli(), to.toEpochMilli(), filter(entityType, entityId), limit);
+    }
+
+    /**
+     * Like {@link #query}, but returns the newest matching records, newest first.
+     */
+    public List<AuditRecord> queryNewest(Instant from, Instant to, EntityType entityType, Long entityId, int limit) {
+        SegmentedAuditFile current = file;
+        if (current == null) {
+            throw new IllegalStateException("Audit log is not running");
+        }
+        return current.queryNewest(from.toEpochMilli(), to.toEpochMilli(), filter(entityType, entityId), limit);
+    }
+
+    private static Predicate<AuditRecord> filter(EntityType entityType, Long entityId) {
+        return record -> (entityType == null || record.entityType() == entityType)
+                && (entityId == null || record.entityId() == entityId);
+    }
+
+    public int getBacklog() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        try {
+            file = SegmentedAuditFile.open(directory, segmentBytes, retention, maxBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the audit log in " + directory.toAbsolutePath(), e);
+        }
+        log.info("Audit log in {} with {} segments", directory.toAbsolutePath(), file.getSegmentCount());
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-writer");
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        try {
+            // The writer keeps draining until the queue is empty
+            writerThread.join();
+            file.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Could not close the audit log", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Starts before and stops after the web server, so changes made by in-flight requests are still recorded
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        long lastForce = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(pollTimeoutMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    file.append(batch);
+                }
+                if (System.nanoTime() - lastForce >= fsyncIntervalNanos) {
+                    file.force();
+                    lastForce = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Audit writer interrupted with {} records queued", queue.size());
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("Could not write {} audit records", batch.size(), e);
+                dropped.increment(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : SYSTEM_ACTOR;
+    }
+}
@@ -0,0 +1,22 @@
+package com.spring.restaurantmanagementsystem.audit;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+
+import java.time.Instant;
+
+/**
+ * One entry of the audit log.
+ *
+ * @param timestamp  When the change was committed, to the millisecond.
+ * @param actor      Username of whoever made the change, or {@code system} outside a request.
+ * @param entityType The kind of entity that changed.
+ * @param changeType What happened to it.
+ * @param entityId   The entity's id.
+ */
+public record AuditRecord(Instant timestamp,
+                          String actor,
+                          EntityType entityType,
+                          ChangeType changeType,
+                          long entityId) {
+}
@@ -0,0 +1,325 @@
+package com.spring.restaurantmanagementsystem.audit;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped, fixed-size file of the audit log. The file starts with a header holding the
+ * oldest and newest timestamp it contains, so queries can skip it without reading its records.
+ *
+ * <pre>
+ * header:  int magic | long min timestamp | long max timestamp | padding to 32 bytes
+ * record:  int body length | int CRC-32C of body | body
+ * body:    long epoch millis | byte entity type | byte change type | long entity id | actor (UTF-8)
+ * </pre>
+ * The body is written before its length, and the unused rest of the file is zero, so a record that
+ * was only partly written before a crash ends the segment instead of being misread.
+ *
+ * <p>Only the audit writer thread appends. Readers see records up to the end published after each
+ * append and use absolute reads only, so they need no lock. A full segment is closed and kept only as
+ * its {@link Sealed} header; queries map it read-only again for as long as they scan it.
+ */
+final class AuditSegment implements AutoCloseable {
+
+    static final int HEADER_BYTES = 32;
+
+    private static final int MAGIC = 0x41554431;
+    private static final int MIN_TIMESTAMP_OFFSET = 4;
+    private static final int MAX_TIMESTAMP_OFFSET = 12;
+    private static final int RECORD_PREFIX_BYTES = 8;
+    private static final int FIXED_BODY_BYTES = 18;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private volatile int end;
+    private volatile long minTimestamp;
+    private volatile long maxTimestamp;
+    private int forcedEnd;
+
+    private AuditSegment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates and maps a new, empty segment.
+     *
+     * @param path     The file to create; it must not exist.
+     * @param capacity The segment size in bytes.
+     * @return The segment, ready for appends.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    static AuditSegment create(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        AuditSegment segment = new AuditSegment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        segment.buffer.putInt(0, MAGIC);
+        segment.writeBounds(Long.MAX_VALUE, Long.MIN_VALUE);
+        segment.end = HEADER_BYTES;
+        segment.force();
+        return segment;
+    }
+
+    /**
+     * Maps an existing segment and finds the end of its last complete record. A partly written record
+     * after it is cleared, so appends can continue from there.
+     *
+     * @param path The segment file.
+     * @return The segment.
+     * @throws IOException if the file cannot be mapped or is not an audit segment.
+     */
+    static AuditSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        AuditSegment segment = new AuditSegment(path, channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        if (channel.size() < HEADER_BYTES || segment.buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not an audit log segment");
+        }
+        segment.minTimestamp = segment.buffer.getLong(MIN_TIMESTAMP_OFFSET);
+        segment.maxTimestamp = segment.buffer.getLong(MAX_TIMESTAMP_OFFSET);
+
+        int position = HEADER_BYTES;
+        int length;
+        while ((length = segment.recordLength(position)) > 0) {
+            position += RECORD_PREFIX_BYTES + length;
+        }
+        if (position + Integer.BYTES <= segment.capacity() && segment.buffer.getInt(position) != 0) {
+            for (int i = position; i < segment.capacity(); i++) {
+                segment.buffer.put(i, (byte) 0);
+            }
+        }
+        segment.end = position;
+        segment.forcedEnd = position;
+        return segment;
+    }
+
+    /**
+     * Maps a sealed segment read-only, for one scan.
+     *
+     * @param path The segment file.
+     * @return The segment; closing it releases the file.
+     * @throws IOException if the file is gone, cannot be mapped or is not an audit segment.
+     */
+    static AuditSegment openSealed(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        AuditSegment segment = new AuditSegment(path, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        if (channel.size() < HEADER_BYTES || segment.buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not an audit log segment");
+        }
+        segment.minTimestamp = segment.buffer.getLong(MIN_TIMESTAMP_OFFSET);
+        segment.maxTimestamp = segment.buffer.getLong(MAX_TIMESTAMP_OFFSET);
+        int position = HEADER_BYTES;
+        int length;
+        while ((length = segment.recordLength(position)) > 0) {
+            position += RECORD_PREFIX_BYTES + length;
+        }
+        segment.end = position;
+        segment.forcedEnd = position;
+        return segment;
+    }
+
+    /**
+     * Reads only the header of a full segment, without mapping it.
+     *
+     * @param path The segment file.
+     * @return The segment's time bounds and size.
+     * @throws IOException if the file cannot be read or is not an audit segment.
+     */
+    static Sealed readSealed(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not an audit log segment");
+            }
+            return new Sealed(path, header.getLong(MIN_TIMESTAMP_OFFSET), header.getLong(MAX_TIMESTAMP_OFFSET),
+                    channel.size());
+        }
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param record The record.
+     * @return {@code false} if the segment has no room left for it.
+     */
+    boolean append(AuditRecord record) {
+        byte[] actor = record.actor().getBytes(StandardCharsets.UTF_8);
+        int bodyLength = FIXED_BODY_BYTES + actor.length;
+        int position = end;
+        if (position + RECORD_PREFIX_BYTES + bodyLength > capacity()) {
+            return false;
+        }
+
+        long timestamp = record.timestamp().toEpochMilli();
+        int body = position + RECORD_PREFIX_BYTES;
+        buffer.putLong(body, timestamp);
+        buffer.put(body + 8, (byte) record.entityType().ordinal());
+        buffer.put(body + 9, (byte) record.changeType().ordinal());
+        buffer.putLong(body + 10, record.entityId());
+        buffer.put(body + FIXED_BODY_BYTES, actor);
+        buffer.putInt(position + Integer.BYTES, checksum(body, bodyLength));
+        buffer.putInt(position, bodyLength);
+
+        writeBounds(Math.min(minTimestamp, timestamp), Math.max(maxTimestamp, timestamp));
+        end = body + bodyLength;
+        return true;
+    }
+
+    /**
+     * Flushes the records appended since the last call to the storage device.
+     */
+    void force() {
+        int currentEnd = end;
+        if (forcedEnd < currentEnd) {
+            buffer.force(0, currentEnd);
+            forcedEnd = currentEnd;
+        }
+    }
+
+    boolean overlaps(long fromMillis, long toMillis) {
+        return minTimestamp <= toMillis && maxTimestamp >= fromMillis;
+    }
+
+    /**
+     * Adds the segment's records in the time range that match the filter, in the order they were written.
+     *
+     * @return {@code false} once {@code limit} records have been collected.
+     */
+    boolean scan(long fromMillis, long toMillis, Predicate<AuditRecord> filter, List<AuditRecord> into, int limit) {
+        int currentEnd = end;
+        int position = HEADER_BYTES;
+        while (position < currentEnd) {
+            int length = buffer.getInt(position);
+            int body = position + RECORD_PREFIX_BYTES;
+            long timestamp = buffer.getLong(body);
+            if (timestamp >= fromMillis && timestamp <= toMillis) {
+                AuditRecord record = decode(body, length, timestamp);
+                if (filter.test(record)) {
+                    into.add(record);
+                    if (into.size() >= limit) {
+                        return false;
+                    }
+                }
+            }
+            position = body + length;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the segment's newest records in the time range that match the filter, newest first, until
+     * {@code into} holds {@code limit} records. Records only link forward, so the whole segment is read.
+     */
+    void scanNewest(long fromMillis, long toMillis, Predicate<AuditRecord> filter, List<AuditRecord> into, int limit) {
+        int wanted = limit - into.size();
+        Deque<AuditRecord> newest = new ArrayDeque<>(Math.min(wanted, 1024));
+        int currentEnd = end;
+        int position = HEADER_BYTES;
+        while (position < currentEnd) {
+            int length = buffer.getInt(position);
+            int body = position + RECORD_PREFIX_BYTES;
+            long timestamp = buffer.getLong(body);
+            if (timestamp >= fromMillis && timestamp <= toMillis) {
+                AuditRecord record = decode(body, length, timestamp);
+                if (filter.test(record)) {
+                    if (newest.size() == wanted) {
+                        newest.removeFirst();
+                    }
+                    newest.addLast(record);
+                }
+            }
+            position = body + length;
+        }
+        newest.descendingIterator().forEachRemaining(into::add);
+    }
+
+    /**
+     * Flushes and closes a full segment. The mapping is released once no reader still holds the segment.
+     *
+     * @return The header of the segment, which is all that is kept of it.
+     */
+    Sealed seal() throws IOException {
+        close();
+        return new Sealed(path, minTimestamp, maxTimestamp, capacity());
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * A full segment that is no longer open, known by the time bounds from its header.
+     *
+     * @param bytes The size of the file.
+     */
+    record Sealed(Path path, long minTimestamp, long maxTimestamp, long bytes) {
+
+        boolean overlaps(long fromMillis, long toMillis) {
+            return minTimestamp <= toMillis && maxTimestamp >= fromMillis;
+        }
+    }
+
+    private AuditRecord decode(int body, int length, long timestamp) {
+        byte[] actor = new byte[length - FIXED_BODY_BYTES];
+        buffer.get(body + FIXED_BODY_BYTES, actor);
+        return new AuditRecord(Instant.ofEpochMilli(timestamp),
+                new String(actor, StandardCharsets.UTF_8),
+                EntityType.values()[buffer.get(body + 8)],
+                ChangeType.values()[buffer.get(body + 9)],
+                buffer.getLong(body + 10));
+    }
+
+    // Length of the complete, intact record at the position, or 0 where the written records end
+    private int recordLength(int position) {
+        if (position + RECORD_PREFIX_BYTES + FIXED_BODY_BYTES > capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        if (length < FIXED_BODY_BYTES || position + RECORD_PREFIX_BYTES + length > capacity()) {
+            return 0;
+        }
+        int body = position + RECORD_PREFIX_BYTES;
+        return buffer.getInt(position + Integer.BYTES) == checksum(body, length) ? length : 0;
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private void writeBounds(long min, long max) {
+        buffer.putLong(MIN_TIMESTAMP_OFFSET, min);
+        buffer.putLong(MAX_TIMESTAMP_OFFSET, max);
+        minTimestamp = min;
+        maxTimestamp = max;
+    }
+
+    private int capacity() {
+        return buffer.capacity();
+    }
+}
@@ -0,0 +1,225 @@
+package com.spring.restaurantmanagementsystem.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * The audit log on disk: a directory of {@link AuditSegment}s named by sequence number. Records are
+ * appended to the newest segment, and a new one is started when it is full. Only the newest segment
+ * stays mapped; full segments are closed and mapped again by the queries that need them. Segments are
+ * never rewritten, and the oldest full ones are deleted once they are past the retention period or
+ * the log is over its size cap.
+ */
+final class SegmentedAuditFile implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedAuditFile.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-\\d{10}\\.log");
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long retentionMillis;
+    private final long maxBytes;
+    // Replaced as a whole by the writer thread, so a query sees each segment exactly once
+    private volatile Segments segments;
+    private long nextSequence;
+
+    private SegmentedAuditFile(Path directory, int segmentBytes, Duration retention, long maxBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.retentionMillis = retention.toMillis();
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Opens the log in the directory, creating the directory and a first segment when needed.
+     *
+     * @param directory    The log directory.
+     * @param segmentBytes The size of new segments.
+     * @param retention    How long full segments are kept after their newest record, or zero to keep them.
+     * @param maxBytes     The size the segments may take together, or zero for no limit.
+     * @return The opened log; appends continue in its newest segment.
+     * @throws IOException if the directory or a segment cannot be opened.
+     */
+    static SegmentedAuditFile open(Path directory, int segmentBytes, Duration retention, long maxBytes)
+            throws IOException {
+        if (segmentBytes < AuditSegment.HEADER_BYTES + 1024) {
+            throw new IllegalArgumentException("Audit segments must be at least "
+                    + (AuditSegment.HEADER_BYTES + 1024) + " bytes");
+        }
+        Files.createDirectories(directory);
+        SegmentedAuditFile file = new SegmentedAuditFile(directory, segmentBytes, retention, maxBytes);
+        List<Path> existing;
+        try (Stream<Path> paths = Files.list(directory)) {
+            existing = paths.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+
+        if (existing.isEmpty()) {
+            file.segments = new Segments(List.of(), file.createSegment());
+        } else {
+            List<AuditSegment.Sealed> sealed = new ArrayList<>();
+            for (Path path : existing.subList(0, existing.size() - 1)) {
+                sealed.add(AuditSegment.readSealed(path));
+            }
+            Path newest = existing.getLast();
+            file.segments = new Segments(List.copyOf(sealed), AuditSegment.open(newest));
+            String name = newest.getFileName().toString();
+            file.nextSequence = Long.parseLong(name.substring("audit-".length(), name.length() - ".log".length())) + 1;
+        }
+        file.prune();
+        return file;
+    }
+
+    /**
+     * Appends the records, starting new segments as the current one fills up.
+     *
+     * @param records The records, in the order they should be stored.
+     * @throws IOException if a new segment cannot be created.
+     */
+    void append(List<AuditRecord> records) throws IOException {
+        for (AuditRecord record : records) {
+            if (!segments.active().append(record)) {
+                roll();
+                if (!segments.active().append(record)) {
+                    throw new IllegalArgumentException("Audit record does not fit in a segment: " + record);
+                }
+            }
+        }
+    }
+
+    void force() {
+        segments.active().force();
+    }
+
+    /**
+     * Scans the segments that may hold records in the time range, oldest first.
+     *
+     * @param fromMillis Start of the range, inclusive.
+     * @param toMillis   End of the range, inclusive.
+     * @param filter     Further condition on the records.
+     * @param limit      Maximum number of records returned.
+     * @return The matching records in the order they were written.
+     */
+    List<AuditRecord> query(long fromMillis, long toMillis, Predicate<AuditRecord> filter, int limit) {
+        Segments current = segments;
+        List<AuditRecord> records = new ArrayList<>();
+        for (AuditSegment.Sealed sealed : current.sealed()) {
+            if (sealed.overlaps(fromMillis, toMillis)
+                    && !scanSealed(sealed, segment -> segment.scan(fromMillis, toMillis, filter, records, limit))) {
+                return records;
+            }
+        }
+        if (current.active().overlaps(fromMillis, toMillis)) {
+            current.active().scan(fromMillis, toMillis, filter, records, limit);
+        }
+        return records;
+    }
+
+    /**
+     * Scans the segments that may hold records in the time range, newest first.
+     *
+     * @return The newest matching records, newest first.
+     */
+    List<AuditRecord> queryNewest(long fromMillis, long toMillis, Predicate<AuditRecord> filter, int limit) {
+        Segments current = segments;
+        List<AuditRecord> records = new ArrayList<>();
+        if (current.active().overlaps(fromMillis, toMillis)) {
+            current.active().scanNewest(fromMillis, toMillis, filter, records, limit);
+        }
+        for (AuditSegment.Sealed sealed : current.sealed().reversed()) {
+            if (records.size() >= limit) {
+                break;
+            }
+            if (sealed.overlaps(fromMillis, toMillis)) {
+                scanSealed(sealed, segment -> {
+                    segment.scanNewest(fromMillis, toMillis, filter, records, limit);
+                    return true;
+                });
+            }
+        }
+        return records;
+    }
+
+    int getSegmentCount() {
+        return segments.sealed().size() + 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        Segments current = segments;
+        if (current != null) {
+            current.active().close();
+        }
+    }
+
+    private void roll() throws IOException {
+        Segments current = segments;
+        AuditSegment next = createSegment();
+        List<AuditSegment.Sealed> sealed = new ArrayList<>(current.sealed());
+        sealed.add(current.active().seal());
+        segments = new Segments(List.copyOf(sealed), next);
+        prune();
+    }
+
+    private AuditSegment createSegment() throws IOException {
+        return AuditSegment.create(directory.resolve(String.format("audit-%010d.log", nextSequence++)), segmentBytes);
+    }
+
+    // Deletes the oldest full segments while they are past retention or the log is over its size cap
+    private void prune() {
+        Segments current = segments;
+        List<AuditSegment.Sealed> sealed = current.sealed();
+        long cutoff = retentionMillis > 0 ? System.currentTimeMillis() - retentionMillis : Long.MIN_VALUE;
+        long totalBytes = segmentBytes + sealed.stream().mapToLong(AuditSegment.Sealed::bytes).sum();
+        int removed = 0;
+        while (removed < sealed.size()) {
+            AuditSegment.Sealed oldest = sealed.get(removed);
+            if (oldest.maxTimestamp() >= cutoff && (maxBytes <= 0 || totalBytes <= maxBytes)) {
+                break;
+            }
+            totalBytes -= oldest.bytes();
+            removed++;
+        }
+        if (removed == 0) {
+            return;
+        }
+        // Queries that already took the old list skip the files deleted below them
+        segments = new Segments(List.copyOf(sealed.subList(removed, sealed.size())), current.active());
+        for (AuditSegment.Sealed oldest : sealed.subList(0, removed)) {
+            try {
+                Files.deleteIfExists(oldest.path());
+            } catch (IOException e) {
+                // The records are no longer queried either way; the file is left for an operator
+                log.warn("Could not delete audit segment {}", oldest.path(), e);
+            }
+        }
+    }
+
+    // Maps a full segment for one scan; a segment deleted by retention meanwhile holds nothing anymore
+    private static boolean scanSealed(AuditSegment.Sealed sealed, Predicate<AuditSegment> scan) {
+        try (AuditSegment segment = AuditSegment.openSealed(sealed.path())) {
+            return scan.test(segment);
+        } catch (NoSuchFileException e) {
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit segment " + sealed.path(), e);
+        }
+    }
+
+    private record Segments(List<AuditSegment.Sealed> sealed, AuditSegment active) {
+    }
+}
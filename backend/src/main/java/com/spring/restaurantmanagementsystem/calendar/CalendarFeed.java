@@ -0,0 +1,14 @@
+package com.spring.restaurantmanagementsystem.calendar;
+
+import java.time.Instant;
+
+/**
+ * A pre-rendered iCalendar document together with the validators used for conditional GETs.
+ *
+ * @param content      The UTF-8 encoded feed.
+ * @param etag         Strong entity tag derived from the content.
+ * @param lastModified Time of the schedule change that produced this rendering.
+ * @param version      Schedule version the feed was rendered from.
+ */
+public record CalendarFeed(byte[] content, String etag, Instant lastModified, long version) {
+}
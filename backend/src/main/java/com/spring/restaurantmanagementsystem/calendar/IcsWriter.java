@@ -0,0 +1,92 @@
+package com.spring.restaurantmanagementsystem.calendar;
+
+import com.spring.restaurantmanagementsystem.model.Shift;
+import com.spring.restaurantmanagementsystem.model.Store;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders shifts as an RFC 5545 iCalendar document.
+ * Shift times are stored without a zone, so they are written as floating local times
+ * and displayed in the store's local time by calendar clients.
+ */
+public final class IcsWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private IcsWriter() {
+    }
+
+    public static byte[] write(String calendarName, List<Shift> shifts) {
+        StringBuilder ics = new StringBuilder(256 + shifts.size() * 256);
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:-//Restaurant Management System//Shifts//EN");
+        line(ics, "CALSCALE:GREGORIAN");
+        line(ics, "METHOD:PUBLISH");
+        line(ics, "X-WR-CALNAME:" + escape(calendarName));
+
+        for (Shift shift : shifts) {
+            line(ics, "BEGIN:VEVENT");
+            line(ics, "UID:shift-" + shift.getId() + "@restaurant-management-system");
+            line(ics, "DTSTAMP:" + UTC_FORMAT.format(shift.getUpdatedAt()));
+            line(ics, "DTSTART:" + LOCAL_FORMAT.format(shift.getStart()));
+            line(ics, "DTEND:" + LOCAL_FORMAT.format(shift.getEnd()));
+            line(ics, "SUMMARY:" + escape(shift.getTitle()));
+            line(ics, "DESCRIPTION:" + escape("Staff: " + shift.getUser().getUsername()));
+
+            Store store = shift.getStore();
+            if (store != null) {
+                line(ics, "LOCATION:" + escape(store.getName()));
+                line(ics, "GEO:" + store.getLatitude() + ";" + store.getLongitude());
+            }
+            line(ics, "END:VEVENT");
+        }
+
+        line(ics, "END:VCALENDAR");
+        return ics.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a content line, folding it at 75 octets as required by RFC 5545 section 3.1.
+     */
+    private static void line(StringBuilder ics, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > MAX_LINE_OCTETS) {
+                ics.append(CRLF).append(' ');
+                octets = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        ics.append(CRLF);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
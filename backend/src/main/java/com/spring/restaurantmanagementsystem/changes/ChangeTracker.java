@@ -0,0 +1,214 @@
+package com.spring.restaurantmanagementsystem.changes;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.model.ChangeTracked;
+import com.spring.restaurantmanagementsystem.model.CommitSequence;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.Tombstone;
+import com.spring.restaurantmanagementsystem.model.TombstoneHorizon;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.CommitSequenceRepository;
+import com.spring.restaurantmanagementsystem.repository.TombstoneHorizonRepository;
+import com.spring.restaurantmanagementsystem.repository.TombstoneRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardContext;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every created or updated user and store the next number of the {@link CommitSequence#CHANGES}
+ * commit sequence, and records a tombstone with such a number for every delete. The numbers are drawn
+ * just before the transaction commits, so they become visible in increasing order and the feed never
+ * has to wait for a lower one. Users carry their store in the feed, so updating a store renumbers its
+ * users as well.
+ *
+ * <p>Deletes also remove the tombstones older than {@code tombstone-retention-days}, at most every ten
+ * minutes per shard, and raise the {@link TombstoneHorizon} to the last one removed.
+ */
+@Component
+public class ChangeTracker {
+
+    private static final String LOCK_STORE_USERS_SQL = "SELECT id FROM users WHERE store_id = ? ORDER BY id FOR UPDATE";
+    private static final String RESTAMP_USER_SQL = "UPDATE users SET change_seq = ?, changed_at = ? WHERE id = ?";
+
+    private final EntityManager entityManager;
+    private final CommitSequenceRepository commitSequenceRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final TombstoneHorizonRepository tombstoneHorizonRepository;
+    private final Duration tombstoneRetention;
+    private final Map<Integer, Instant> nextPrune = new ConcurrentHashMap<>();
+
+    public ChangeTracker(EntityManager entityManager, CommitSequenceRepository commitSequenceRepository,
+                         TombstoneRepository tombstoneRepository, TombstoneHorizonRepository tombstoneHorizonRepository,
+                         @Value("${application.changes.tombstone-retention-days:30}") long tombstoneRetentionDays) {
+        this.entityManager = entityManager;
+        this.commitSequenceRepository = commitSequenceRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.tombstoneHorizonRepository = tombstoneHorizonRepository;
+        this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+    }
+
+    /**
+     * Notes the change for numbering at commit. Password changes are not visible to clients and are skipped.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onEntityChanged(EntityChangedEvent event) {
+        switch (event.changeType()) {
+            case CREATED, UPDATED -> {
+                Class<? extends ChangeTracked> type = event.entityType() == EntityType.USER ? User.class : Store.class;
+                pendingChanges().changed.add(new ChangedEntity(type, event.entityId()));
+                if (event.entityType() == EntityType.STORE && event.changeType() == ChangeType.UPDATED) {
+                    pendingChanges().updatedStoreIds.add(event.entityId());
+                }
+            }
+            case DELETED -> {
+                pendingChanges().tombstones.add(new Tombstone(event.entityType(), event.entityId(), Instant.now()));
+                pruneTombstonesIfDue();
+            }
+            case PASSWORD_CHANGED -> { }
+        }
+    }
+
+    // The changes of the current transaction, numbered once it is about to commit
+    private PendingChanges pendingChanges() {
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        PendingChanges changes = new PendingChanges();
+        TransactionSynchronizationManager.bindResource(this, changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                stamp(changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(ChangeTracker.this);
+            }
+
+            // Ahead of the outbox writer, so every transaction locks the commit sequences in the same order
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE - 1;
+            }
+        });
+        return changes;
+    }
+
+    private void stamp(PendingChanges changes) {
+        // Lock every row to be numbered first: once the sequence is locked, the transaction waits for nobody
+        entityManager.flush();
+        Set<Long> restampedUserIds = new LinkedHashSet<>();
+        for (Long storeId : changes.updatedStoreIds) {
+            restampedUserIds.addAll(lockUsersOf(storeId));
+        }
+        CommitSequence sequence = commitSequenceRepository.lockByName(CommitSequence.CHANGES)
+                .orElseThrow(() -> new IllegalStateException("Commit sequence " + CommitSequence.CHANGES + " is missing"));
+        long seq = sequence.getLastNumber();
+        Instant now = Instant.now();
+
+        for (ChangedEntity changed : changes.changed) {
+            ChangeTracked entity = entityManager.find(changed.type(), changed.id());
+            if (entity != null) {
+                entity.setChangeSeq(++seq);
+                entity.setChangedAt(now);
+                if (changed.type() == User.class) {
+                    restampedUserIds.remove(changed.id());
+                }
+            }
+        }
+        seq = restampUsers(restampedUserIds, seq, now);
+        for (Tombstone tombstone : changes.tombstones) {
+            tombstone.setId(++seq);
+            entityManager.persist(tombstone);
+        }
+        sequence.setLastNumber(seq);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> lockUsersOf(Long storeId) {
+        List<Number> ids = entityManager.createNativeQuery(LOCK_STORE_USERS_SQL)
+                .setParameter(1, storeId)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    // One batch for all of the store's users, each still getting a number of its own
+    private long restampUsers(Set<Long> userIds, long seq, Instant now) {
+        if (userIds.isEmpty()) {
+            return seq;
+        }
+        OffsetDateTime changedAt = now.atOffset(ZoneOffset.UTC);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(RESTAMP_USER_SQL)) {
+                long next = seq;
+                for (Long userId : userIds) {
+                    statement.setLong(1, ++next);
+                    statement.setObject(2, changedAt);
+                    statement.setLong(3, userId);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+        return seq + userIds.size();
+    }
+
+    // Runs in the deleting transaction, before the sequence is locked
+    private void pruneTombstonesIfDue() {
+        if (tombstoneRetention.isZero()) {
+            return;
+        }
+        Instant now = Instant.now();
+        int shard = ShardContext.current();
+        if (now.isBefore(nextPrune.getOrDefault(shard, Instant.EPOCH))) {
+            return;
+        }
+        nextPrune.put(shard, now.plus(Duration.ofMinutes(10)));
+        Long through = tombstoneRepository.findMaxIdDeletedBefore(now.minus(tombstoneRetention));
+        if (through == null) {
+            return;
+        }
+        TombstoneHorizon horizon = tombstoneHorizonRepository.lockById(TombstoneHorizon.ID)
+                .orElseThrow(() -> new IllegalStateException("Tombstone horizon is missing"));
+        if (through > horizon.getPrunedThrough()) {
+            tombstoneRepository.deleteThrough(through);
+            horizon.setPrunedThrough(through);
+        }
+    }
+
+    private record ChangedEntity(Class<? extends ChangeTracked> type, Long id) {
+    }
+
+    private static final class PendingChanges {
+        private final Set<ChangedEntity> changed = new LinkedHashSet<>();
+        private final Set<Long> updatedStoreIds = new LinkedHashSet<>();
+        private final List<Tombstone> tombstones = new ArrayList<>();
+    }
+}
@@ -0,0 +1,19 @@
+package com.spring.restaurantmanagementsystem.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets concurrent calls of the annotated read with equal arguments share one execution: the first
+ * call runs, the others wait for its result. Arguments are compared with {@code equals}, so they should
+ * be values such as ids, strings or enum sets. Calls inside a transaction always run on their own,
+ * since they may have to see the transaction's own writes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+}
@@ -0,0 +1,74 @@
+package com.spring.restaurantmanagementsystem.coalescing;
+
+import com.spring.restaurantmanagementsystem.datasource.ReadYourWritesTracker;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies {@link Coalesced}. Ordered ahead of shard routing and transactions, so callers that join a
+ * running call never open a session. Calls are keyed by method, arguments and the caller's shard.
+ *
+ * <p>A committed user or store change clears all flights: a reader arriving after the commit never
+ * joins a call that started before it, nor gets a result reused from before it.
+ */
+@Aspect
+@Order(-1)
+public class CoalescingAspect {
+
+    private final SingleFlight singleFlight;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Counter executed;
+    private final Counter shared;
+
+    /**
+     * @param readYourWritesTracker Recent writers, whose reads must not share a replica read; {@code null}
+     *                              without read replicas.
+     */
+    public CoalescingAspect(SingleFlight singleFlight, ReadYourWritesTracker readYourWritesTracker,
+                            MeterRegistry meterRegistry) {
+        this.singleFlight = singleFlight;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.executed = meterRegistry.counter("app.coalescing.calls", "outcome", "executed");
+        this.shared = meterRegistry.counter("app.coalescing.calls", "outcome", "shared");
+    }
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || (readYourWritesTracker != null && readYourWritesTracker.mustReadFromPrimary())) {
+            return joinPoint.proceed();
+        }
+
+        Key key = new Key(((MethodSignature) joinPoint.getSignature()).getMethod(), ShardContext.current(),
+                Arrays.asList(joinPoint.getArgs()));
+        AtomicBoolean ran = new AtomicBoolean();
+        Object result = singleFlight.execute(key, () -> {
+            ran.set(true);
+            return joinPoint.proceed();
+        });
+        (ran.get() ? executed : shared).increment();
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        singleFlight.clear();
+    }
+
+    private record Key(Method method, int shard, List<Object> args) {
+    }
+}
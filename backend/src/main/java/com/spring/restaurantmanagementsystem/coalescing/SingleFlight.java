@@ -0,0 +1,117 @@
+package com.spring.restaurantmanagementsystem.coalescing;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs at most one call per key at a time; callers arriving while it runs get its result or its exception.
+ * After a successful call, its result is handed out for another {@code window}, if one is set.
+ *
+ * <p>A caller interrupted while waiting stops waiting without affecting the running call. If the caller
+ * running the call is interrupted and it fails, its waiters do not inherit the interruption: one of them
+ * runs the call again.
+ */
+public class SingleFlight {
+
+    private final Duration window;
+    private final ConcurrentMap<Object, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param window How long a result is reused after its call finished; zero only shares running calls.
+     */
+    public SingleFlight(Duration window) {
+        this.window = window;
+    }
+
+    /** A call whose outcome can be shared. */
+    @FunctionalInterface
+    public interface Call {
+        Object run() throws Throwable;
+    }
+
+    /**
+     * Joins the running call with the key, or runs {@code call} if there is none.
+     *
+     * @return The call's result, possibly from another caller's execution.
+     * @throws Throwable What the call threw, possibly in another caller's execution.
+     */
+    public Object execute(Object key, Call call) throws Throwable {
+        while (true) {
+            Flight flight = new Flight();
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, call);
+            }
+            if (existing.isExpired()) {
+                flights.remove(key, existing);
+                continue;
+            }
+            try {
+                return existing.result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            } catch (CancellationException e) {
+                // The leader was interrupted: try again, possibly as the new leader
+            }
+        }
+    }
+
+    /**
+     * Drops every finished result and detaches running calls, so later callers run again.
+     * Callers already waiting still get the result of the call they joined.
+     */
+    public void clear() {
+        flights.clear();
+    }
+
+    /**
+     * @return The number of keys with a running call or a reusable result.
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    private Object lead(Object key, Flight flight, Call call) throws Throwable {
+        Object value;
+        try {
+            value = call.run();
+        } catch (Throwable e) {
+            flights.remove(key, flight);
+            if (Thread.currentThread().isInterrupted() || e instanceof InterruptedException) {
+                flight.result.cancel(false);
+            } else {
+                flight.result.completeExceptionally(e);
+            }
+            throw e;
+        }
+
+        if (window.isZero() || window.isNegative()) {
+            flights.remove(key, flight);
+        } else {
+            flight.expiresAt = System.nanoTime() + window.toNanos();
+            CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> flights.remove(key, flight));
+        }
+        flight.result.complete(value);
+        return value;
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // Set once the call succeeded and its result may be reused; 0 while it runs
+        private volatile long expiresAt;
+
+        private boolean isExpired() {
+            long expiry = expiresAt;
+            return expiry != 0 && System.nanoTime() - expiry >= 0;
+        }
+    }
+}
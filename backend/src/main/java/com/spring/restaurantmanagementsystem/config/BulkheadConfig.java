@@ -0,0 +1,61 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.web.AdaptiveLimit;
+import com.spring.restaurantmanagementsystem.web.BulkheadFilter;
+import com.spring.restaurantmanagementsystem.web.EndpointClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per endpoint class bulkheads with adaptive concurrency limits. On by default; each class starts at
+ * {@code application.bulkheads.initial-limit} and adapts between the minimum and its own maximum.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.bulkheads.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    /**
+     * Registers the bulkheads ahead of the security filter chain, so shed requests do not pay for
+     * JWT verification, and after the global concurrency limiter when that is enabled.
+     *
+     * @param initialLimit  The limit every class starts with.
+     * @param minLimit      The limit no class shrinks below.
+     * @param windowMs      The minimum length of a latency sampling window.
+     * @param authMax       Cap for logins; BCrypt keeps them CPU-bound, so a few per core.
+     * @param scheduleMax   Cap for shifts, punches and calendar feeds.
+     * @param adminReadMax  Cap for admin reads.
+     * @param adminWriteMax Cap for admin writes.
+     * @return The filter registration for /api/** requests.
+     */
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            MeterRegistry meterRegistry,
+            @Value("${application.bulkheads.initial-limit:20}") int initialLimit,
+            @Value("${application.bulkheads.min-limit:2}") int minLimit,
+            @Value("${application.bulkheads.window-ms:1000}") long windowMs,
+            @Value("${application.bulkheads.auth.max-limit:16}") int authMax,
+            @Value("${application.bulkheads.schedule.max-limit:100}") int scheduleMax,
+            @Value("${application.bulkheads.admin-read.max-limit:100}") int adminReadMax,
+            @Value("${application.bulkheads.admin-write.max-limit:50}") int adminWriteMax) {
+        Map<EndpointClass, Integer> maxLimits = Map.of(EndpointClass.AUTH, authMax, EndpointClass.SCHEDULE, scheduleMax,
+                EndpointClass.ADMIN_READ, adminReadMax, EndpointClass.ADMIN_WRITE, adminWriteMax);
+        Map<EndpointClass, AdaptiveLimit> limits = new EnumMap<>(EndpointClass.class);
+        maxLimits.forEach((endpointClass, maxLimit) -> limits.put(endpointClass, new AdaptiveLimit(
+                initialLimit, Math.min(minLimit, maxLimit), maxLimit, Duration.ofMillis(windowMs), System::nanoTime)));
+
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(limits, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+}
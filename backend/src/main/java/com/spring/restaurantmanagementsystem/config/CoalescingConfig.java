@@ -0,0 +1,39 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.coalescing.CoalescingAspect;
+import com.spring.restaurantmanagementsystem.coalescing.SingleFlight;
+import com.spring.restaurantmanagementsystem.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Request coalescing for the reads marked {@link com.spring.restaurantmanagementsystem.coalescing.Coalesced}.
+ * On by default; results are only shared between concurrent calls unless {@code application.coalescing.window-ms}
+ * is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingConfig {
+
+    /**
+     * @param windowMs How long a finished result is reused by later identical calls.
+     * @return The registry of running calls.
+     */
+    @Bean
+    public SingleFlight singleFlight(@Value("${application.coalescing.window-ms:0}") long windowMs) {
+        return new SingleFlight(Duration.ofMillis(windowMs));
+    }
+
+    @Bean
+    public CoalescingAspect coalescingAspect(SingleFlight singleFlight,
+                                             ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                                             MeterRegistry meterRegistry) {
+        return new CoalescingAspect(singleFlight, readYourWritesTracker.getIfAvailable(), meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.web.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "application.concurrency.limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Registers the concurrency limiter ahead of the security filter chain, so rejected requests
+     * do not pay for JWT verification or the user lookup.
+     * The default cap matches the JDBC pool size, since nearly every API request needs a connection.
+     *
+     * @return The filter registration for /api/** requests.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${application.concurrency.limit.max-in-flight:${spring.datasource.hikari.maximum-pool-size:10}}") int maxInFlight,
+            @Value("${application.concurrency.limit.acquire-timeout-ms:1000}") long acquireTimeoutMs) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxInFlight, acquireTimeoutMs));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -5,6 +5,7 @@ import com.spring.restaurantmanagementsystem.model.RoleEnum;
 import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.RoleRepository;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,32 +20,34 @@ public class DataInitializer implements CommandLineRunner {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ShardRouter shardRouter;
 
     @Value("${DEF_USER}")
     private String defaultUser;
     @Value("${DEF_PASS}")
     private String defaultPassword;
 
-    public DataInitializer(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public DataInitializer(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                           ShardRouter shardRouter) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.shardRouter = shardRouter;
     }
 
     @Override
     @Transactional
     public void run(String... args) throws Exception {
-        // Create roles if they don't exist
-        createRoleIfNotFound(RoleEnum.ADMIN);
-        createRoleIfNotFound(RoleEnum.CASHIER);
-        createRoleIfNotFound(RoleEnum.WAITER);
+        // Create roles if they don't exist; every shard keeps its own copy
+        shardRouter.onEveryShard(() -> {
+            createRoleIfNotFound(RoleEnum.ADMIN);
+            createRoleIfNotFound(RoleEnum.CASHIER);
+            createRoleIfNotFound(RoleEnum.WAITER);
+            return null;
+        });
 
-        // Check if an admin user already exists
-        boolean adminExists = userRepository.findAll().stream()
-                .anyMatch(user -> user.getRoles().stream()
-                        .anyMatch(role -> role.getName().equals(RoleEnum.ADMIN)));
-
-        if (!adminExists) {
+        // Check if an admin user already exists; a new one has no store and lives on the home shard
+        if (!shardRouter.onEveryShard(() -> userRepository.existsByRolesName(RoleEnum.ADMIN)).contains(true)) {
             Role adminRole = roleRepository.findByName(RoleEnum.ADMIN)
                     .orElseThrow(() -> new RuntimeException("Error: Admin role is not found."));
             User adminUser = new User();
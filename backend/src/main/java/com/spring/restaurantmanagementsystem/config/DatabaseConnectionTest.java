@@ -1,26 +1,38 @@
 package com.spring.restaurantmanagementsystem.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import jakarta.annotation.PostConstruct;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+/**
+ * Logs whether the database is reachable once the application has started.
+ * The check runs on its own virtual thread so it never delays startup or the first request.
+ */
 @Component
 public class DatabaseConnectionTest {
 
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConnectionTest.class);
+
     @Autowired
     private DataSource dataSource;
 
-    @PostConstruct
-    public void testConnection() {
+    @EventListener(ApplicationReadyEvent.class)
+    public void testConnectionInBackground() {
+        Thread.ofVirtual().name("database-connection-test").start(this::testConnection);
+    }
+
+    void testConnection() {
         try (Connection connection = dataSource.getConnection()) {
-            System.out.println("Database connected successfully!");
-            System.out.println("Database: " + connection.getCatalog());
+            log.info("Database connected successfully: {}", connection.getCatalog());
         } catch (SQLException e) {
-            System.err.println("Database connection failed: " + e.getMessage());
+            log.error("Database connection failed: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
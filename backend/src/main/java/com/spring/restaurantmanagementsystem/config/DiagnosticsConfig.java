@@ -0,0 +1,55 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.diagnostics.SlowQueryLog;
+import com.spring.restaurantmanagementsystem.sharding.ShardRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * The slow-query log behind {@code /api/admin/diagnostics}. On by default; statements taking longer than
+ * {@code application.diagnostics.slow-queries.threshold-ms} are kept with the controller method that issued
+ * them and their plan.
+ */
+@Configuration
+public class DiagnosticsConfig {
+
+    /**
+     * @param enabled     Whether statements are timed; when off the log stays empty.
+     * @param thresholdMs Statements taking longer are kept.
+     * @param capacity    How many slow statements are kept.
+     * @return The slow-query log.
+     */
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${application.diagnostics.slow-queries.enabled:true}") boolean enabled,
+                                     @Value("${application.diagnostics.slow-queries.threshold-ms:200}") long thresholdMs,
+                                     @Value("${application.diagnostics.slow-queries.capacity:100}") int capacity) {
+        return new SlowQueryLog(enabled, Duration.ofMillis(thresholdMs), capacity);
+    }
+
+    /**
+     * Times the statements of the application's data source. The shards of a sharded setup are wrapped one
+     * by one in {@link ShardingConfig} instead, since Hibernate takes its connections from them directly.
+     *
+     * @return The post processor wrapping the {@code dataSource} bean.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (beanName.equals("dataSource") && bean instanceof DataSource dataSource
+                        && !(bean instanceof ShardRoutingDataSource)) {
+                    return slowQueryLog.getObject().wrap(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
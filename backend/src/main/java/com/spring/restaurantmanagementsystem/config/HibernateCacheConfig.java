@@ -0,0 +1,103 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Second-level and query cache for reference data (stores and roles), held in process by Ehcache.
+ * Every region is created here with a bounded size and a time to live; Hibernate is told to fail
+ * on startup rather than silently create an unbounded region for anything not listed.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /** Entity region of {@link com.spring.restaurantmanagementsystem.model.Store}. */
+    public static final String STORES_REGION = "stores";
+    /** Entity region of {@link com.spring.restaurantmanagementsystem.model.Role}. */
+    public static final String ROLES_REGION = "roles";
+    /** Query results region for cached reference-data queries. */
+    public static final String REFERENCE_QUERIES_REGION = "reference-queries";
+
+    @Value("${application.cache.stores.max-entries:1000}")
+    private long storesMaxEntries;
+
+    @Value("${application.cache.stores.ttl-seconds:600}")
+    private long storesTtlSeconds;
+
+    @Value("${application.cache.roles.max-entries:100}")
+    private long rolesMaxEntries;
+
+    @Value("${application.cache.roles.ttl-seconds:3600}")
+    private long rolesTtlSeconds;
+
+    @Value("${application.cache.reference-queries.max-entries:200}")
+    private long queriesMaxEntries;
+
+    @Value("${application.cache.reference-queries.ttl-seconds:600}")
+    private long queriesTtlSeconds;
+
+    /**
+     * Creates the cache manager with one bounded cache per region.
+     * The update-timestamps region never expires: Hibernate compares query results against it to
+     * detect writes to the queried tables, so losing an entry could serve stale query results.
+     * Each manager gets its own URI so separate application contexts never share regions.
+     *
+     * @return The JCache manager handed to Hibernate.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(STORES_REGION, region(storesMaxEntries, Duration.ofSeconds(storesTtlSeconds)))
+                .withCache(ROLES_REGION, region(rolesMaxEntries, Duration.ofSeconds(rolesTtlSeconds)))
+                .withCache(REFERENCE_QUERIES_REGION, region(queriesMaxEntries, Duration.ofSeconds(queriesTtlSeconds)))
+                .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                        region(100, Duration.ofSeconds(queriesTtlSeconds)))
+                .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(1000, null));
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:hibernate-cache:" + UUID.randomUUID()), configuration.build());
+    }
+
+    /**
+     * Enables the second-level and query caches on the cache manager above, with statistics
+     * so hit and miss counts are exported as metrics.
+     *
+     * @param hibernateCacheManager The cache manager holding the regions.
+     * @return The Hibernate properties customizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // Statistics would otherwise log a summary for every session
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static CacheConfigurationBuilder<Object, Object> region(long maxEntries, Duration ttl) {
+        CacheConfigurationBuilder<Object, Object> region = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries));
+        return ttl == null ? region : region.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+    }
+}
@@ -0,0 +1,60 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.repository.IdempotencyRecordRepository;
+import com.spring.restaurantmanagementsystem.web.IdempotencyFilter;
+import com.spring.restaurantmanagementsystem.web.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Idempotency-Key support for mutating API requests. On by default; responses are kept in memory
+ * unless {@code application.idempotency.persistent} is true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    /**
+     * The responses kept for replay.
+     *
+     * @param maxEntries Keys kept in memory at most.
+     * @param ttlHours   How long a response is replayed.
+     * @param persistent Whether responses are also stored in the database, to survive restarts.
+     * @return The store.
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyRecordRepository repository,
+                                             @Value("${application.idempotency.max-entries:10000}") int maxEntries,
+                                             @Value("${application.idempotency.ttl-hours:24}") long ttlHours,
+                                             @Value("${application.idempotency.persistent:false}") boolean persistent) {
+        return new IdempotencyStore(maxEntries, Duration.ofHours(ttlHours), persistent ? repository : null,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Registers the filter right after the security filter chain, so keys are scoped to the authenticated caller.
+     *
+     * @param waitTimeoutMs How long a duplicate waits for the first request before it is answered with 409.
+     * @param maxBodyBytes  The largest body a keyed request may have; larger ones are answered with 413.
+     * @return The filter registration for /api/** requests.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore, MeterRegistry meterRegistry,
+            @Value("${application.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+            @Value("${application.idempotency.max-body-bytes:1048576}") int maxBodyBytes) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, waitTimeoutMs, maxBodyBytes, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
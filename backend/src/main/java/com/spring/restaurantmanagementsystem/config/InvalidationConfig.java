@@ -0,0 +1,98 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.coalescing.SingleFlight;
+import com.spring.restaurantmanagementsystem.directory.StaffDirectoryLoader;
+import com.spring.restaurantmanagementsystem.invalidation.HibernateCacheInvalidator;
+import com.spring.restaurantmanagementsystem.invalidation.InProcessTransport;
+import com.spring.restaurantmanagementsystem.invalidation.InvalidationBus;
+import com.spring.restaurantmanagementsystem.invalidation.InvalidationListener;
+import com.spring.restaurantmanagementsystem.invalidation.InvalidationTransport;
+import com.spring.restaurantmanagementsystem.invalidation.TableTransport;
+import com.spring.restaurantmanagementsystem.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Cache invalidation across API nodes. On by default with the in-process transport, which is all a single
+ * node needs; set {@code application.invalidation.transport=table} when several nodes share the database.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class InvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "application.invalidation.transport", havingValue = "in-process", matchIfMissing = true)
+    public InProcessTransport inProcessInvalidationTransport() {
+        return new InProcessTransport();
+    }
+
+    /**
+     * Shares invalidations through the {@code cache_invalidations} table.
+     *
+     * @param batchSize        Rows read per poll query.
+     * @param gapTimeoutMs     How long a missing id holds back the rows after it.
+     * @param retentionMinutes How long rows are kept.
+     * @return The table transport.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "application.invalidation.transport", havingValue = "table")
+    public TableTransport tableInvalidationTransport(CacheInvalidationRepository repository,
+                                                     @Value("${application.invalidation.batch-size:500}") int batchSize,
+                                                     @Value("${application.invalidation.gap-timeout-ms:2000}") long gapTimeoutMs,
+                                                     @Value("${application.invalidation.retention-minutes:10}") long retentionMinutes) {
+        return new TableTransport(repository, batchSize, Duration.ofMillis(gapTimeoutMs),
+                Duration.ofMinutes(retentionMinutes), Clock.systemUTC());
+    }
+
+    // First, so the listeners after it that read stores again get the changed rows
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public HibernateCacheInvalidator hibernateCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        return new HibernateCacheInvalidator(entityManagerFactory);
+    }
+
+    /**
+     * Drops coalesced results reused within their window when another node changes a user or store.
+     */
+    @Bean
+    public InvalidationListener coalescedResultsInvalidator(ObjectProvider<SingleFlight> singleFlight) {
+        return batch -> singleFlight.ifAvailable(SingleFlight::clear);
+    }
+
+    /**
+     * Applies other nodes' user and store changes to the staff directory. The loader applies this node's
+     * own changes from their events as they commit, so batches sent by this node are skipped; with the
+     * in-process transport there are no other nodes, and the listener is not registered.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "application.invalidation.transport", havingValue = "table")
+    public InvalidationListener staffDirectoryRefresher(StaffDirectoryLoader staffDirectoryLoader) {
+        return InvalidationListener.ofOtherNodes(staffDirectoryLoader::refresh);
+    }
+
+    /**
+     * The bus, delivering to every {@link InvalidationListener} bean.
+     *
+     * @param flushIntervalMs How often invalidations are sent and other nodes' are picked up.
+     * @param maxIdsPerType   Ids of one type per batch before the whole type is invalidated instead.
+     * @return The bus.
+     */
+    @Bean
+    public InvalidationBus invalidationBus(InvalidationTransport transport, ObjectProvider<InvalidationListener> listeners,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${application.invalidation.flush-interval-ms:200}") long flushIntervalMs,
+                                           @Value("${application.invalidation.max-ids-per-type:100}") int maxIdsPerType) {
+        return new InvalidationBus(transport, listeners.orderedStream().toList(), Duration.ofMillis(flushIntervalMs),
+                maxIdsPerType, meterRegistry);
+    }
+}
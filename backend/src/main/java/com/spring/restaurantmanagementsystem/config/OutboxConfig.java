@@ -0,0 +1,97 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.outbox.ApplicationEventSink;
+import com.spring.restaurantmanagementsystem.outbox.FileSink;
+import com.spring.restaurantmanagementsystem.outbox.OutboxRelay;
+import com.spring.restaurantmanagementsystem.outbox.OutboxSink;
+import com.spring.restaurantmanagementsystem.outbox.OutboxWriter;
+import com.spring.restaurantmanagementsystem.outbox.WebhookSink;
+import com.spring.restaurantmanagementsystem.repository.CommitSequenceRepository;
+import com.spring.restaurantmanagementsystem.repository.OutboxEventRepository;
+import com.spring.restaurantmanagementsystem.repository.OutboxOffsetRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Transactional outbox: user and store changes are stored as events in the same transaction and
+ * relayed to the configured sinks in the background. Only active when {@code application.outbox.enabled}
+ * is true; in-process delivery is on by default, the file and webhook sinks when their location is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(CommitSequenceRepository commitSequenceRepository, EntityManager entityManager,
+                                     ObjectMapper objectMapper) {
+        return new OutboxWriter(commitSequenceRepository, entityManager, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.outbox.in-process.enabled", havingValue = "true", matchIfMissing = true)
+    public ApplicationEventSink applicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        return new ApplicationEventSink(eventPublisher);
+    }
+
+    /**
+     * Appends events to a local NDJSON file.
+     *
+     * @param path The file, created if missing.
+     * @return The file sink.
+     * @throws IOException if the file cannot be opened.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "application.outbox.file.path")
+    public FileSink fileOutboxSink(@Value("${application.outbox.file.path}") Path path,
+                                   ObjectMapper objectMapper) throws IOException {
+        return new FileSink(path, objectMapper);
+    }
+
+    /**
+     * Posts event batches to a webhook.
+     *
+     * @param url       The webhook URL.
+     * @param timeoutMs Connect and request timeout.
+     * @return The webhook sink.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "application.outbox.webhook.url")
+    public WebhookSink webhookOutboxSink(@Value("${application.outbox.webhook.url}") URI url,
+                                         @Value("${application.outbox.webhook.timeout-ms:5000}") long timeoutMs,
+                                         ObjectMapper objectMapper) {
+        return new WebhookSink(url, Duration.ofMillis(timeoutMs), objectMapper);
+    }
+
+    /**
+     * The background relay to every sink bean.
+     *
+     * @param batchSize      Events per delivery.
+     * @param pollIntervalMs Pause between polls of the outbox.
+     * @param retentionHours How long delivered events are kept.
+     * @return The relay.
+     */
+    @Bean
+    public OutboxRelay outboxRelay(ObjectProvider<OutboxSink> sinks, OutboxEventRepository outboxEventRepository,
+                                   OutboxOffsetRepository outboxOffsetRepository, ShardRouter shardRouter,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${application.outbox.batch-size:100}") int batchSize,
+                                   @Value("${application.outbox.poll-interval-ms:500}") long pollIntervalMs,
+                                   @Value("${application.outbox.retention-hours:168}") long retentionHours) {
+        return new OutboxRelay(sinks.orderedStream().toList(), outboxEventRepository, outboxOffsetRepository,
+                shardRouter, batchSize, Duration.ofMillis(pollIntervalMs),
+                Duration.ofHours(retentionHours), meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.datasource.ReadWriteDataSource;
+import com.spring.restaurantmanagementsystem.datasource.ReadYourWritesTracker;
+import com.spring.restaurantmanagementsystem.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas: read-only transactions go to the replicas, everything else to the primary.
+ * Only active when {@code application.datasource.replicas.urls} is set; the primary keeps using the
+ * usual {@code spring.datasource.*} properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.datasource.replicas.urls")
+public class ReadReplicaConfig {
+
+    /**
+     * Fails startup when open-in-view is on: the request-scoped session would keep the first
+     * connection it used, so a write after a read in the same request would run on a replica.
+     *
+     * @param openInView Whether the entity manager stays open for the whole request.
+     */
+    public ReadReplicaConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("Read replicas require spring.jpa.open-in-view=false");
+        }
+    }
+
+    /**
+     * The primary pool, configured exactly as Spring Boot would configure the only pool.
+     *
+     * @param properties The spring.datasource properties.
+     * @return The primary connection pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${application.datasource.read-your-writes.window-ms:0}") long windowMs) {
+        return new ReadYourWritesTracker(windowMs);
+    }
+
+    /**
+     * One read-only pool per replica URL, sized like the primary pool and with the same credentials
+     * unless replica credentials are given.
+     *
+     * @return The load-balancing, health-checked replica data source.
+     */
+    @Bean
+    public ReplicaDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry,
+            @Value("${application.datasource.replicas.urls}") List<String> urls,
+            @Value("${application.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${application.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${application.datasource.replicas.health-check-interval-ms:5000}") long healthCheckIntervalMs) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // Unset pool sizes are negative until Hikari validates the configuration
+            if (primaryDataSource.getMaximumPoolSize() > 0) {
+                replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            }
+            if (primaryDataSource.getMinimumIdle() >= 0) {
+                replica.setMinimumIdle(primaryDataSource.getMinimumIdle());
+            }
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        ReplicaDataSource replicaDataSource = new ReplicaDataSource(replicas, primaryDataSource,
+                readYourWritesTracker, Duration.ofMillis(healthCheckIntervalMs));
+        Gauge.builder("app.datasource.replicas.healthy", replicaDataSource, ReplicaDataSource::getHealthyReplicas)
+                .description("Replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+        return replicaDataSource;
+    }
+
+    /**
+     * The data source everything else uses, routing by the transaction's read-only flag.
+     *
+     * @return The read/write routing data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadWriteDataSource(primaryDataSource, replicaDataSource, readYourWritesTracker);
+    }
+}
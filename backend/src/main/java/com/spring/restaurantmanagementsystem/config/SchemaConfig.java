@@ -0,0 +1,40 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.schema.IndexCheck;
+import com.spring.restaurantmanagementsystem.sharding.ShardRoutingDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The schema is owned by the Flyway migrations in {@code db/migration/{vendor}}; Hibernate only validates
+ * it. On by default, the index check then compares every database's indexes with what the entities
+ * declare and fails startup when one is missing; set {@code application.schema.index-check.fail-on-missing}
+ * to false to only log them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.schema.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaConfig {
+
+    /**
+     * @param dataSource    The application's data source; with sharding, every shard is checked.
+     * @param failOnMissing Whether a missing index fails startup.
+     * @return The index check, run once all singletons are created.
+     */
+    @Bean
+    public IndexCheck indexCheck(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                                 @Value("${application.schema.index-check.fail-on-missing:true}") boolean failOnMissing) {
+        List<DataSource> databases = dataSource instanceof ShardRoutingDataSource shards
+                ? shards.getShards() : List.of(dataSource);
+        List<Class<?>> entityClasses = entityManagerFactory.getMetamodel().getEntities().stream()
+                .<Class<?>>map(EntityType::getJavaType)
+                .toList();
+        return new IndexCheck(databases, entityClasses, failOnMissing);
+    }
+}
@@ -1,6 +1,11 @@
 package com.spring.restaurantmanagementsystem.config;
 
 import com.spring.restaurantmanagementsystem.security.JwtAuthenticationFilter;
+import com.spring.restaurantmanagementsystem.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -45,22 +50,24 @@ public class SecurityConfig {
     /**
      * Configures the password encoder bean.
      *
-     * @return The BCryptPasswordEncoder instance.
+     * @param meterRegistry The registry that receives BCrypt timings.
+     * @return The BCryptPasswordEncoder instance, wrapped to record its timings.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     /**
      * Configures the authentication provider bean.
      *
+     * @param passwordEncoder The password encoder.
      * @return The DaoAuthenticationProvider instance.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -114,11 +121,12 @@ public class SecurityConfig {
      * session management, and filters.
      *
      * @param http The HttpSecurity object to configure.
+     * @param authenticationProvider The authentication provider.
      * @return The SecurityFilterChain instance.
      * @throws Exception if an error occurs.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf
@@ -132,11 +140,12 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/login", "/h2-console/**").permitAll() // H2 console permitted
                         .requestMatchers(toH2Console()).permitAll() // Additional H2 console matcher
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll() // Management port only listens locally
                         .requestMatchers("/api/auth/logout", "/api/auth/me").authenticated()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
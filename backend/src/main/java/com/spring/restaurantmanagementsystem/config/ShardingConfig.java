@@ -0,0 +1,156 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.diagnostics.SlowQueryLog;
+import com.spring.restaurantmanagementsystem.sharding.ShardConnectionProvider;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import com.spring.restaurantmanagementsystem.sharding.ShardRoutingAspect;
+import com.spring.restaurantmanagementsystem.sharding.ShardRoutingDataSource;
+import com.spring.restaurantmanagementsystem.sharding.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Store-id sharding: every store, with its users, shifts and punches, lives in one of several databases.
+ * Only active when {@code application.sharding.urls} is set; the home shard (shard 0) is the database
+ * configured with the usual {@code spring.datasource.*} properties and the listed URLs are shards 1 to n.
+ * See {@link ShardRouter} for how rows are assigned to shards.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.sharding.urls")
+public class ShardingConfig {
+
+    /** Tables whose rows belong to a single store's shard and whose ids are interleaved across shards. */
+    static final List<String> SHARDED_TABLES = List.of("stores", "users", "shifts");
+
+    /**
+     * Fails startup when open-in-view is on, since the request-scoped session would be opened on the
+     * home shard before any service chose a shard, and when read replicas are configured as well.
+     *
+     * @param openInView   Whether the entity manager stays open for the whole request.
+     * @param replicaUrls  Read replica URLs, which cannot be combined with shards.
+     */
+    public ShardingConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView,
+                          @Value("${application.datasource.replicas.urls:}") String replicaUrls) {
+        if (openInView) {
+            throw new IllegalStateException("Sharding requires spring.jpa.open-in-view=false");
+        }
+        if (!replicaUrls.isBlank()) {
+            throw new IllegalStateException("Sharding cannot be combined with application.datasource.replicas");
+        }
+    }
+
+    /**
+     * The home shard's pool, configured exactly as Spring Boot would configure the only pool.
+     *
+     * @param properties The spring.datasource properties.
+     * @return The home shard's connection pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource homeShardDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * One pool per additional shard, sized like the home shard's pool and with the same credentials
+     * unless shard credentials are given. Every shard's statements go through the slow-query log.
+     *
+     * @return The data source routing plain JDBC access to the current shard.
+     */
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(
+            HikariDataSource homeShardDataSource,
+            MeterRegistry meterRegistry,
+            ObjectProvider<SlowQueryLog> slowQueryLog,
+            @Value("${application.sharding.urls}") List<String> urls,
+            @Value("${application.sharding.username:${spring.datasource.username:}}") String username,
+            @Value("${application.sharding.password:${spring.datasource.password:}}") String password) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(homeShardDataSource);
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + shards.size());
+            shard.setJdbcUrl(url);
+            shard.setUsername(username);
+            shard.setPassword(password);
+            // Unset pool sizes are negative until Hikari validates the configuration
+            if (homeShardDataSource.getMaximumPoolSize() > 0) {
+                shard.setMaximumPoolSize(homeShardDataSource.getMaximumPoolSize());
+            }
+            if (homeShardDataSource.getMinimumIdle() >= 0) {
+                shard.setMinimumIdle(homeShardDataSource.getMinimumIdle());
+            }
+            shard.setConnectionTimeout(homeShardDataSource.getConnectionTimeout());
+            shard.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(shard);
+        }
+        slowQueryLog.ifAvailable(queryLog -> shards.replaceAll(queryLog::wrap));
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * Runs the schema migrations on every shard, with the configuration Spring Boot built for the home shard.
+     *
+     * @param dataSource The shard data sources.
+     * @return The migration strategy.
+     */
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return flyway -> {
+            for (DataSource shard : dataSource.getShards()) {
+                Flyway.configure().configuration(flyway.getConfiguration()).dataSource(shard).load().migrate();
+            }
+        };
+    }
+
+    /**
+     * Opens every Hibernate session on the current thread's shard, and moves schema management from
+     * Hibernate's single connection to every shard.
+     *
+     * @param dataSource The shard data sources.
+     * @return The Hibernate properties customizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateCustomizer(ShardRoutingDataSource dataSource) {
+        return properties -> {
+            ShardConnectionProvider connectionProvider = new ShardConnectionProvider(dataSource.getShards());
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, connectionProvider);
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, connectionProvider);
+
+            String schemaAction = String.valueOf(properties.getOrDefault(AvailableSettings.HBM2DDL_AUTO, "none"));
+            properties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+            Integrator schemaInitializer =
+                    new ShardSchemaInitializer(dataSource.getShards(), schemaAction, SHARDED_TABLES);
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(schemaInitializer));
+        };
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter) {
+        return new ShardRoutingAspect(shardRouter);
+    }
+}
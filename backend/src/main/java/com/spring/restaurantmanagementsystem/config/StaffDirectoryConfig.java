@@ -0,0 +1,34 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.directory.StaffDirectory;
+import com.spring.restaurantmanagementsystem.directory.StaffDirectoryLoader;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The in-memory staff directory behind the analytics endpoints, loaded after startup and kept
+ * current from committed changes.
+ */
+@Configuration
+public class StaffDirectoryConfig {
+
+    @Bean
+    public StaffDirectory staffDirectory() {
+        return new StaffDirectory();
+    }
+
+    /**
+     * @param pageSize Users read per query while loading.
+     * @return The loader.
+     */
+    @Bean
+    public StaffDirectoryLoader staffDirectoryLoader(StaffDirectory staffDirectory, UserRepository userRepository,
+                                                     StoreRepository storeRepository, ShardRouter shardRouter,
+                                                     @Value("${application.staff-directory.page-size:10000}") int pageSize) {
+        return new StaffDirectoryLoader(staffDirectory, userRepository, storeRepository, shardRouter, pageSize);
+    }
+}
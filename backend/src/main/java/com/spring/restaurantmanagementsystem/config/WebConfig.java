@@ -0,0 +1,41 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.web.UserListHttpMessageConverter;
+import com.spring.restaurantmanagementsystem.web.UserListJsonWriter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public WebConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Shared so role names interned during warm-up are already there for the first response.
+     *
+     * @return The writer used by the user list converter.
+     */
+    @Bean
+    public UserListJsonWriter userListJsonWriter() {
+        return new UserListJsonWriter();
+    }
+
+    /**
+     * Puts the user list converter ahead of Jackson so staff lists skip data binding.
+     *
+     * @param converters The converters configured so far.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.addFirst(new UserListHttpMessageConverter(objectMapper.getFactory(), userListJsonWriter()));
+    }
+}
@@ -4,8 +4,12 @@ import com.spring.restaurantmanagementsystem.dto.ChangePasswordRequest;
 import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.dto.UserField;
+import com.spring.restaurantmanagementsystem.exception.CrossShardMoveException;
 import com.spring.restaurantmanagementsystem.service.AdminService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,18 +23,33 @@ import java.util.Map;
 @RequestMapping("/api/admin/users")
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
+    // Keeps (page + 1) * size, the rows every shard returns for a page, within an int
+    private static final int MAX_PAGE = 100_000;
+
     private final AdminService adminService;
 
     public AdminController(AdminService adminService) {
         this.adminService = adminService;
     }
 
+    // Without a page size every user is returned
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<UserDto> users = adminService.getAllUsers();
+    public ResponseEntity<List<UserDto>> getAllUsers(
+            @RequestParam(defaultValue = "0") @Min(0) @Max(MAX_PAGE) int page,
+            @RequestParam(required = false) @Min(1) @Max(1000) Integer size) {
+        List<UserDto> users = size != null ? adminService.getUsers(page, size) : adminService.getAllUsers();
         return ResponseEntity.ok(users);
     }
 
+    // Sparse fieldsets, e.g. ?fields=id,username for dropdowns; only the requested columns are read
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserFields(
+            @RequestParam List<String> fields,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(MAX_PAGE) int page,
+            @RequestParam(required = false) @Min(1) @Max(1000) Integer size) {
+        return ResponseEntity.ok(adminService.getUserFields(FieldsParameter.parse(fields, UserField::parse), page, size));
+    }
+
     @PostMapping
     public ResponseEntity<UserDto> createUser(@Valid @RequestBody CreateUserRequest createUserRequest) {
         UserDto newUser = adminService.createUser(createUserRequest);
@@ -61,4 +80,9 @@ public class AdminController {
         response.put("message", "Password updated successfully");
         return ResponseEntity.ok(response);
     }
+
+    @ExceptionHandler(CrossShardMoveException.class)
+    public ResponseEntity<Map<String, String>> handleCrossShardMove(CrossShardMoveException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", ex.getMessage()));
+    }
 }
@@ -0,0 +1,74 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.directory.StaffDirectory;
+import com.spring.restaurantmanagementsystem.directory.StaffDirectoryLoader;
+import com.spring.restaurantmanagementsystem.dto.RegionHeadcount;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Staff analytics answered from the in-memory staff directory.
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsController {
+    private final StaffDirectory staffDirectory;
+    private final StaffDirectoryLoader staffDirectoryLoader;
+
+    public AnalyticsController(StaffDirectory staffDirectory, StaffDirectoryLoader staffDirectoryLoader) {
+        this.staffDirectory = staffDirectory;
+        this.staffDirectoryLoader = staffDirectoryLoader;
+    }
+
+    // Store id to headcount, for every store
+    @GetMapping("/headcount")
+    public ResponseEntity<Map<Long, Integer>> getHeadcountByStore(@RequestParam(required = false) String role) {
+        requireLoaded();
+        return ResponseEntity.ok(staffDirectory.headcountByStore(parseRole(role)));
+    }
+
+    @GetMapping("/stores-without")
+    public ResponseEntity<List<StoreDto>> getStoresWithout(@RequestParam String role) {
+        requireLoaded();
+        return ResponseEntity.ok(staffDirectory.storesWithout(parseRole(role)));
+    }
+
+    @GetMapping("/headcount/region")
+    public ResponseEntity<RegionHeadcount> getHeadcountInRegion(
+            @RequestParam double minLatitude, @RequestParam double maxLatitude,
+            @RequestParam double minLongitude, @RequestParam double maxLongitude,
+            @RequestParam(required = false) String role) {
+        requireLoaded();
+        return ResponseEntity.ok(new RegionHeadcount(staffDirectory.headcountInRegion(
+                minLatitude, maxLatitude, minLongitude, maxLongitude, parseRole(role))));
+    }
+
+    private void requireLoaded() {
+        if (!staffDirectoryLoader.isLoaded()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Staff directory is still loading");
+        }
+    }
+
+    private static RoleEnum parseRole(String role) {
+        if (role == null) {
+            return null;
+        }
+        try {
+            return RoleEnum.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown role: " + role);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.audit.AuditLog;
+import com.spring.restaurantmanagementsystem.audit.AuditRecord;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/audit")
+@PreAuthorize("hasRole('ADMIN')")
+public class AuditController {
+    private final AuditLog auditLog;
+
+    public AuditController(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    // Newest records first; without a range the whole log is searched
+    @GetMapping
+    public ResponseEntity<List<AuditRecord>> getAuditRecords(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) EntityType entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(defaultValue = "1000") @Min(1) @Max(10000) int limit) {
+        List<AuditRecord> records = auditLog.queryNewest(from != null ? from : Instant.EPOCH,
+                to != null ? to : Instant.now(), entityType, entityId, limit);
+        return ResponseEntity.ok(records);
+    }
+}
@@ -0,0 +1,47 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.dto.BatchRequest;
+import com.spring.restaurantmanagementsystem.dto.BatchResponse;
+import com.spring.restaurantmanagementsystem.dto.BatchResult;
+import com.spring.restaurantmanagementsystem.service.BatchService;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/admin/batch")
+@PreAuthorize("hasRole('ADMIN')")
+public class BatchController {
+    private final BatchService batchService;
+    private final ShardRouter shardRouter;
+
+    public BatchController(BatchService batchService, ShardRouter shardRouter) {
+        this.batchService = batchService;
+        this.shardRouter = shardRouter;
+    }
+
+    // A failed atomic batch answers with the status of the operation that failed, or 409 if the commit did
+    @PostMapping
+    public ResponseEntity<BatchResponse> executeBatch(@Valid @RequestBody BatchRequest request) {
+        if (request.atomic() && shardRouter.getShardCount() > 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Atomic batches are not supported with sharding; send them with atomic=false");
+        }
+        BatchResponse response = batchService.execute(request.operations(), request.atomic());
+        if (!request.atomic() || response.succeeded()) {
+            return ResponseEntity.ok(response);
+        }
+        int status = response.results().stream().mapToInt(BatchResult::status)
+                .filter(code -> code >= HttpStatus.BAD_REQUEST.value())
+                .findFirst()
+                .orElse(HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(status).body(response);
+    }
+}
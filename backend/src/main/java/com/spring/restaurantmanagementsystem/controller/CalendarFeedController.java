@@ -0,0 +1,73 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.calendar.CalendarFeed;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.service.CalendarFeedService;
+import com.spring.restaurantmanagementsystem.service.UserService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/calendar")
+public class CalendarFeedController {
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService calendarFeedService;
+    private final UserService userService;
+
+    public CalendarFeedController(CalendarFeedService calendarFeedService, UserService userService) {
+        this.calendarFeedService = calendarFeedService;
+        this.userService = userService;
+    }
+
+    @GetMapping("/users/{id}.ics")
+    public ResponseEntity<byte[]> getUserFeed(@PathVariable Long id, Authentication authentication, WebRequest request) {
+        if (!isAdmin(authentication) && !isOwnFeed(id, authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return toResponse(calendarFeedService.getUserFeed(id), request);
+    }
+
+    @GetMapping("/stores/{id}.ics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<byte[]> getStoreFeed(@PathVariable Long id, WebRequest request) {
+        return toResponse(calendarFeedService.getStoreFeed(id), request);
+    }
+
+    private ResponseEntity<byte[]> toResponse(CalendarFeed feed, WebRequest request) {
+        // Sets 304 Not Modified along with the validators when the client copy is current
+        if (request.checkNotModified(feed.etag(), feed.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(feed.etag())
+                .lastModified(feed.lastModified())
+                .body(feed.content());
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private boolean isOwnFeed(Long userId, Authentication authentication) {
+        return userService.findByUsername(authentication.getName())
+                .map(User::getId)
+                .filter(userId::equals)
+                .isPresent();
+    }
+}
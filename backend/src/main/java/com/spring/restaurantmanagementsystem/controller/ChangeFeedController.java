@@ -0,0 +1,46 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.dto.ChangesDto;
+import com.spring.restaurantmanagementsystem.exception.CursorExpiredException;
+import com.spring.restaurantmanagementsystem.service.ChangeFeedService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/admin/changes")
+@PreAuthorize("hasRole('ADMIN')")
+public class ChangeFeedController {
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    // Without a cursor every user and store is returned, with the cursor to continue from
+    @GetMapping
+    public ResponseEntity<ChangesDto> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") @Min(1) @Max(5000) int limit) {
+        long[] cursor = null;
+        if (since != null) {
+            try {
+                cursor = changeFeedService.parseCursor(since);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+        try {
+            return ResponseEntity.ok(changeFeedService.getChanges(cursor, limit));
+        } catch (CursorExpiredException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, e.getMessage());
+        }
+    }
+}
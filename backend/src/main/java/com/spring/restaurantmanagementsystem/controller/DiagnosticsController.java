@@ -0,0 +1,40 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.diagnostics.SlowQuery;
+import com.spring.restaurantmanagementsystem.diagnostics.SlowQueryLog;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+@PreAuthorize("hasRole('ADMIN')")
+public class DiagnosticsController {
+    private final SlowQueryLog slowQueryLog;
+
+    public DiagnosticsController(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    // Newest first; origin is matched exactly, e.g. AdminController.getAllUsers
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQuery>> getSlowQueries(@RequestParam(required = false) String origin) {
+        List<SlowQuery> queries = slowQueryLog.recent();
+        if (origin != null) {
+            queries = queries.stream().filter(query -> query.getOrigin().equals(origin)).toList();
+        }
+        return ResponseEntity.ok(queries);
+    }
+
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reads the {@code fields=} parameter of sparse fieldsets, answering unknown field names with 400.
+ */
+final class FieldsParameter {
+
+    private FieldsParameter() {
+    }
+
+    /**
+     * @param fields The names given in the request.
+     * @param parser The parser of the field enum, e.g. {@code UserField::parse}.
+     * @return The parsed fields.
+     */
+    static <F> Set<F> parse(List<String> fields, Function<Collection<String>, Set<F>> parser) {
+        try {
+            return parser.apply(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.dto.CreateShiftRequest;
+import com.spring.restaurantmanagementsystem.dto.ShiftDto;
+import com.spring.restaurantmanagementsystem.dto.UpdateShiftRequest;
+import com.spring.restaurantmanagementsystem.service.ShiftService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/shifts")
+@PreAuthorize("hasRole('ADMIN')")
+public class ShiftController {
+    private final ShiftService shiftService;
+
+    public ShiftController(ShiftService shiftService) {
+        this.shiftService = shiftService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ShiftDto>> getShifts(@RequestParam(required = false) Long userId,
+                                                    @RequestParam(required = false) Long storeId) {
+        List<ShiftDto> shifts = shiftService.getShifts(userId, storeId);
+        return ResponseEntity.ok(shifts);
+    }
+
+    @PostMapping
+    public ResponseEntity<ShiftDto> createShift(@Valid @RequestBody CreateShiftRequest request) {
+        ShiftDto createdShift = shiftService.createShift(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdShift);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ShiftDto> updateShift(@PathVariable Long id, @Valid @RequestBody UpdateShiftRequest request) {
+        ShiftDto updatedShift = shiftService.updateShift(id, request);
+        return ResponseEntity.ok(updatedShift);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteShift(@PathVariable Long id) {
+        shiftService.deleteShift(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,8 +2,10 @@ package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
 import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.StoreField;
 import com.spring.restaurantmanagementsystem.dto.UpdateStoreRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.dto.UserField;
 import com.spring.restaurantmanagementsystem.service.StoreService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -31,6 +33,12 @@ public class StoreController {
         return ResponseEntity.ok(stores);
     }
 
+    // Sparse fieldsets, e.g. ?fields=id,name; only the requested columns are read
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getStoreFields(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(storeService.getStoreFields(FieldsParameter.parse(fields, StoreField::parse)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<StoreDto> getStoreById(@PathVariable Long id) {
         StoreDto store = storeService.getStoreById(id);
@@ -62,4 +70,10 @@ public class StoreController {
         List<UserDto> users = storeService.getUsersByStoreId(id);
         return ResponseEntity.ok(users);
     }
+
+    @GetMapping(value = "/{id}/users", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserFieldsByStore(@PathVariable Long id,
+                                                                          @RequestParam List<String> fields) {
+        return ResponseEntity.ok(storeService.getUserFieldsByStoreId(id, FieldsParameter.parse(fields, UserField::parse)));
+    }
 }
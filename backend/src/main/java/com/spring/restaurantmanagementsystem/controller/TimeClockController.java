@@ -0,0 +1,64 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.dto.PunchDto;
+import com.spring.restaurantmanagementsystem.dto.PunchReceipt;
+import com.spring.restaurantmanagementsystem.dto.PunchRequest;
+import com.spring.restaurantmanagementsystem.exception.PunchRejectedException;
+import com.spring.restaurantmanagementsystem.security.AuthenticatedUser;
+import com.spring.restaurantmanagementsystem.service.TimeClockService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/timeclock")
+public class TimeClockController {
+    private final TimeClockService timeClockService;
+
+    public TimeClockController(TimeClockService timeClockService) {
+        this.timeClockService = timeClockService;
+    }
+
+    @PostMapping("/punches")
+    public ResponseEntity<PunchReceipt> punch(@AuthenticationPrincipal AuthenticatedUser user,
+                                              @Valid @RequestBody PunchRequest request) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        PunchReceipt receipt = timeClockService.punch(user.getId(), user.getStoreId(), request);
+        // 202 signals the punch is buffered but not yet known to be committed
+        return ResponseEntity.status(receipt.durable() ? HttpStatus.CREATED : HttpStatus.ACCEPTED).body(receipt);
+    }
+
+    @GetMapping("/stores/{storeId}/punches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<PunchDto>> getPunchesByStore(
+            @PathVariable Long storeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        List<PunchDto> punches = timeClockService.getPunchesByStore(storeId, from, to);
+        return ResponseEntity.ok(punches);
+    }
+
+    @ExceptionHandler(PunchRejectedException.class)
+    public ResponseEntity<Map<String, String>> handlePunchRejected(PunchRejectedException ex) {
+        Map<String, String> body = Map.of("message", ex.getMessage(), "reason", ex.getReason().name());
+        return switch (ex.getReason()) {
+            case NOT_STORE_MEMBER -> ResponseEntity.status(HttpStatus.FORBIDDEN).body(body);
+            case OUTSIDE_GEOFENCE -> ResponseEntity.unprocessableEntity().body(body);
+            case OVERLOADED -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(body);
+            case WRITE_FAILED -> ResponseEntity.internalServerError().body(body);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.spring.restaurantmanagementsystem.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ * The physical connection is only fetched when the first statement runs, after the transaction
+ * manager has marked the connection read-only, so the choice follows
+ * {@code @Transactional(readOnly = true)}.
+ *
+ * <p>With read-your-writes enabled, each commit on the primary records a write for the current user,
+ * so the window starts once the write is visible on the primary.
+ */
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReadWriteDataSource(DataSource primary, ReplicaDataSource replicas, ReadYourWritesTracker readYourWritesTracker) {
+        super(readYourWritesTracker.isEnabled() ? new WriteRecordingDataSource(primary, readYourWritesTracker) : primary);
+        setReadOnlyDataSource(replicas);
+    }
+
+    private static final class WriteRecordingDataSource extends DelegatingDataSource {
+
+        private final ReadYourWritesTracker readYourWritesTracker;
+
+        private WriteRecordingDataSource(DataSource primary, ReadYourWritesTracker readYourWritesTracker) {
+            super(primary);
+            this.readYourWritesTracker = readYourWritesTracker;
+        }
+
+        @Override
+        @NonNull
+        public Connection getConnection() throws SQLException {
+            Connection connection = obtainTargetDataSource().getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        try {
+                            Object result = method.invoke(connection, args);
+                            if ("commit".equals(method.getName())) {
+                                readYourWritesTracker.recordWrite();
+                            }
+                            return result;
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.spring.restaurantmanagementsystem.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which users wrote recently, so their reads go to the primary until replicas have
+ * had time to catch up. Users are identified by the authenticated principal of the current thread;
+ * work without one (startup, background jobs) is not tracked.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    /**
+     * @param windowMs How long after a write the same user reads from the primary; 0 disables tracking.
+     */
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * Records that the current user has just finished a write.
+     */
+    public void recordWrite() {
+        String user = currentUser();
+        if (isEnabled() && user != null) {
+            lastWrites.put(user, System.nanoTime());
+        }
+    }
+
+    /**
+     * @return Whether the current user wrote within the window and must read from the primary.
+     */
+    public boolean mustReadFromPrimary() {
+        if (!isEnabled() || lastWrites.isEmpty()) {
+            return false;
+        }
+        String user = currentUser();
+        Long lastWrite = user == null ? null : lastWrites.get(user);
+        return lastWrite != null && System.nanoTime() - lastWrite < windowNanos;
+    }
+
+    /**
+     * Forgets writes older than the window so the map only holds recently active writers.
+     */
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
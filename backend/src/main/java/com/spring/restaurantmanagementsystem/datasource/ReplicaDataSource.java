@@ -0,0 +1,173 @@
+package com.spring.restaurantmanagementsystem.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions.
+ * Replicas are used in turn; a replica that fails to hand out a connection or fails its periodic
+ * health check is skipped until a later check succeeds. Reads go to the primary when no replica is
+ * healthy, and when the current user wrote within the read-your-writes window.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements SmartLifecycle, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ScheduledExecutorService healthChecker;
+
+    /**
+     * @param replicas Replica data sources by name; the names only appear in logs.
+     * @param primary Used when no replica is healthy or the current user must read their own writes.
+     */
+    public ReplicaDataSource(Map<String, DataSource> replicas, DataSource primary,
+                             ReadYourWritesTracker readYourWritesTracker, Duration healthCheckInterval) {
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.primary = primary;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    /**
+     * Picks the pool like {@link #getConnection()} and passes the credentials on to it.
+     */
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private Connection connect(ConnectionOpener opener) throws SQLException {
+        if (!readYourWritesTracker.mustReadFromPrimary()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return opener.open(replica.dataSource);
+                } catch (SQLFeatureNotSupportedException e) {
+                    // e.g. a Hikari pool asked for other credentials; the replica itself is fine
+                    throw e;
+                } catch (SQLException e) {
+                    markDown(replica, e);
+                }
+            }
+        }
+        return opener.open(primary);
+    }
+
+    /**
+     * @return The number of replicas currently receiving reads.
+     */
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Validates every replica once, marking it up or down.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection is not valid");
+                }
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Replica {} is healthy again", replica.name);
+                }
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        readYourWritesTracker.purgeExpired();
+    }
+
+    private void markDown(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} marked down, reads fall back to other replicas or the primary: {}",
+                    replica.name, cause.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health-check").daemon().factory());
+        long intervalMs = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return healthChecker != null;
+    }
+
+    /**
+     * Closes the replica pools.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
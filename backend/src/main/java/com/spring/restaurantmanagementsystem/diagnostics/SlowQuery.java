@@ -0,0 +1,55 @@
+package com.spring.restaurantmanagementsystem.diagnostics;
+
+import java.time.Instant;
+
+/**
+ * A statement that took longer than the slow-query threshold. The plan is filled in once the
+ * background EXPLAIN has run, and stays null for statements that cannot be explained.
+ * Bound parameter values are never kept here, since they can hold e-mails and password hashes.
+ */
+public final class SlowQuery {
+
+    private final Instant executedAt;
+    private final String origin;
+    private final String sql;
+    private final long durationMs;
+    private volatile String plan;
+
+    SlowQuery(Instant executedAt, String origin, String sql, long durationMs) {
+        this.executedAt = executedAt;
+        this.origin = origin;
+        this.sql = sql;
+        this.durationMs = durationMs;
+    }
+
+    public Instant getExecutedAt() {
+        return executedAt;
+    }
+
+    /**
+     * @return The controller method that issued the statement, e.g. {@code AdminController.getAllUsers};
+     *         the request line before a handler was chosen, or the thread name outside a request.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return How long executing the statement took, not counting reading its rows.
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,149 @@
+package com.spring.restaurantmanagementsystem.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Times every statement executed on the connections of the wrapped data source and reports the slow
+ * ones to the {@link SlowQueryLog}. Connections and statements are proxies; everything but executing
+ * a statement and binding its parameters goes straight to the real object.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final SlowQueryLog slowQueryLog;
+
+    SlowQueryDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return timed(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        return timed(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Closes the wrapped pool.
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Proxies are used as map keys by Hibernate, so they must equal only themselves
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = invokeTarget(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> timed(method, result, null);
+                case "prepareStatement", "prepareCall" -> timed(method, result, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object timed(Method method, Object statement, String sql) {
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                    new Class<?>[]{method.getReturnType()}, new StatementHandler((Statement) statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Map<Integer, SlowQueryLog.Binding> bindings = new HashMap<>();
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            // Parameter setters take the parameter index first; the statement's own setters take one argument
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindings.put(index, new SlowQueryLog.Binding(method, args));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                if (slowQueryLog.isSlow(elapsed)) {
+                    if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                        slowQueryLog.record(obtainTargetDataSource(), sql, Map.of(), elapsed);
+                    } else if (preparedSql != null) {
+                        slowQueryLog.record(obtainTargetDataSource(), preparedSql, Map.copyOf(bindings), elapsed);
+                    }
+                }
+            }
+        }
+    }
+}
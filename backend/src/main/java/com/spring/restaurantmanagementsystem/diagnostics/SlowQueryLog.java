@@ -0,0 +1,182 @@
+package com.spring.restaurantmanagementsystem.diagnostics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the most recent statements that took longer than the threshold, each tagged with the controller
+ * method that issued it. The plan of each is captured afterwards with {@code EXPLAIN} on a background
+ * thread, on a connection of its own from the same database; only H2 and PostgreSQL are explained.
+ * Statements only reach the log through a data source returned by {@link #wrap}.
+ */
+public class SlowQueryLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final Set<String> EXPLAINED_DATABASES = Set.of("H2", "PostgreSQL");
+    private static final List<String> EXPLAINED_STATEMENTS = List.of("select", "with", "insert", "update", "delete");
+    private static final int PENDING_PLANS = 16;
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final int capacity;
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final ThreadPoolExecutor explainer;
+
+    /** A parameter bound on the slow statement, set again on the {@code EXPLAIN} statement. */
+    record Binding(Method setter, Object[] args) {
+    }
+
+    /**
+     * @param enabled   Whether {@link #wrap} times statements at all.
+     * @param threshold Statements taking longer than this are kept.
+     * @param capacity  How many slow statements are kept; older ones are dropped first.
+     */
+    public SlowQueryLog(boolean enabled, Duration threshold, int capacity) {
+        this.enabled = enabled;
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = capacity;
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(PENDING_PLANS), Thread.ofPlatform().name("slow-query-explain").daemon().factory());
+    }
+
+    /**
+     * @param dataSource The data source whose statements should be timed.
+     * @return A data source timing every statement, or the given one when the log is disabled.
+     */
+    public DataSource wrap(DataSource dataSource) {
+        return enabled ? new SlowQueryDataSource(dataSource, this) : dataSource;
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos > thresholdNanos;
+    }
+
+    /**
+     * Called on the thread that ran the statement, so the request it belongs to is still known.
+     */
+    void record(DataSource dataSource, String sql, Map<Integer, Binding> bindings, long elapsedNanos) {
+        SlowQuery query = new SlowQuery(Instant.now(), currentOrigin(), sql, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        log.warn("Slow statement ({} ms) from {}: {}", query.getDurationMs(), query.getOrigin(), sql);
+        recentLock.lock();
+        try {
+            if (recent.size() == capacity) {
+                recent.removeLast();
+            }
+            recent.addFirst(query);
+        } finally {
+            recentLock.unlock();
+        }
+        if (isExplainable(sql)) {
+            try {
+                explainer.execute(() -> explain(dataSource, query, bindings));
+            } catch (RejectedExecutionException e) {
+                query.setPlan("Not captured: too many plans pending");
+            }
+        }
+    }
+
+    /**
+     * @return The slow statements kept, newest first.
+     */
+    public List<SlowQuery> recent() {
+        recentLock.lock();
+        try {
+            return new ArrayList<>(recent);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    public void clear() {
+        recentLock.lock();
+        try {
+            recent.clear();
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private static String currentOrigin() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Thread.currentThread().getName();
+        }
+        Object handler = attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        // Filters such as the JWT filter run before a handler is chosen
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            return servlet.getRequest().getMethod() + " " + servlet.getRequest().getRequestURI();
+        }
+        return Thread.currentThread().getName();
+    }
+
+    private static boolean isExplainable(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return EXPLAINED_STATEMENTS.stream().anyMatch(statement::startsWith);
+    }
+
+    // EXPLAIN only plans the statement, on both databases, so inserts and updates are not run again
+    private static void explain(DataSource dataSource, SlowQuery query, Map<Integer, Binding> bindings) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!EXPLAINED_DATABASES.contains(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.getSql())) {
+                for (Binding binding : bindings.values()) {
+                    binding.setter().invoke(explain, binding.args());
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                query.setPlan(plan.toString());
+            }
+        } catch (SQLException | IllegalAccessException | RuntimeException e) {
+            query.setPlan("Not captured: " + e.getMessage());
+        } catch (InvocationTargetException e) {
+            query.setPlan("Not captured: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Stops capturing plans; plans still pending are not captured.
+     */
+    @Override
+    public void close() {
+        explainer.shutdownNow();
+    }
+}
@@ -0,0 +1,335 @@
+package com.spring.restaurantmanagementsystem.directory;
+
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar in-memory copy of who works where, for analytics over the whole staff without loading entities.
+ * Users are kept in parallel primitive arrays sorted by id: the id, the index of their store in the store
+ * dictionary and a bitmask of their roles, about 13 bytes per user. Store names and coordinates are stored
+ * once per store in the dictionary. Queries scan the arrays, split across the common pool for large directories.
+ *
+ * <p>Changes are applied in place: a new user with the highest id is appended, anything else is inserted
+ * or marked removed, and removed slots are compacted once they make up a quarter of the arrays.
+ */
+public class StaffDirectory {
+
+    /** Store id of users without a store. */
+    public static final long NO_STORE_ID = -1;
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int NO_STORE = -1;
+    // Set in the role mask of removed users; it makes the byte negative, so live users are those >= 0
+    private static final byte REMOVED = (byte) 0x80;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private long[] ids = new long[0];
+    private int[] storeIndexes = new int[0];
+    private byte[] roles = new byte[0];
+    private int size;
+    private int removed;
+
+    // Store dictionary, guarded by lock; removed stores keep their index, and stores only known from
+    // their users' store ids have one but stay out of the results until the store itself arrives
+    private final Map<Long, Integer> storeIndexById = new HashMap<>();
+    private long[] storeIds = new long[0];
+    private String[] storeNames = new String[0];
+    private double[] latitudes = new double[0];
+    private double[] longitudes = new double[0];
+    private boolean[] storeLive = new boolean[0];
+    private int storeCount;
+
+    /**
+     * @return The bitmask bit of a role.
+     */
+    public static byte roleBit(RoleEnum role) {
+        return (byte) (1 << role.ordinal());
+    }
+
+    /**
+     * @return The bitmask of role names such as {@code "WAITER"}.
+     */
+    public static byte roleMask(Collection<String> roleNames) {
+        byte mask = 0;
+        for (String roleName : roleNames) {
+            mask |= roleBit(RoleEnum.valueOf(roleName));
+        }
+        return mask;
+    }
+
+    /**
+     * Replaces the whole content.
+     *
+     * @param stores       The stores.
+     * @param userIds      The users' ids, in any order.
+     * @param userStoreIds The users' store ids, {@link #NO_STORE_ID} for users without one.
+     * @param userRoles    The users' role bitmasks.
+     */
+    public void replace(List<StoreDto> stores, long[] userIds, long[] userStoreIds, byte[] userRoles) {
+        Integer[] order = IntStream.range(0, userIds.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, (a, b) -> Long.compare(userIds[a], userIds[b]));
+
+        lock.writeLock().lock();
+        try {
+            storeIndexById.clear();
+            storeIds = new long[Math.max(16, stores.size())];
+            storeNames = new String[storeIds.length];
+            latitudes = new double[storeIds.length];
+            longitudes = new double[storeIds.length];
+            storeLive = new boolean[storeIds.length];
+            storeCount = 0;
+            stores.forEach(this::putStore);
+
+            int capacity = Math.max(16, userIds.length + userIds.length / 8);
+            ids = new long[capacity];
+            storeIndexes = new int[capacity];
+            roles = new byte[capacity];
+            for (int slot = 0; slot < order.length; slot++) {
+                int user = order[slot];
+                ids[slot] = userIds[user];
+                storeIndexes[slot] = storeIndexOf(userStoreIds[user]);
+                roles[slot] = userRoles[user];
+            }
+            size = order.length;
+            removed = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putUser(long id, long storeId, byte roleMask) {
+        lock.writeLock().lock();
+        try {
+            int slot = Arrays.binarySearch(ids, 0, size, id);
+            if (slot < 0) {
+                slot = -slot - 1;
+                insertSlot(slot);
+                ids[slot] = id;
+            } else if (roles[slot] < 0) {
+                // A removed user's slot is reused when it comes back
+                removed--;
+            }
+            storeIndexes[slot] = storeIndexOf(storeId);
+            roles[slot] = roleMask;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeUser(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = Arrays.binarySearch(ids, 0, size, id);
+            if (slot >= 0 && roles[slot] >= 0) {
+                roles[slot] = REMOVED;
+                storeIndexes[slot] = NO_STORE;
+                if (++removed > size / 4) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putStore(StoreDto store) {
+        lock.writeLock().lock();
+        try {
+            int index = storeIndexById.computeIfAbsent(store.id(), this::addStoreIndex);
+            storeNames[index] = store.name();
+            latitudes[index] = store.latitude();
+            longitudes[index] = store.longitude();
+            storeLive[index] = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The store's users are removed by their own events
+    public void removeStore(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer index = storeIndexById.get(id);
+            if (index != null) {
+                storeLive[index] = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of users.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the users of every store.
+     *
+     * @param role Only users with this role, or {@code null} for all.
+     * @return The headcount per store id, including stores with none, in the order stores were added.
+     */
+    public Map<Long, Integer> headcountByStore(RoleEnum role) {
+        lock.readLock().lock();
+        try {
+            int[] counts = countPerStore(role == null ? 0 : roleBit(role));
+            Map<Long, Integer> headcounts = new LinkedHashMap<>();
+            for (int index = 0; index < storeCount; index++) {
+                if (storeLive[index]) {
+                    headcounts.put(storeIds[index], counts[index + 1]);
+                }
+            }
+            return headcounts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The stores without any user with the role, in the order stores were added.
+     */
+    public List<StoreDto> storesWithout(RoleEnum role) {
+        lock.readLock().lock();
+        try {
+            int[] counts = countPerStore(roleBit(role));
+            List<StoreDto> stores = new ArrayList<>();
+            for (int index = 0; index < storeCount; index++) {
+                if (storeLive[index] && counts[index + 1] == 0) {
+                    stores.add(store(index));
+                }
+            }
+            return stores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the users of the stores inside a latitude and longitude box, bounds included.
+     *
+     * @param role Only users with this role, or {@code null} for all.
+     */
+    public int headcountInRegion(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude,
+                                 RoleEnum role) {
+        lock.readLock().lock();
+        try {
+            int[] counts = countPerStore(role == null ? 0 : roleBit(role));
+            int headcount = 0;
+            for (int index = 0; index < storeCount; index++) {
+                if (storeLive[index] && latitudes[index] >= minLatitude && latitudes[index] <= maxLatitude
+                        && longitudes[index] >= minLongitude && longitudes[index] <= maxLongitude) {
+                    headcount += counts[index + 1];
+                }
+            }
+            return headcount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private StoreDto store(int index) {
+        return new StoreDto(storeIds[index], storeNames[index], latitudes[index], longitudes[index]);
+    }
+
+    /**
+     * Counts live users matching the mask per store index, shifted by one so users without a store land in 0.
+     * Called under the read lock, which the pool threads do not take: the caller holds it until they are done.
+     */
+    private int[] countPerStore(byte mask) {
+        int users = size;
+        if (users < PARALLEL_THRESHOLD) {
+            return countRange(0, users, mask);
+        }
+        int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+        int chunkSize = (users + chunks - 1) / chunks;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> countRange(Math.min(users, chunk * chunkSize),
+                        Math.min(users, (chunk + 1) * chunkSize), mask))
+                .reduce((a, b) -> {
+                    Arrays.setAll(a, index -> a[index] + b[index]);
+                    return a;
+                })
+                .orElseThrow();
+    }
+
+    private int[] countRange(int from, int to, byte mask) {
+        int[] counts = new int[storeCount + 1];
+        int[] storeColumn = storeIndexes;
+        byte[] roleColumn = roles;
+        for (int slot = from; slot < to; slot++) {
+            byte userRoles = roleColumn[slot];
+            // Live users have a non-negative mask, and a zero mask matches every role
+            int matches = (userRoles >= 0 && (mask == 0 || (userRoles & mask) != 0)) ? 1 : 0;
+            counts[storeColumn[slot] + 1] += matches;
+        }
+        return counts;
+    }
+
+    private int storeIndexOf(long storeId) {
+        if (storeId == NO_STORE_ID) {
+            return NO_STORE;
+        }
+        // The store's own event may not have arrived yet; it stays out of the results until it does
+        return storeIndexById.computeIfAbsent(storeId, this::addStoreIndex);
+    }
+
+    private int addStoreIndex(long storeId) {
+        if (storeCount == storeIds.length) {
+            int capacity = storeIds.length * 2;
+            storeIds = Arrays.copyOf(storeIds, capacity);
+            storeNames = Arrays.copyOf(storeNames, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            storeLive = Arrays.copyOf(storeLive, capacity);
+        }
+        int index = storeCount++;
+        storeIds[index] = storeId;
+        return index;
+    }
+
+    private void insertSlot(int slot) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, ids.length + ids.length / 2);
+            ids = Arrays.copyOf(ids, capacity);
+            storeIndexes = Arrays.copyOf(storeIndexes, capacity);
+            roles = Arrays.copyOf(roles, capacity);
+        }
+        System.arraycopy(ids, slot, ids, slot + 1, size - slot);
+        System.arraycopy(storeIndexes, slot, storeIndexes, slot + 1, size - slot);
+        System.arraycopy(roles, slot, roles, slot + 1, size - slot);
+        size++;
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (roles[slot] >= 0) {
+                ids[live] = ids[slot];
+                storeIndexes[live] = storeIndexes[slot];
+                roles[live] = roles[slot];
+                live++;
+            }
+        }
+        size = live;
+        removed = 0;
+    }
+}
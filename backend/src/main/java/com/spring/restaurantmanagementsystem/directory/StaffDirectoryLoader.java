@@ -0,0 +1,248 @@
+package com.spring.restaurantmanagementsystem.directory;
+
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.invalidation.Invalidation;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Fills the {@link StaffDirectory} from the database and keeps it current from committed user and store
+ * changes, those of other nodes included. Users are read in keyset pages of id and store id, with their
+ * roles, from every shard. Changes committed while a load runs are held back and applied on top of it,
+ * since the load may have read the rows before or after them.
+ */
+public class StaffDirectoryLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(StaffDirectoryLoader.class);
+
+    private final StaffDirectory directory;
+    private final UserRepository userRepository;
+    private final StoreRepository storeRepository;
+    private final ShardRouter shardRouter;
+    private final int pageSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Guarded by lock: changes seen during a load, or null when none is running
+    private List<Runnable> heldBack = new ArrayList<>();
+    private volatile boolean loaded;
+
+    public StaffDirectoryLoader(StaffDirectory directory, UserRepository userRepository,
+                                StoreRepository storeRepository, ShardRouter shardRouter, int pageSize) {
+        this.directory = directory;
+        this.userRepository = userRepository;
+        this.storeRepository = storeRepository;
+        this.shardRouter = shardRouter;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return Whether the first load has finished, so queries see every user.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Reloads the whole directory. Loads run one at a time.
+     */
+    public void load() {
+        loadLock.lock();
+        try {
+            loadExclusively();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void loadExclusively() {
+        lock.lock();
+        try {
+            if (heldBack == null) {
+                heldBack = new ArrayList<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        List<StoreDto> stores = shardRouter.onEveryShard(storeRepository::findAll).stream()
+                .flatMap(List::stream)
+                .map(store -> new StoreDto(store.getId(), store.getName(), store.getLatitude(), store.getLongitude()))
+                .toList();
+        Columns users = new Columns();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> readUsers(users));
+        }
+        directory.replace(stores, Arrays.copyOf(users.ids, users.size), Arrays.copyOf(users.storeIds, users.size),
+                Arrays.copyOf(users.roles, users.size));
+
+        lock.lock();
+        try {
+            heldBack.forEach(Runnable::run);
+            heldBack = null;
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Loaded {} users of {} stores into the staff directory in {} ms", users.size, stores.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Void readUsers(Columns users) {
+        long after = 0;
+        while (true) {
+            List<Object[]> page = userRepository.findStaffAfter(after, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                return null;
+            }
+            long last = (Long) page.getLast()[0];
+            Map<Long, Byte> roles = new HashMap<>();
+            for (Object[] row : userRepository.findRoleNamesBetween(after, last)) {
+                roles.merge((Long) row[0], StaffDirectory.roleBit((RoleEnum) row[1]), (a, b) -> (byte) (a | b));
+            }
+            for (Object[] row : page) {
+                Long id = (Long) row[0];
+                users.add(id, row[1] != null ? (Long) row[1] : StaffDirectory.NO_STORE_ID, roles.getOrDefault(id, (byte) 0));
+            }
+            if (page.size() < pageSize) {
+                return null;
+            }
+            after = last;
+        }
+    }
+
+    /**
+     * Starts the first load once the application is ready, without holding up startup; queries are
+     * refused until it finishes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofPlatform().name("staff-directory-load").daemon().start(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.error("Loading the staff directory failed; analytics stay unavailable", e);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        applyOrHoldBack(() -> apply(event));
+    }
+
+    /**
+     * Applies a batch of changes from other nodes, which carry ids only, so the rows are read again.
+     * An invalidation of all users or stores reloads the directory in the background.
+     *
+     * @param batch The invalidations received from the bus.
+     */
+    public void refresh(List<Invalidation> batch) {
+        if (batch.stream().anyMatch(invalidation -> invalidation.isAll() && invalidation.entityType() != EntityType.ROLE)) {
+            loadInBackground();
+            return;
+        }
+        for (Invalidation invalidation : batch) {
+            switch (invalidation.entityType()) {
+                case USER -> applyOrHoldBack(readOnShard(invalidation.entityId(), this::readUser));
+                case STORE -> applyOrHoldBack(readOnShard(invalidation.entityId(), this::readStore));
+                case ROLE -> { }
+            }
+        }
+    }
+
+    private Runnable readOnShard(long id, LongFunction<Runnable> read) {
+        return shardRouter.onShard(shardRouter.shardOf(id), () -> read.apply(id));
+    }
+
+    // The keyset queries of the load, narrowed to the one id
+    private Runnable readUser(long id) {
+        List<Object[]> row = userRepository.findStaffAfter(id - 1, Limit.of(1));
+        if (row.isEmpty() || (Long) row.getFirst()[0] != id) {
+            return () -> directory.removeUser(id);
+        }
+        long storeId = row.getFirst()[1] != null ? (Long) row.getFirst()[1] : StaffDirectory.NO_STORE_ID;
+        byte roleMask = 0;
+        for (Object[] role : userRepository.findRoleNamesBetween(id - 1, id)) {
+            roleMask |= StaffDirectory.roleBit((RoleEnum) role[1]);
+        }
+        byte roles = roleMask;
+        return () -> directory.putUser(id, storeId, roles);
+    }
+
+    private Runnable readStore(long id) {
+        return storeRepository.findById(id)
+                .<Runnable>map(store -> () -> directory.putStore(
+                        new StoreDto(store.getId(), store.getName(), store.getLatitude(), store.getLongitude())))
+                .orElse(() -> directory.removeStore(id));
+    }
+
+    private void applyOrHoldBack(Runnable change) {
+        lock.lock();
+        try {
+            if (heldBack != null) {
+                heldBack.add(change);
+                return;
+            }
+            change.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(EntityChangedEvent event) {
+        if (event.changeType() == ChangeType.DELETED) {
+            if (event.entityType() == EntityType.USER) {
+                directory.removeUser(event.entityId());
+            } else if (event.entityType() == EntityType.STORE) {
+                directory.removeStore(event.entityId());
+            }
+        } else if (event.snapshot() instanceof UserDto user) {
+            directory.putUser(user.id(), user.store() != null ? user.store().id() : StaffDirectory.NO_STORE_ID,
+                    StaffDirectory.roleMask(user.roles()));
+        } else if (event.snapshot() instanceof StoreDto store) {
+            directory.putStore(store);
+        }
+    }
+
+    // Growable columns for the load, so a million users are not boxed
+    private static final class Columns {
+        private long[] ids = new long[1024];
+        private long[] storeIds = new long[1024];
+        private byte[] roles = new byte[1024];
+        private int size;
+
+        private void add(long id, long storeId, byte roleMask) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                storeIds = Arrays.copyOf(storeIds, size * 2);
+                roles = Arrays.copyOf(roles, size * 2);
+            }
+            ids[size] = id;
+            storeIds[size] = storeId;
+            roles[size] = roleMask;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * One call to an admin endpoint inside a batch, e.g. {@code PUT /api/admin/users/7} with its request body.
+ * Anywhere in the body, {@code {"$ref": "/0/id"}} is replaced by that JSON pointer into the results
+ * of the earlier operations, here the id returned by the first one.
+ */
+public record BatchOperation(
+        @NotBlank(message = "Method is required")
+        String method,
+
+        @NotBlank(message = "Path is required")
+        String path,
+
+        JsonNode body
+) {
+}
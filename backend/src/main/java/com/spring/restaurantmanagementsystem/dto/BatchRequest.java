@@ -0,0 +1,20 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * @param atomic     Whether all operations commit or roll back together; otherwise each one commits on its own.
+ * @param operations The operations, run in order.
+ */
+public record BatchRequest(
+        boolean atomic,
+
+        @NotEmpty(message = "At least one operation is required")
+        @Size(max = 100, message = "At most 100 operations per batch")
+        List<@Valid BatchOperation> operations
+) {
+}
@@ -0,0 +1,11 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.util.List;
+
+/**
+ * @param succeeded Whether every operation succeeded. An atomic batch that did not succeed kept none of its changes.
+ * @param results   One result per operation, in order. An atomic batch stops at the first failure,
+ *                  so the operations after it have no result.
+ */
+public record BatchResponse(boolean succeeded, List<BatchResult> results) {
+}
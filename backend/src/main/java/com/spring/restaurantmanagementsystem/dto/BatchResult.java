@@ -0,0 +1,10 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * @param status The status the endpoint would have answered with on its own.
+ * @param body   Its response body, or {@code {"message": ...}} for a failure.
+ */
+public record BatchResult(int status, JsonNode body) {
+}
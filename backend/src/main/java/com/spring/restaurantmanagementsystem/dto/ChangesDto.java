@@ -0,0 +1,22 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.util.List;
+
+/**
+ * Users and stores changed after a cursor, or all of them when no cursor was given.
+ *
+ * @param users           Created or updated users, as they are now.
+ * @param stores          Created or updated stores, as they are now.
+ * @param deletedUserIds  Users deleted since the cursor.
+ * @param deletedStoreIds Stores deleted since the cursor.
+ * @param cursor          The {@code since} for the next request.
+ * @param hasMore         Whether more changes are ready; ask again with the new cursor straight away.
+ */
+public record ChangesDto(
+        List<UserDto> users,
+        List<StoreDto> stores,
+        List<Long> deletedUserIds,
+        List<Long> deletedStoreIds,
+        String cursor,
+        boolean hasMore
+) {}
@@ -0,0 +1,21 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+final class FieldNames {
+
+    private FieldNames() {
+    }
+
+    static <F extends Enum<F>> F find(F[] fields, Function<F, String> jsonName, String name) {
+        String trimmed = name.trim();
+        for (F field : fields) {
+            if (jsonName.apply(field).equals(trimmed)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + trimmed + "', expected one of "
+                + Arrays.stream(fields).map(jsonName).toList());
+    }
+}
@@ -0,0 +1,15 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import com.spring.restaurantmanagementsystem.model.PunchType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PunchDto(
+        UUID id,
+        Long userId,
+        String username,
+        Long storeId,
+        PunchType type,
+        Instant punchedAt
+) {}
@@ -0,0 +1,14 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import com.spring.restaurantmanagementsystem.model.PunchType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PunchReceipt(
+        UUID id,
+        Long storeId,
+        PunchType type,
+        Instant punchedAt,
+        boolean durable
+) {}
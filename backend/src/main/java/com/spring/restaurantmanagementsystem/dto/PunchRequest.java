@@ -0,0 +1,16 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import com.spring.restaurantmanagementsystem.model.PunchType;
+import jakarta.validation.constraints.NotNull;
+
+public record PunchRequest(
+        @NotNull(message = "Store is required")
+        Long storeId,
+
+        @NotNull(message = "Punch type is required")
+        PunchType type,
+
+        Double latitude,  // Device position, required when geofencing is enabled
+
+        Double longitude
+) {}
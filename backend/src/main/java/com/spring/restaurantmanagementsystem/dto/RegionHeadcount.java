@@ -0,0 +1,5 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+public record RegionHeadcount(
+        int headcount
+) {}
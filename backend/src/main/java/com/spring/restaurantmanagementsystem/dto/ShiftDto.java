@@ -0,0 +1,13 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+public record ShiftDto(
+        Long id,
+        Long userId,
+        String username,
+        Long storeId,
+        String title,
+        LocalDateTime start,
+        LocalDateTime end
+) {}
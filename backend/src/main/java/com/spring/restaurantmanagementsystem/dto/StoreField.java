@@ -0,0 +1,37 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The fields of a store that can be asked for with {@code fields=} on store lists.
+ */
+public enum StoreField {
+    ID("id"), NAME("name"), LATITUDE("latitude"), LONGITUDE("longitude");
+
+    private final String jsonName;
+
+    StoreField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses the names of a {@code fields=} parameter.
+     *
+     * @param names JSON field names, e.g. {@code id} and {@code name}.
+     * @return The fields, always including the id.
+     * @throws IllegalArgumentException if a name is unknown.
+     */
+    public static Set<StoreField> parse(Collection<String> names) {
+        Set<StoreField> fields = EnumSet.of(ID);
+        for (String name : names) {
+            fields.add(FieldNames.find(values(), StoreField::jsonName, name));
+        }
+        return fields;
+    }
+}
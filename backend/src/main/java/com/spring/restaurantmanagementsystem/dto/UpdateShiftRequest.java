@@ -0,0 +1,22 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+public record UpdateShiftRequest(
+        @NotNull(message = "User is required")
+        Long userId,
+
+        Long storeId,  // Optional, defaults to the user's store
+
+        @Size(max = 255, message = "Title must be at most 255 characters")
+        String title,
+
+        @NotNull(message = "Start is required")
+        LocalDateTime start,
+
+        @NotNull(message = "End is required")
+        LocalDateTime end
+) {}
@@ -0,0 +1,38 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The fields of a user that can be asked for with {@code fields=} on user lists. {@code storeId} is the
+ * store reference without the store itself, so it needs no join.
+ */
+public enum UserField {
+    ID("id"), USERNAME("username"), EMAIL("email"), ROLES("roles"), STORE("store"), STORE_ID("storeId");
+
+    private final String jsonName;
+
+    UserField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses the names of a {@code fields=} parameter.
+     *
+     * @param names JSON field names, e.g. {@code id} and {@code username}.
+     * @return The fields, always including the id.
+     * @throws IllegalArgumentException if a name is unknown.
+     */
+    public static Set<UserField> parse(Collection<String> names) {
+        Set<UserField> fields = EnumSet.of(ID);
+        for (String name : names) {
+            fields.add(FieldNames.find(values(), UserField::jsonName, name));
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,27 @@
+package com.spring.restaurantmanagementsystem.event;
+
+/**
+ * Published by the services whenever a user or store is changed, from inside the transaction making
+ * the change. Listeners that should only see committed changes use {@code @TransactionalEventListener}.
+ *
+ * @param entityType The kind of entity that changed.
+ * @param changeType What happened to it.
+ * @param entityId   The entity's id.
+ * @param snapshot   The entity's DTO after the change, or {@code null} when there is nothing to show,
+ *                   e.g. after a delete.
+ */
+public record EntityChangedEvent(EntityType entityType, ChangeType changeType, Long entityId, Object snapshot) {
+
+    public EntityChangedEvent(EntityType entityType, ChangeType changeType, Long entityId) {
+        this(entityType, changeType, entityId, null);
+    }
+
+    // The audit log stores ordinals, so new constants go at the end
+    public enum EntityType {
+        USER, STORE, ROLE
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, PASSWORD_CHANGED
+    }
+}
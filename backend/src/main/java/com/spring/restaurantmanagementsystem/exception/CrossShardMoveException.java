@@ -0,0 +1,11 @@
+package com.spring.restaurantmanagementsystem.exception;
+
+/**
+ * Thrown when a change would move rows to a store on another shard. Ids name their shard,
+ * so such a move would need new ids and is refused instead.
+ */
+public class CrossShardMoveException extends RuntimeException {
+    public CrossShardMoveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.spring.restaurantmanagementsystem.exception;
+
+/**
+ * Thrown when a change feed cursor is older than the tombstones still kept, so deletes after it
+ * may have been lost. The client has to sync again from a snapshot.
+ */
+public class CursorExpiredException extends RuntimeException {
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
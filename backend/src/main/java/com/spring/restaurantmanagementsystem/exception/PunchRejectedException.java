@@ -0,0 +1,20 @@
+package com.spring.restaurantmanagementsystem.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PunchRejectedException extends RuntimeException {
+    private final Reason reason;
+
+    public PunchRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public enum Reason {
+        NOT_STORE_MEMBER,
+        OUTSIDE_GEOFENCE,
+        OVERLOADED,
+        WRITE_FAILED
+    }
+}
@@ -0,0 +1,44 @@
+package com.spring.restaurantmanagementsystem.invalidation;
+
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.Store;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+
+import java.util.List;
+
+/**
+ * Evicts changed stores and roles from this node's second-level cache. Cached query results are
+ * checked against this node's own record of table writes, which changes on other nodes do not reach,
+ * so every batch also drops the query cache regions.
+ */
+public class HibernateCacheInvalidator implements InvalidationListener {
+
+    private final CacheImplementor cache;
+
+    public HibernateCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.cache = (CacheImplementor) entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @Override
+    public void invalidate(List<Invalidation> batch) {
+        for (Invalidation invalidation : batch) {
+            Class<?> entity = switch (invalidation.entityType()) {
+                case STORE -> Store.class;
+                case ROLE -> Role.class;
+                // Users are not in the second-level cache
+                case USER -> null;
+            };
+            if (entity == null) {
+                continue;
+            }
+            if (invalidation.isAll()) {
+                cache.evictEntityData(entity);
+            } else {
+                cache.evictEntityData(entity, invalidation.entityId());
+            }
+        }
+        cache.evictQueryRegions();
+    }
+}
@@ -0,0 +1,26 @@
+package com.spring.restaurantmanagementsystem.invalidation;
+
+import java.util.List;
+
+/**
+ * Delivers invalidations to this node only; enough while a single node serves the API.
+ */
+public class InProcessTransport implements InvalidationTransport {
+
+    private Receiver receiver;
+
+    @Override
+    public void start(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void send(List<Invalidation> batch) {
+        receiver.receive(batch, true);
+    }
+
+    @Override
+    public String getName() {
+        return "in-process";
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring.restaurantmanagementsystem.invalidation;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+
+/**
+ * Tells caches to drop what they hold about an entity.
+ *
+ * @param entityType The kind of entity.
+ * @param entityId   The entity, or {@code null} for every entity of the type.
+ */
+public record Invalidation(EntityType entityType, Long entityId) {
+
+    public static Invalidation all(EntityType entityType) {
+        return new Invalidation(entityType, null);
+    }
+
+    public boolean isAll() {
+        return entityId == null;
+    }
+}
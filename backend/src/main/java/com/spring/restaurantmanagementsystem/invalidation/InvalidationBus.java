@@ -0,0 +1,171 @@
+package com.spring.restaurantmanagementsystem.invalidation;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tells the in-process caches of every node about committed user, store and role changes.
+ * Invalidations are collected after each commit and sent in batches every {@code flushInterval} by a
+ * background thread, which also polls the transport for batches from other nodes. While collected,
+ * repeats of the same entity are sent once, and more than {@code maxIdsPerType} ids of one type
+ * become a single invalidation of the whole type.
+ */
+public class InvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final InvalidationTransport transport;
+    private final List<InvalidationListener> listeners;
+    private final Duration flushInterval;
+    private final int maxIdsPerType;
+    private final Counter sent;
+    private final Counter received;
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final ReentrantLock tickLock = new ReentrantLock();
+
+    // Guarded by pendingLock
+    private Set<Invalidation> pending = new LinkedHashSet<>();
+    private final Map<EntityType, Integer> pendingIds = new EnumMap<>(EntityType.class);
+
+    private ScheduledExecutorService busThread;
+
+    public InvalidationBus(InvalidationTransport transport, List<InvalidationListener> listeners,
+                           Duration flushInterval, int maxIdsPerType, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.listeners = listeners;
+        this.flushInterval = flushInterval;
+        this.maxIdsPerType = maxIdsPerType;
+        this.sent = meterRegistry.counter("app.invalidation.sent", "transport", transport.getName());
+        this.received = meterRegistry.counter("app.invalidation.received", "transport", transport.getName());
+        transport.start(this::deliver);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        publish(new Invalidation(event.entityType(), event.entityId()));
+    }
+
+    /**
+     * Queues an invalidation for the next batch. Call it only once the change is committed, or a node
+     * could reload the old state into its cache before the change is visible.
+     */
+    public void publish(Invalidation invalidation) {
+        pendingLock.lock();
+        try {
+            EntityType type = invalidation.entityType();
+            if (pending.contains(Invalidation.all(type))) {
+                return;
+            }
+            if (invalidation.isAll() || pendingIds.merge(type, 1, Integer::sum) > maxIdsPerType) {
+                pending.removeIf(queued -> queued.entityType() == type);
+                pendingIds.remove(type);
+                pending.add(Invalidation.all(type));
+            } else if (!pending.add(invalidation)) {
+                pendingIds.merge(type, -1, Integer::sum);
+            }
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * Sends the queued invalidations and applies those other nodes sent. Called on every tick of the bus thread.
+     */
+    public void flush() {
+        tickLock.lock();
+        try {
+            List<Invalidation> batch = drain();
+            if (!batch.isEmpty()) {
+                try {
+                    transport.send(batch);
+                    sent.increment(batch.size());
+                } catch (RuntimeException e) {
+                    // Sent again with the next batch; applying an invalidation twice is harmless
+                    batch.forEach(this::publish);
+                    throw e;
+                }
+            }
+            transport.poll();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    private List<Invalidation> drain() {
+        pendingLock.lock();
+        try {
+            List<Invalidation> batch = new ArrayList<>(pending);
+            pending = new LinkedHashSet<>();
+            pendingIds.clear();
+            return batch;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    private void deliver(List<Invalidation> batch, boolean fromThisNode) {
+        received.increment(batch.size());
+        for (InvalidationListener listener : listeners) {
+            if (fromThisNode && !listener.includesOwnChanges()) {
+                continue;
+            }
+            try {
+                listener.invalidate(batch);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        busThread = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("invalidation-bus").daemon().factory());
+        long intervalMs = flushInterval.toMillis();
+        busThread.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // An exception would cancel the schedule; the next tick tries again
+                log.error("Cache invalidation bus failed", e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Sending cache invalidations over the {} transport", transport.getName());
+    }
+
+    @Override
+    public void stop() {
+        if (busThread != null) {
+            busThread.shutdown();
+            try {
+                busThread.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            busThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return busThread != null;
+    }
+}
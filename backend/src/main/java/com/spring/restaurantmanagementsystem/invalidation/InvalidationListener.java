@@ -0,0 +1,41 @@
+package com.spring.restaurantmanagementsystem.invalidation;
+
+import java.util.List;
+
+/**
+ * A cache kept in this process, told about changes made on any node. Beans implementing it are
+ * registered with the {@link InvalidationBus}.
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+
+    /**
+     * Drops the cached data of the given entities. Called from the bus thread, once per batch.
+     */
+    void invalidate(List<Invalidation> batch);
+
+    /**
+     * @return Whether batches of this node's own changes are delivered too, not only those of other nodes.
+     */
+    default boolean includesOwnChanges() {
+        return true;
+    }
+
+    /**
+     * @param listener A listener that learns about this node's changes some other way.
+     * @return The listener, called for other nodes' batches only.
+     */
+    static InvalidationListener ofOtherNodes(InvalidationListener listener) {
+        return new InvalidationListener() {
+            @Override
+            public void invalidate(List<Invalidation> batch) {
+                listener.invalidate(batch);
+            }
+
+            @Override
+            public boolean includesOwnChanges() {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring.restaurantmanagementsystem.invalidation;
+
+import java.util.List;
+
+/**
+ * Carries invalidation batches from the node that made a change to every node, itself included.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Called once before any other method.
+     *
+     * @param receiver Applies a batch to this node's caches.
+     */
+    void start(Receiver receiver);
+
+    /**
+     * Delivers a batch to this node and hands it on to the others.
+     */
+    void send(List<Invalidation> batch);
+
+    /**
+     * Picks up batches sent by other nodes, for transports that have to ask for them. Called on every tick of the bus.
+     */
+    default void poll() {
+    }
+
+    String getName();
+
+    /** Applies batches to this node's caches, told whether each one holds this node's own changes. */
+    @FunctionalInterface
+    interface Receiver {
+        void receive(List<Invalidation> batch, boolean fromThisNode);
+    }
+}
@@ -0,0 +1,122 @@
+package com.spring.restaurantmanagementsystem.invalidation;
+
+import com.spring.restaurantmanagementsystem.model.CacheInvalidation;
+import com.spring.restaurantmanagementsystem.repository.CacheInvalidationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shares invalidations between nodes through the {@code cache_invalidations} table of the home database,
+ * so no broker is needed. Every node appends its batches and polls for rows past its cursor that other
+ * nodes wrote; a node starts at the end of the table, since its caches start empty.
+ *
+ * <p>As with the outbox, an id can commit after a higher one. The cursor stops at such a gap until the
+ * row after it is {@code gap-timeout} old, so rows are only skipped when their insert rolled back.
+ */
+public class TableTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(TableTransport.class);
+
+    private final CacheInvalidationRepository repository;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final Clock clock;
+
+    private Receiver receiver;
+    private long cursor = -1;
+    private Instant lastCleanup = Instant.EPOCH;
+
+    /**
+     * @param batchSize  Rows read per query.
+     * @param gapTimeout How long a missing id holds back the rows after it.
+     * @param retention  How long rows are kept for nodes that fell behind.
+     */
+    public TableTransport(CacheInvalidationRepository repository, int batchSize, Duration gapTimeout,
+                          Duration retention, Clock clock) {
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void send(List<Invalidation> batch) {
+        receiver.receive(batch, true);
+        Instant now = clock.instant();
+        repository.saveAll(batch.stream().map(invalidation -> {
+            CacheInvalidation row = new CacheInvalidation();
+            row.setEntityType(invalidation.entityType());
+            row.setEntityId(invalidation.entityId());
+            row.setOrigin(nodeId);
+            row.setCreatedAt(now);
+            return row;
+        }).toList());
+    }
+
+    @Override
+    public void poll() {
+        if (cursor < 0) {
+            cursor = repository.findMaxId();
+        }
+        while (true) {
+            List<CacheInvalidation> rows = upToGap(repository.findByIdGreaterThanOrderById(cursor, Limit.of(batchSize)));
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Invalidation> fromOthers = rows.stream()
+                    .filter(row -> !row.getOrigin().equals(nodeId))
+                    .map(row -> new Invalidation(row.getEntityType(), row.getEntityId()))
+                    .distinct()
+                    .toList();
+            if (!fromOthers.isEmpty()) {
+                receiver.receive(fromOthers, false);
+            }
+            cursor = rows.getLast().getId();
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+
+        Instant now = clock.instant();
+        if (now.isAfter(lastCleanup.plus(Duration.ofMinutes(1)))) {
+            lastCleanup = now;
+            int deleted = repository.deleteCreatedBefore(now.minus(retention));
+            if (deleted > 0) {
+                log.debug("Removed {} old cache invalidations", deleted);
+            }
+        }
+    }
+
+    private List<CacheInvalidation> upToGap(List<CacheInvalidation> rows) {
+        Instant settled = clock.instant().minus(gapTimeout);
+        long expected = cursor + 1;
+        for (int i = 0; i < rows.size(); i++) {
+            CacheInvalidation row = rows.get(i);
+            if (row.getId() != expected && row.getCreatedAt().isAfter(settled)) {
+                return rows.subList(0, i);
+            }
+            expected = row.getId() + 1;
+        }
+        return rows;
+    }
+
+    @Override
+    public String getName() {
+        return "table";
+    }
+}
@@ -0,0 +1,26 @@
+package com.spring.restaurantmanagementsystem.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Callers read the counter before and after a unit of work and record the difference,
+ * so nested measurements do not interfere and no reset is needed.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private final ThreadLocal<long[]> counter = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        counter.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return The number of statements prepared on the current thread so far.
+     */
+    public long currentCount() {
+        return counter.get()[0];
+    }
+}
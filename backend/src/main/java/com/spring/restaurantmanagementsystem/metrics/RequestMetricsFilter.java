@@ -0,0 +1,63 @@
+package com.spring.restaurantmanagementsystem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how many SQL statements each request issued, tagged with the matched URI pattern.
+ * Latency per endpoint is already recorded by Spring Boot as {@code http.server.requests}.
+ * Summaries are cached per pattern, so recording does not allocate once an endpoint has been seen.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MeterRegistry meterRegistry;
+    private final QueryCountInspector queryCountInspector;
+    private final ConcurrentMap<String, DistributionSummary> queryCounts = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, QueryCountInspector queryCountInspector) {
+        this.meterRegistry = meterRegistry;
+        this.queryCountInspector = queryCountInspector;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long before = queryCountInspector.currentCount();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern instanceof String matched ? matched : UNMATCHED;
+            summaryFor(uri).record(queryCountInspector.currentCount() - before);
+        }
+    }
+
+    private DistributionSummary summaryFor(String uri) {
+        DistributionSummary summary = queryCounts.get(uri);
+        if (summary == null) {
+            summary = queryCounts.computeIfAbsent(uri, key -> DistributionSummary.builder("app.http.request.queries")
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("uri", key)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return summary;
+    }
+}
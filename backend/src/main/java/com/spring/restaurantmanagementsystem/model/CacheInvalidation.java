@@ -0,0 +1,38 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A cache invalidation written by one application node for the others to pick up. Ids come from a
+ * sequence one at a time, so they order the rows across nodes.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at"))
+@Getter @Setter @NoArgsConstructor
+public class CacheInvalidation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cache_invalidation_seq")
+    @SequenceGenerator(name = "cache_invalidation_seq", sequenceName = "cache_invalidation_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 20, nullable = false)
+    private EntityType entityType;
+
+    // Null invalidates every entity of the type
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    // The node that wrote the row and already applied it
+    @Column(length = 36, nullable = false)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
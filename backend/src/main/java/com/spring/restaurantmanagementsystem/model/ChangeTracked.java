@@ -0,0 +1,13 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import java.time.Instant;
+
+/**
+ * An entity stamped with a number from the {@link CommitSequence#CHANGES} commit sequence whenever it
+ * changes, so clients can ask for the rows changed after a number they have seen.
+ */
+public interface ChangeTracked {
+    void setChangeSeq(Long changeSeq);
+
+    void setChangedAt(Instant changedAt);
+}
@@ -0,0 +1,27 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A counter whose numbers are drawn in commit order. A transaction locks the row just before it
+ * commits and keeps the lock until it has, so a higher number never becomes visible before a lower
+ * one, and a transaction that rolls back gives its numbers back. A transaction drawing from both
+ * takes {@link #CHANGES} before {@link #OUTBOX}, so two of them never wait for each other.
+ */
+@Entity
+@Table(name = "commit_sequences")
+@Getter @Setter @NoArgsConstructor
+public class CommitSequence {
+    public static final String OUTBOX = "outbox";
+    public static final String CHANGES = "changes";
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "last_number", nullable = false)
+    private Long lastNumber;
+}
@@ -0,0 +1,39 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A response kept for replay to retries carrying the same {@code Idempotency-Key}, when the
+ * idempotency store is persistent.
+ */
+@Entity
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at"))
+@Getter @Setter @NoArgsConstructor
+public class IdempotencyRecord {
+    public static final int MAX_BODY_BYTES = 1_000_000;
+
+    // SHA-256 of the caller and the key, so long keys fit
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(length = 64, nullable = false)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private int status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(length = MAX_BODY_BYTES)
+    private byte[] body;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,41 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A change to a user or store, written in the same transaction as the change itself and later
+ * relayed to downstream systems. The id orders the events of a database by commit; it is drawn from
+ * the outbox {@link CommitSequence} as the transaction commits.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter @Setter @NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 20, nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", length = 20, nullable = false)
+    private ChangeType changeType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    // The entity as JSON after the change, if there is one
+    @Column(length = 4000)
+    private String payload;
+}
@@ -0,0 +1,28 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * How far a consumer of the outbox has got in a database: every event up to {@code lastEventId}
+ * has been delivered to it.
+ */
+@Entity
+@Table(name = "outbox_offsets")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class OutboxOffset {
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
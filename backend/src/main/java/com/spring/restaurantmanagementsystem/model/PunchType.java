@@ -0,0 +1,6 @@
+package com.spring.restaurantmanagementsystem.model;
+
+public enum PunchType {
+    CLOCK_IN,
+    CLOCK_OUT
+}
@@ -1,11 +1,16 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ROLES_REGION)
 @Table(name = "roles")
 @Getter @Setter @NoArgsConstructor
 public class Role {
@@ -1,17 +1,23 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "stores")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.STORES_REGION)
+@Table(name = "stores", indexes = @Index(name = "idx_stores_change_seq", columnList = "change_seq"))
 @Getter @Setter @NoArgsConstructor
-public class Store {
+public class Store implements ChangeTracked {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -25,6 +31,13 @@ public class Store {
     @Column(nullable = false)
     private Double longitude;
 
+    // Stamped by ChangeTracker; null for rows not changed since change tracking was added
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @Column(name = "changed_at")
+    private Instant changedAt;
+
     @OneToMany(mappedBy = "store", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<User> users = new ArrayList<>();
 }
@@ -0,0 +1,48 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A clock-in or clock-out recorded by a staff member at a store.
+ * Rows are inserted in batches by the time-clock writer, so the id is assigned
+ * on ingestion instead of being generated by the database.
+ */
+@Entity
+@Table(name = "time_punches", indexes = {
+        @Index(name = "idx_time_punches_store_id", columnList = "store_id, punched_at"),
+        @Index(name = "idx_time_punches_user_id", columnList = "user_id")
+})
+@Getter @Setter @NoArgsConstructor
+public class TimePunch {
+    @Id
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "store_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Store store;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private PunchType type;
+
+    @Column(name = "punched_at", nullable = false)
+    private Instant punchedAt;
+
+    private Double latitude;
+
+    private Double longitude;
+}
@@ -0,0 +1,38 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Marks a deleted user or store for clients syncing changes. The id is drawn from the same commit
+ * sequence as the change numbers of live rows, so deletes and updates share one order. Tombstones
+ * are deleted after a retention period; see {@link TombstoneHorizon}.
+ */
+@Entity
+@Table(name = "change_tombstones", indexes = @Index(name = "idx_change_tombstones_deleted_at", columnList = "deleted_at"))
+@Getter @Setter @NoArgsConstructor
+public class Tombstone {
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 20, nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public Tombstone(EntityType entityType, Long entityId, Instant deletedAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.deletedAt = deletedAt;
+    }
+}
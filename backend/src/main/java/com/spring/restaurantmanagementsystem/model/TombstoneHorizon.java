@@ -0,0 +1,23 @@
+package com.spring.restaurantmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The highest tombstone id deleted by retention, in a single row per database. A client whose cursor
+ * is below it may have missed deletes and has to sync again from a snapshot.
+ */
+@Entity
+@Table(name = "change_tombstone_horizon")
+@Getter @Setter @NoArgsConstructor
+public class TombstoneHorizon {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "pruned_through", nullable = false)
+    private Long prunedThrough;
+}
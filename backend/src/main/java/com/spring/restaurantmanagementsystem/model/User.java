@@ -5,13 +5,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_users_store_id", columnList = "store_id, id")
+})
 @Getter @Setter @NoArgsConstructor
-public class User {
+public class User implements ChangeTracked {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,13 +32,25 @@ public class User {
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "user_roles",
     joinColumns = @JoinColumn(name = "user_id"),
-    inverseJoinColumns = @JoinColumn(name = "role_id"))
+    inverseJoinColumns = @JoinColumn(name = "role_id"),
+    indexes = {
+            @Index(name = "idx_user_roles_role_id", columnList = "role_id"),
+            // Loading a user's roles cannot use the (role_id, user_id) primary key
+            @Index(name = "idx_user_roles_user_id", columnList = "user_id, role_id")
+    })
     private Set<Role> roles = new HashSet<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "store_id")
     private Store store;
 
+    // Stamped by ChangeTracker; null for rows not changed since change tracking was added
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @Column(name = "changed_at")
+    private Instant changedAt;
+
     // Convenience method to get store ID without loading the full Store entity
     public Long getStoreId() {
         return store != null ? store.getId() : null;
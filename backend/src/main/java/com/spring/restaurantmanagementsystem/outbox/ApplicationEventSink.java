@@ -0,0 +1,28 @@
+package com.spring.restaurantmanagementsystem.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Delivers each event to in-process {@code @EventListener}s of {@link OutboxMessage}. A listener that
+ * throws makes the relay deliver the batch again, to every listener.
+ */
+public class ApplicationEventSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationEventSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return "in-process";
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
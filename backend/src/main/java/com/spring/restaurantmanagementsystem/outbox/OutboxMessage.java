@@ -0,0 +1,30 @@
+package com.spring.restaurantmanagementsystem.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.model.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * A change as delivered to the sinks. {@code shard} and {@code sequence} together identify it, so
+ * consumers can discard the duplicates that at-least-once delivery may produce.
+ *
+ * @param shard    The database the event was written to.
+ * @param sequence The event's position in that database's outbox.
+ * @param payload  The entity as JSON after the change, or {@code null}.
+ */
+public record OutboxMessage(int shard,
+                            long sequence,
+                            EntityType entityType,
+                            Long entityId,
+                            ChangeType changeType,
+                            Instant occurredAt,
+                            @JsonRawValue String payload) {
+
+    static OutboxMessage of(int shard, OutboxEvent event) {
+        return new OutboxMessage(shard, event.getId(), event.getEntityType(), event.getEntityId(),
+                event.getChangeType(), event.getOccurredAt(), event.getPayload());
+    }
+}
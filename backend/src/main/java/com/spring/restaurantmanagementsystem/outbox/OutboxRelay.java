@@ -0,0 +1,162 @@
+package com.spring.restaurantmanagementsystem.outbox;
+
+import com.spring.restaurantmanagementsystem.model.OutboxEvent;
+import com.spring.restaurantmanagementsystem.model.OutboxOffset;
+import com.spring.restaurantmanagementsystem.repository.OutboxEventRepository;
+import com.spring.restaurantmanagementsystem.repository.OutboxOffsetRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers the outbox of every shard to every sink from a single background thread. Each sink has
+ * its own offset per shard, stored next to the events, and only moves it on after a batch was
+ * delivered: delivery is at least once, and events reach a sink in the order of their ids, which
+ * is the commit order. Ids are drawn as their transaction commits, so no lower id can appear after a
+ * higher one has been read, and the offset can move past every event read.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final List<OutboxSink> sinks;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxOffsetRepository outboxOffsetRepository;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final Map<String, Counter> delivered;
+    private final Map<String, Counter> failures;
+
+    private ScheduledExecutorService relayThread;
+    private Instant lastCleanup = Instant.EPOCH;
+
+    public OutboxRelay(List<OutboxSink> sinks, OutboxEventRepository outboxEventRepository,
+                       OutboxOffsetRepository outboxOffsetRepository, ShardRouter shardRouter, int batchSize,
+                       Duration pollInterval, Duration retention, MeterRegistry meterRegistry) {
+        this.sinks = sinks;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxOffsetRepository = outboxOffsetRepository;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.delivered = sinks.stream().collect(Collectors.toMap(OutboxSink::getName,
+                sink -> Counter.builder("app.outbox.delivered").tag("sink", sink.getName())
+                        .description("Outbox events delivered").register(meterRegistry)));
+        this.failures = sinks.stream().collect(Collectors.toMap(OutboxSink::getName,
+                sink -> Counter.builder("app.outbox.failures").tag("sink", sink.getName())
+                        .description("Failed outbox deliveries, retried on the next poll").register(meterRegistry)));
+    }
+
+    /**
+     * Delivers everything that is ready to every sink, then removes events that every sink has received
+     * and that are older than the retention period. Called on every poll.
+     */
+    public void relayPending() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            for (OutboxSink sink : sinks) {
+                int finalShard = shard;
+                shardRouter.onShard(shard, () -> relay(finalShard, sink));
+            }
+        }
+        if (Instant.now().isAfter(lastCleanup.plus(Duration.ofMinutes(1)))) {
+            cleanUp();
+            lastCleanup = Instant.now();
+        }
+    }
+
+    // Delivers batches until the sink is caught up or a delivery fails
+    private int relay(int shard, OutboxSink sink) {
+        int total = 0;
+        while (true) {
+            long offset = outboxOffsetRepository.findById(sink.getName()).map(OutboxOffset::getLastEventId).orElse(0L);
+            List<OutboxEvent> ready = outboxEventRepository.findByIdGreaterThanOrderById(offset, Limit.of(batchSize));
+            if (ready.isEmpty()) {
+                return total;
+            }
+
+            try {
+                sink.publish(ready.stream().map(event -> OutboxMessage.of(shard, event)).toList());
+            } catch (Exception e) {
+                failures.get(sink.getName()).increment();
+                log.warn("Delivering {} outbox events of shard {} to {} failed, retrying later: {}",
+                        ready.size(), shard, sink.getName(), e.getMessage());
+                return total;
+            }
+            outboxOffsetRepository.save(new OutboxOffset(sink.getName(), ready.getLast().getId(), Instant.now()));
+            delivered.get(sink.getName()).increment(ready.size());
+            total += ready.size();
+
+            if (ready.size() < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private void cleanUp() {
+        Instant before = Instant.now().minus(retention);
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int deleted = shardRouter.onShard(shard, () -> {
+                List<OutboxOffset> offsets = outboxOffsetRepository.findAllById(
+                        sinks.stream().map(OutboxSink::getName).toList());
+                if (offsets.size() < sinks.size()) {
+                    return 0;
+                }
+                long deliveredToAll = offsets.stream().mapToLong(OutboxOffset::getLastEventId).min().orElse(0);
+                return outboxEventRepository.deleteDelivered(deliveredToAll, before);
+            });
+            if (deleted > 0) {
+                log.info("Removed {} delivered outbox events from shard {}", deleted, shard);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        relayThread = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("outbox-relay").daemon().factory());
+        long intervalMs = pollInterval.toMillis();
+        relayThread.scheduleWithFixedDelay(() -> {
+            try {
+                relayPending();
+            } catch (RuntimeException e) {
+                // An exception would cancel the schedule; the next poll tries again
+                log.error("Outbox relay failed", e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Relaying outbox events to {}", sinks.stream().map(OutboxSink::getName).toList());
+    }
+
+    @Override
+    public void stop() {
+        if (relayThread != null) {
+            relayThread.shutdown();
+            try {
+                relayThread.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            relayThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return relayThread != null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.restaurantmanagementsystem.outbox;
+
+import java.util.List;
+
+/**
+ * A destination for outbox events. The relay hands each sink the events of one database in order
+ * and only moves the sink's offset on once {@link #publish} has returned, so a sink that throws gets
+ * the same events again on the next attempt.
+ */
+public interface OutboxSink {
+
+    /**
+     * @return The consumer name the sink's offsets are stored under; changing it restarts delivery.
+     */
+    String getName();
+
+    /**
+     * Delivers a batch of events.
+     *
+     * @param messages The events, oldest first.
+     * @throws Exception if the batch could not be delivered and has to be retried.
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,102 @@
+package com.spring.restaurantmanagementsystem.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.model.CommitSequence;
+import com.spring.restaurantmanagementsystem.model.OutboxEvent;
+import com.spring.restaurantmanagementsystem.repository.CommitSequenceRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes every change to the outbox table inside the transaction making the change, so the event is
+ * stored if and only if the change is committed. The events of a transaction are written just before it
+ * commits, with ids from the {@link CommitSequence#OUTBOX} commit sequence: ids become visible in
+ * increasing order without gaps, so the relay never has to wait for a lower id.
+ */
+public class OutboxWriter {
+
+    private final CommitSequenceRepository commitSequenceRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(CommitSequenceRepository commitSequenceRepository, EntityManager entityManager,
+                        ObjectMapper objectMapper) {
+        this.commitSequenceRepository = commitSequenceRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Adds the change to the outbox. Fails, and so rolls the change back, when called outside a transaction.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onEntityChanged(EntityChangedEvent event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEntityType(event.entityType());
+        outboxEvent.setEntityId(event.entityId());
+        outboxEvent.setChangeType(event.changeType());
+        outboxEvent.setOccurredAt(Instant.now());
+        outboxEvent.setPayload(toJson(event.snapshot()));
+        pendingEvents().add(outboxEvent);
+    }
+
+    // The events of the current transaction, written once it is about to commit
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> pendingEvents() {
+        List<OutboxEvent> pending = (List<OutboxEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<OutboxEvent> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(events);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(OutboxWriter.this);
+            }
+        });
+        return events;
+    }
+
+    private void write(List<OutboxEvent> events) {
+        // Lock the changed rows first: once the sequence is locked, the transaction waits for nobody
+        entityManager.flush();
+        CommitSequence sequence = commitSequenceRepository.lockByName(CommitSequence.OUTBOX)
+                .orElseThrow(() -> new IllegalStateException("Commit sequence " + CommitSequence.OUTBOX + " is missing"));
+        long id = sequence.getLastNumber();
+        for (OutboxEvent event : events) {
+            event.setId(++id);
+            entityManager.persist(event);
+        }
+        sequence.setLastNumber(id);
+    }
+
+    private String toJson(Object snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + snapshot, e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.model.CacheInvalidation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    List<CacheInvalidation> findByIdGreaterThanOrderById(Long id, Limit limit);
+
+    @Query("select coalesce(max(c.id), 0) from CacheInvalidation c")
+    long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from CacheInvalidation c where c.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
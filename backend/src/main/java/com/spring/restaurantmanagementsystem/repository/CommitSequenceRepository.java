@@ -0,0 +1,19 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.model.CommitSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CommitSequenceRepository extends JpaRepository<CommitSequence, String> {
+    // The lock is held until the transaction ends, so the next one to draw waits for this one to commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from CommitSequence s where s.name = :name")
+    Optional<CommitSequence> lockByName(@Param("name") String name);
+}
@@ -0,0 +1,23 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByIdGreaterThanOrderById(Long id, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id <= :lastEventId and e.occurredAt < :before")
+    int deleteDelivered(@Param("lastEventId") Long lastEventId, @Param("before") Instant before);
+}
@@ -0,0 +1,21 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.model.Shift;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ShiftRepository extends JpaRepository<Shift, Long> {
+    @Query("select s from Shift s join fetch s.user left join fetch s.store where s.user.id = :userId order by s.start")
+    List<Shift> findByUserIdWithDetails(@Param("userId") Long userId);
+
+    @Query("select s from Shift s join fetch s.user left join fetch s.store where s.store.id = :storeId order by s.start")
+    List<Shift> findByStoreIdWithDetails(@Param("storeId") Long storeId);
+
+    @Query("select s from Shift s join fetch s.user left join fetch s.store order by s.start")
+    List<Shift> findAllWithDetails();
+}
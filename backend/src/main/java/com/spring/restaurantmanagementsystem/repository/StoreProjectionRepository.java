@@ -0,0 +1,18 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.dto.StoreField;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface StoreProjectionRepository {
+
+    /**
+     * Reads only the columns behind the requested fields, ordered by id.
+     *
+     * @param fields The fields to read.
+     * @return One map per store, from JSON field name to value, in the order of {@link StoreField}.
+     */
+    List<Map<String, Object>> findFields(Set<StoreField> fields);
+}
@@ -0,0 +1,38 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.dto.StoreField;
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class StoreProjectionRepositoryImpl implements StoreProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    StoreProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Set<StoreField> fields) {
+        // Every StoreField is a plain column named like its JSON field, and the id is always included
+        List<StoreField> selected = List.copyOf(fields);
+        String jpql = "select " + String.join(", ", selected.stream().map(field -> "s." + field.jsonName()).toList())
+                + " from Store s order by s.id";
+        List<Object[]> rows = entityManager.createQuery(jpql, Object[].class).getResultList();
+
+        List<Map<String, Object>> stores = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> store = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                store.put(selected.get(i).jsonName(), row[i]);
+            }
+            stores.add(store);
+        }
+        return stores;
+    }
+}
@@ -1,9 +1,26 @@
 package com.spring.restaurantmanagementsystem.repository;
 
+import com.spring.restaurantmanagementsystem.config.HibernateCacheConfig;
 import com.spring.restaurantmanagementsystem.model.Store;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface StoreRepository extends JpaRepository<Store, Long> {
+public interface StoreRepository extends JpaRepository<Store, Long>, StoreProjectionRepository {
+
+    // The store list is cached; any write to the stores table invalidates it
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REFERENCE_QUERIES_REGION)
+    })
+    List<Store> findAll();
+
+    List<Store> findByChangeSeqGreaterThanOrderByChangeSeq(Long since, Limit limit);
 }
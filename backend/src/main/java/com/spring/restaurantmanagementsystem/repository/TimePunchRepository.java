@@ -0,0 +1,20 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.model.TimePunch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TimePunchRepository extends JpaRepository<TimePunch, UUID> {
+    @Query("select p from TimePunch p join fetch p.user where p.store.id = :storeId " +
+            "and p.punchedAt >= :from and p.punchedAt < :to order by p.punchedAt")
+    List<TimePunch> findByStoreIdBetween(@Param("storeId") Long storeId,
+                                         @Param("from") Instant from,
+                                         @Param("to") Instant to);
+}
@@ -0,0 +1,19 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.model.TombstoneHorizon;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TombstoneHorizonRepository extends JpaRepository<TombstoneHorizon, Integer> {
+    // Held until the pruning transaction ends, so concurrent prunes of the same tombstones run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from TombstoneHorizon h where h.id = :id")
+    Optional<TombstoneHorizon> lockById(@Param("id") Integer id);
+}
@@ -0,0 +1,23 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.model.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    List<Tombstone> findByIdGreaterThanOrderById(Long since, Limit limit);
+
+    @Query("select max(t.id) from Tombstone t where t.deletedAt < :before")
+    Long findMaxIdDeletedBefore(Instant before);
+
+    @Modifying
+    @Query("delete from Tombstone t where t.id <= :through")
+    int deleteThrough(Long through);
+}
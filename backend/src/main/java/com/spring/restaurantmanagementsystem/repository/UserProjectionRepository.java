@@ -0,0 +1,22 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.dto.UserField;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface UserProjectionRepository {
+
+    /**
+     * Reads only the columns behind the requested fields, ordered by id. The store is joined only
+     * when {@link UserField#STORE} is requested, and roles are read by a second query for the returned users.
+     *
+     * @param fields  The fields to read.
+     * @param storeId Only users of this store, or {@code null} for all users.
+     * @param pageable The rows to return; page by id with an unsorted request.
+     * @return One map per user, from JSON field name to value, in the order of {@link UserField}.
+     */
+    List<Map<String, Object>> findFields(Set<UserField> fields, Long storeId, Pageable pageable);
+}
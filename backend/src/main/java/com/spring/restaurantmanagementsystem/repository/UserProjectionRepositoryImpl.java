@@ -0,0 +1,112 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UserField;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    // Keeps the id list of each role query well below the bind parameter limits of the databases
+    private static final int ROLE_QUERY_CHUNK = 1000;
+
+    private final EntityManager entityManager;
+
+    UserProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Set<UserField> fields, Long storeId, Pageable pageable) {
+        // The query is built from fixed column names only; nothing from the request ends up in it
+        List<String> columns = new ArrayList<>(List.of("u.id"));
+        if (fields.contains(UserField.USERNAME)) {
+            columns.add("u.username");
+        }
+        if (fields.contains(UserField.EMAIL)) {
+            columns.add("u.email");
+        }
+        if (fields.contains(UserField.STORE)) {
+            columns.addAll(List.of("s.id", "s.name", "s.latitude", "s.longitude"));
+        } else if (fields.contains(UserField.STORE_ID)) {
+            columns.add("u.store.id");
+        }
+        String jpql = "select " + String.join(", ", columns) + " from User u"
+                + (fields.contains(UserField.STORE) ? " left join u.store s" : "")
+                + (storeId != null ? " where u.store.id = :storeId" : "")
+                + " order by u.id";
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class);
+        if (storeId != null) {
+            query.setParameter("storeId", storeId);
+        }
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Object[]> rows = query.getResultList();
+
+        Map<Long, Set<String>> roles = fields.contains(UserField.ROLES) ? findRoles(rows) : Map.of();
+        List<Map<String, Object>> users = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            users.add(toMap(fields, row, roles));
+        }
+        return users;
+    }
+
+    private Map<Long, Set<String>> findRoles(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, Set<String>> roles = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ROLE_QUERY_CHUNK) {
+            entityManager.createQuery("select u.id, r.name from User u join u.roles r where u.id in :ids", Object[].class)
+                    .setParameter("ids", ids.subList(from, Math.min(from + ROLE_QUERY_CHUNK, ids.size())))
+                    .getResultList()
+                    .forEach(row -> roles.computeIfAbsent((Long) row[0], id -> new HashSet<>())
+                            .add(((RoleEnum) row[1]).name()));
+        }
+        return roles;
+    }
+
+    // Values come in the order of the select list built above, which follows the order of UserField
+    private static Map<String, Object> toMap(Set<UserField> fields, Object[] row, Map<Long, Set<String>> roles) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        int column = 0;
+        Long id = (Long) row[column++];
+        user.put(UserField.ID.jsonName(), id);
+        if (fields.contains(UserField.USERNAME)) {
+            user.put(UserField.USERNAME.jsonName(), row[column++]);
+        }
+        if (fields.contains(UserField.EMAIL)) {
+            user.put(UserField.EMAIL.jsonName(), row[column++]);
+        }
+        if (fields.contains(UserField.ROLES)) {
+            user.put(UserField.ROLES.jsonName(), roles.getOrDefault(id, Set.of()));
+        }
+        if (fields.contains(UserField.STORE)) {
+            Long storeId = (Long) row[column];
+            StoreDto store = storeId == null ? null : new StoreDto(storeId, (String) row[column + 1],
+                    (Double) row[column + 2], (Double) row[column + 3]);
+            user.put(UserField.STORE.jsonName(), store);
+            column += 4;
+            if (fields.contains(UserField.STORE_ID)) {
+                user.put(UserField.STORE_ID.jsonName(), storeId);
+            }
+        } else if (fields.contains(UserField.STORE_ID)) {
+            user.put(UserField.STORE_ID.jsonName(), row[column]);
+        }
+        return user;
+    }
+}
@@ -1,19 +1,56 @@
 package com.spring.restaurantmanagementsystem.repository;
 
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
 import com.spring.restaurantmanagementsystem.model.Store;
 import com.spring.restaurantmanagementsystem.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserProjectionRepository {
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
     Boolean existsByUsernameAndIdNot(String username, Long id);
     Boolean existsByEmailAndIdNot(String email, Long id);
+    Boolean existsByRolesName(RoleEnum name);
+
+    // Staff lists map roles and store of every user; fetch them in the same query instead of one per user
+    @Override
+    @EntityGraph(attributePaths = {"roles", "store"})
+    List<User> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"roles", "store"})
+    List<User> findAll(Sort sort);
+
+    // Paging an entity graph with a collection would page in memory; page the ids, then fetch their users
+    @Query("select u.id from User u order by u.id")
+    List<Long> findIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"roles", "store"})
+    List<User> findByIdInOrderById(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"roles", "store"})
     List<User> findByStore(Store store);
+
+    // Ids first, for the same reason as findIds
+    @Query("select u.id from User u where u.changeSeq > :since order by u.changeSeq")
+    List<Long> findIdsChangedSince(Long since, Limit limit);
+
+    // Keyset pages of id and store id for the staff directory; the store id is read from the foreign key
+    @Query("select u.id, u.store.id from User u where u.id > :after order by u.id")
+    List<Object[]> findStaffAfter(Long after, Limit limit);
+
+    @Query("select u.id, r.name from User u join u.roles r where u.id > :after and u.id <= :last")
+    List<Object[]> findRoleNamesBetween(Long after, Long last);
 }
@@ -0,0 +1,240 @@
+package com.spring.restaurantmanagementsystem.schema;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Checks once the application has started that every database has the indexes its lookups rely on:
+ * the indexes the entities declare in {@code @Table} and {@code @JoinTable}, a unique index for every
+ * unique column, and an index leading with the columns of every foreign key. Hibernate's schema
+ * validation ignores indexes, so a skipped migration or an index dropped by hand would otherwise only
+ * show up as slow queries.
+ *
+ * <p>An existing index satisfies a requirement when its leading columns are the required ones, in order.
+ */
+public class IndexCheck implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexCheck.class);
+
+    private final List<DataSource> databases;
+    private final Set<String> tables;
+    private final List<RequiredIndex> required;
+    private final boolean failOnMissing;
+
+    /**
+     * @param databases      The databases to check, e.g. one per shard.
+     * @param entityClasses  The mapped entities, whose annotations declare the required indexes.
+     * @param failOnMissing  Whether a missing index fails startup instead of being logged.
+     */
+    public IndexCheck(List<DataSource> databases, Collection<Class<?>> entityClasses, boolean failOnMissing) {
+        this.databases = List.copyOf(databases);
+        this.tables = tableNames(entityClasses);
+        this.required = requiredIndexes(entityClasses);
+        this.failOnMissing = failOnMissing;
+    }
+
+    /** An index a table needs, and why. */
+    public record RequiredIndex(String table, List<String> columns, boolean unique, String reason) {
+
+        @Override
+        public String toString() {
+            return table + " (" + String.join(", ", columns) + ")" + (unique ? " unique" : "") + " for " + reason;
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> missing = findMissing();
+        if (missing.isEmpty()) {
+            log.info("All {} declared indexes and every foreign key index found on {} database(s)",
+                    required.size(), databases.size());
+            return;
+        }
+        String message = "Missing indexes: " + String.join("; ", missing);
+        if (failOnMissing) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * @return One line per missing index, naming the database when there are several.
+     */
+    public List<String> findMissing() {
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < databases.size(); i++) {
+            String prefix = databases.size() > 1 ? "shard " + i + ": " : "";
+            try (Connection connection = databases.get(i).getConnection()) {
+                for (RequiredIndex index : findMissing(connection)) {
+                    missing.add(prefix + index);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not read the indexes of " + (prefix.isEmpty()
+                        ? "the database" : "shard " + i), e);
+            }
+        }
+        return missing;
+    }
+
+    private List<RequiredIndex> findMissing(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        List<RequiredIndex> missing = new ArrayList<>();
+        for (String table : tables) {
+            String stored = storedName(metaData, table);
+            List<ExistingIndex> existing = existingIndexes(connection, metaData, stored);
+            List<RequiredIndex> needed = new ArrayList<>(required.stream()
+                    .filter(index -> index.table().equals(table)).toList());
+            needed.addAll(foreignKeyIndexes(connection, metaData, table, stored));
+            for (RequiredIndex index : needed) {
+                if (existing.stream().noneMatch(candidate -> candidate.satisfies(index))) {
+                    missing.add(index);
+                }
+            }
+        }
+        return missing;
+    }
+
+    private record ExistingIndex(boolean unique, List<String> columns) {
+
+        private boolean satisfies(RequiredIndex index) {
+            if (index.unique()) {
+                return unique && columns.equals(index.columns());
+            }
+            return columns.size() >= index.columns().size()
+                    && columns.subList(0, index.columns().size()).equals(index.columns());
+        }
+    }
+
+    private static List<ExistingIndex> existingIndexes(Connection connection, DatabaseMetaData metaData,
+                                                       String table) throws SQLException {
+        Map<String, Boolean> unique = new LinkedHashMap<>();
+        Map<String, TreeMap<Short, String>> columns = new LinkedHashMap<>();
+        try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table,
+                false, true)) {
+            while (rows.next()) {
+                String name = rows.getString("INDEX_NAME");
+                String column = rows.getString("COLUMN_NAME");
+                if (name == null || column == null) {
+                    continue;
+                }
+                unique.put(name, !rows.getBoolean("NON_UNIQUE"));
+                columns.computeIfAbsent(name, key -> new TreeMap<>())
+                        .put(rows.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns.entrySet().stream()
+                .map(entry -> new ExistingIndex(unique.get(entry.getKey()), List.copyOf(entry.getValue().values())))
+                .toList();
+    }
+
+    private static List<RequiredIndex> foreignKeyIndexes(Connection connection, DatabaseMetaData metaData,
+                                                         String table, String stored) throws SQLException {
+        Map<String, TreeMap<Short, String>> keys = new LinkedHashMap<>();
+        Map<String, String> referenced = new LinkedHashMap<>();
+        try (ResultSet rows = metaData.getImportedKeys(connection.getCatalog(), connection.getSchema(), stored)) {
+            while (rows.next()) {
+                String name = rows.getString("FK_NAME");
+                keys.computeIfAbsent(name, key -> new TreeMap<>())
+                        .put(rows.getShort("KEY_SEQ"), rows.getString("FKCOLUMN_NAME").toLowerCase(Locale.ROOT));
+                referenced.put(name, rows.getString("PKTABLE_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return keys.entrySet().stream()
+                .map(entry -> new RequiredIndex(table, List.copyOf(entry.getValue().values()), false,
+                        "the foreign key to " + referenced.get(entry.getKey())))
+                .toList();
+    }
+
+    // Unquoted names are stored upper-case by H2 and lower-case by PostgreSQL
+    private static String storedName(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        return metaData.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+    }
+
+    private static Set<String> tableNames(Collection<Class<?>> entityClasses) {
+        Set<String> tables = new LinkedHashSet<>();
+        for (Class<?> entityClass : entityClasses) {
+            Table table = entityClass.getAnnotation(Table.class);
+            if (table == null || table.name().isEmpty()) {
+                continue;
+            }
+            tables.add(table.name());
+            for (Field field : entityClass.getDeclaredFields()) {
+                JoinTable joinTable = field.getAnnotation(JoinTable.class);
+                if (joinTable != null) {
+                    tables.add(joinTable.name());
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static List<RequiredIndex> requiredIndexes(Collection<Class<?>> entityClasses) {
+        List<RequiredIndex> required = new ArrayList<>();
+        for (Class<?> entityClass : entityClasses) {
+            Table table = entityClass.getAnnotation(Table.class);
+            if (table == null || table.name().isEmpty()) {
+                continue;
+            }
+            addDeclared(required, table.name(), table.indexes(), table.uniqueConstraints());
+            for (Field field : entityClass.getDeclaredFields()) {
+                Column column = field.getAnnotation(Column.class);
+                if (column != null && column.unique()) {
+                    String name = column.name().isEmpty() ? columnName(field.getName()) : column.name();
+                    required.add(new RequiredIndex(table.name(), List.of(name), true, "unique " + name));
+                }
+                JoinTable joinTable = field.getAnnotation(JoinTable.class);
+                if (joinTable != null) {
+                    addDeclared(required, joinTable.name(), joinTable.indexes(), joinTable.uniqueConstraints());
+                }
+            }
+        }
+        return List.copyOf(required);
+    }
+
+    private static void addDeclared(List<RequiredIndex> required, String table, Index[] indexes,
+                                    UniqueConstraint[] uniqueConstraints) {
+        for (Index index : indexes) {
+            List<String> columns = Arrays.stream(index.columnList().split(","))
+                    .map(column -> column.trim().split("\\s+")[0].toLowerCase(Locale.ROOT))
+                    .toList();
+            required.add(new RequiredIndex(table, columns, index.unique(), index.name()));
+        }
+        for (UniqueConstraint constraint : uniqueConstraints) {
+            List<String> columns = Arrays.stream(constraint.columnNames())
+                    .map(column -> column.toLowerCase(Locale.ROOT))
+                    .toList();
+            required.add(new RequiredIndex(table, columns, true, "unique " + String.join(", ", columns)));
+        }
+    }
+
+    // The column name Spring Boot's default naming strategy derives from a field name
+    private static String columnName(String fieldName) {
+        return fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,25 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal that also carries the user's id and store id, so endpoints acting on the caller's own
+ * records do not need another lookup by username.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+    private final Long id;
+    // Null for users without a store
+    private final Long storeId;
+
+    public AuthenticatedUser(Long id, Long storeId, String username, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+        this.storeId = storeId;
+    }
+}
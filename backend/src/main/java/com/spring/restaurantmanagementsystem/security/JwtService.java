@@ -4,7 +4,10 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +18,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Getter
@@ -27,6 +31,22 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    @Getter(AccessLevel.NONE)
+    private final Timer verifyTimer;
+    @Getter(AccessLevel.NONE)
+    private final Timer signTimer;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.verifyTimer = Timer.builder("app.jwt.verify")
+                .description("JWT signature verification and parsing time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.signTimer = Timer.builder("app.jwt.sign")
+                .description("JWT signing time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -50,11 +70,16 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        long start = System.nanoTime();
+        try {
+            return Jwts.parser()
+                    .verifyWith((SecretKey) getSignInKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     private Key getSignInKey() {
@@ -63,13 +88,18 @@ public class JwtService {
     }
 
     public String generateToken(String username) {
-        Map<String, Object> claims = new HashMap<>();
-        return Jwts.builder()
-                .claims(claims)
-                .subject(username)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
-                .compact();
+        long start = System.nanoTime();
+        try {
+            Map<String, Object> claims = new HashMap<>();
+            return Jwts.builder()
+                    .claims(claims)
+                    .subject(username)
+                    .issuedAt(new Date(System.currentTimeMillis()))
+                    .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                    .signWith(getSignInKey())
+                    .compact();
+        } finally {
+            signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
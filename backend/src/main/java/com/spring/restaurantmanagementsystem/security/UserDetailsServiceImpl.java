@@ -2,32 +2,39 @@ package com.spring.restaurantmanagementsystem.security;
 
 import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @Primary
 public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, ShardRouter shardRouter) {
         this.userRepository = userRepository;
+        this.shardRouter = shardRouter;
     }
 
+    // Roles are fetched eagerly with the user, so the lookup needs no surrounding transaction
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername (String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = shardRouter.onEveryShard(() -> userRepository.findByUsername(username)).stream()
+                .flatMap(Optional::stream)
+                .findFirst()
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getStore() != null ? user.getStore().getId() : null,
                 user.getUsername(),
                 user.getPassword(),
                 user.getRoles().stream()
@@ -5,6 +5,11 @@ import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.StoreDto;
 import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.dto.UserField;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.exception.CrossShardMoveException;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Role;
 import com.spring.restaurantmanagementsystem.model.RoleEnum;
@@ -13,38 +18,103 @@ import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.RoleRepository;
 import com.spring.restaurantmanagementsystem.repository.StoreRepository;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.OnShard;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import static java.util.stream.Collectors.toSet;
 
 @Service
 public class AdminService {
+    private static final Comparator<User> BY_ID = Comparator.comparing(User::getId);
+    private static final Comparator<Map<String, Object>> BY_ROW_ID =
+            Comparator.comparing(row -> (Long) row.get(UserField.ID.jsonName()));
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final StoreRepository storeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminService(UserRepository userRepository, RoleRepository roleRepository,
-                       StoreRepository storeRepository, PasswordEncoder passwordEncoder) {
+                       StoreRepository storeRepository, PasswordEncoder passwordEncoder, ShardRouter shardRouter,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.storeRepository = storeRepository;
         this.passwordEncoder = passwordEncoder;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Transactional(readOnly = true)
+    // Users of all shards, each shard's list fetched in parallel with its roles and store and merged by id
     public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
+        List<List<User>> shards = shardRouter.onEveryShard(() -> userRepository.findAll(Sort.by("id")));
+        return ShardRouter.mergeSorted(shards, BY_ID).stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    /**
+     * Returns one page of all users ordered by id.
+     * With several shards, every shard returns its first {@code (page + 1) * size} users, so deep pages
+     * cost more than early ones; a single database pages in the query.
+     *
+     * @param page Zero-based page number.
+     * @param size Users per page.
+     * @return The users of the page.
+     */
+    public List<UserDto> getUsers(int page, int size) {
+        PageRequest rows = rowsUpTo(page, size);
+        List<List<User>> shards = shardRouter.onEveryShard(
+                () -> userRepository.findByIdInOrderById(userRepository.findIds(rows)));
+        return ShardRouter.mergeSorted(shards, BY_ID, (long) page * size - rows.getOffset(), size).stream()
                 .map(this::convertToDto)
                 .toList();
     }
 
+    /**
+     * Returns only the requested fields of users ordered by id. Only the columns behind those fields
+     * are read, without loading the entities; roles and the store are read only when asked for.
+     *
+     * @param fields The fields to return, including the id.
+     * @param page   Zero-based page number, ignored without a size.
+     * @param size   Users per page, or {@code null} for all users.
+     * @return One map per user, from JSON field name to value.
+     */
+    public List<Map<String, Object>> getUserFields(Set<UserField> fields, int page, Integer size) {
+        if (size == null) {
+            return ShardRouter.mergeSorted(shardRouter.onEveryShard(
+                    () -> userRepository.findFields(fields, null, Pageable.unpaged())), BY_ROW_ID);
+        }
+        PageRequest rows = rowsUpTo(page, size);
+        List<List<Map<String, Object>>> shards = shardRouter.onEveryShard(
+                () -> userRepository.findFields(fields, null, rows));
+        return ShardRouter.mergeSorted(shards, BY_ROW_ID, (long) page * size - rows.getOffset(), size);
+    }
+
+    // A single database returns the page itself; shards each return every row up to its end for the merge to skip
+    private PageRequest rowsUpTo(int page, int size) {
+        return shardRouter.getShardCount() == 1
+                ? PageRequest.of(page, size)
+                : PageRequest.of(0, Math.multiplyExact(page + 1, size));
+    }
+
+    // A user is created on the shard of their store
     @Transactional
+    @OnShard("#request.storeId()")
     public UserDto createUser(CreateUserRequest request) {
         if (request instanceof CreateUserRequest(var username, var email, var password, var role, var storeId)) {
             validateUniqueUserData(username, email, null);
@@ -63,12 +133,15 @@ public class AdminService {
             }
 
             User savedUser = userRepository.save(user);
-            return convertToDto(savedUser);
+            UserDto userDto = convertToDto(savedUser);
+            publishChange(ChangeType.CREATED, savedUser.getId(), userDto);
+            return userDto;
         }
         throw new IllegalArgumentException("Invalid request format");
     }
 
     @Transactional
+    @OnShard("#userId")
     public UserDto updateUser(Long userId, UpdateUserRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
@@ -97,6 +170,13 @@ public class AdminService {
                     // If storeId is 0, remove store assignment
                     user.setStore(null);
                 } else {
+                    // Users without a store live on the home shard, so they can only join its stores
+                    if (shardRouter.shardOf(storeId) != shardRouter.shardOf(userId)) {
+                        throw new CrossShardMoveException("Store " + storeId + " is on shard "
+                                + shardRouter.shardOf(storeId) + " and user " + userId + " on shard "
+                                + shardRouter.shardOf(userId) + "; staff cannot be moved across shards."
+                                + " Create the user again at the new store instead.");
+                    }
                     Store store = storeRepository.findById(storeId)
                             .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + storeId));
                     user.setStore(store);
@@ -105,18 +185,23 @@ public class AdminService {
         }
 
         User updatedUser = userRepository.save(user);
-        return convertToDto(updatedUser);
+        UserDto userDto = convertToDto(updatedUser);
+        publishChange(ChangeType.UPDATED, userId, userDto);
+        return userDto;
     }
 
     @Transactional
+    @OnShard("#userId")
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
         userRepository.deleteById(userId);
+        publishChange(ChangeType.DELETED, userId, null);
     }
 
     @Transactional
+    @OnShard("#userId")
     public void changeUserPassword(Long userId, ChangePasswordRequest request) {
         // Validate password confirmation
         if (!request.isNewPasswordConfirmed()) {
@@ -133,13 +218,15 @@ public class AdminService {
         // Update password
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        publishChange(ChangeType.PASSWORD_CHANGED, userId, null);
     }
 
+    // Usernames and emails are unique across shards, so every shard is checked
     private void validateUniqueUserData(String username, String email, Long excludeUserId) {
         if (username != null) {
-            boolean usernameExists = excludeUserId != null
+            boolean usernameExists = shardRouter.onEveryShard(() -> excludeUserId != null
                     ? userRepository.existsByUsernameAndIdNot(username, excludeUserId)
-                    : userRepository.existsByUsername(username);
+                    : userRepository.existsByUsername(username)).contains(true);
 
             if (usernameExists) {
                 throw new IllegalArgumentException("Error: Username is already taken!");
@@ -147,9 +234,9 @@ public class AdminService {
         }
 
         if (email != null) {
-            boolean emailExists = excludeUserId != null
+            boolean emailExists = shardRouter.onEveryShard(() -> excludeUserId != null
                     ? userRepository.existsByEmailAndIdNot(email, excludeUserId)
-                    : userRepository.existsByEmail(email);
+                    : userRepository.existsByEmail(email)).contains(true);
 
             if (emailExists) {
                 throw new IllegalArgumentException("Error: Email is already in use!");
@@ -157,6 +244,10 @@ public class AdminService {
         }
     }
 
+    private void publishChange(ChangeType changeType, Long userId, UserDto snapshot) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.USER, changeType, userId, snapshot));
+    }
+
     private Role getRoleByName(String roleName) {
         RoleEnum roleEnum = RoleEnum.valueOf(roleName.toUpperCase());
         return roleRepository.findByName(roleEnum)
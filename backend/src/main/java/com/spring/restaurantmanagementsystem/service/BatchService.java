@@ -0,0 +1,250 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.restaurantmanagementsystem.dto.BatchOperation;
+import com.spring.restaurantmanagementsystem.dto.BatchResponse;
+import com.spring.restaurantmanagementsystem.dto.BatchResult;
+import com.spring.restaurantmanagementsystem.dto.ChangePasswordRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.UpdateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
+import com.spring.restaurantmanagementsystem.exception.CrossShardMoveException;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs several admin operations from one request. Each operation names an existing endpoint by method
+ * and path and is dispatched to the same service call that endpoint makes, with the same validation,
+ * so its result matches what the endpoint would have answered.
+ *
+ * <p>Atomic batches run in one transaction, and the first failure rolls all of them back. This saves the
+ * commits, not statements: each operation still sends its own, since users and stores get identity ids
+ * and the uniqueness checks flush what came before. Otherwise every operation commits on its own and a
+ * failure does not stop the ones after it.
+ */
+@Service
+public class BatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchService.class);
+    private static final String REF = "$ref";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Route> routes;
+
+    public BatchService(AdminService adminService, StoreService storeService, ObjectMapper objectMapper,
+                        Validator validator, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.routes = List.of(
+                new Route(HttpMethod.POST, "/api/admin/users", HttpStatus.CREATED,
+                        (id, body) -> adminService.createUser(read(body, CreateUserRequest.class))),
+                new Route(HttpMethod.PUT, "/api/admin/users/{id}", HttpStatus.OK,
+                        (id, body) -> adminService.updateUser(id, read(body, UpdateUserRequest.class))),
+                new Route(HttpMethod.DELETE, "/api/admin/users/{id}", HttpStatus.NO_CONTENT, (id, body) -> {
+                    adminService.deleteUser(id);
+                    return null;
+                }),
+                new Route(HttpMethod.PUT, "/api/admin/users/{id}/password", HttpStatus.OK, (id, body) -> {
+                    adminService.changeUserPassword(id, read(body, ChangePasswordRequest.class));
+                    return Map.of("message", "Password updated successfully");
+                }),
+                new Route(HttpMethod.POST, "/api/admin/stores", HttpStatus.CREATED,
+                        (id, body) -> storeService.createStore(read(body, CreateStoreRequest.class))),
+                new Route(HttpMethod.PUT, "/api/admin/stores/{id}", HttpStatus.OK,
+                        (id, body) -> storeService.updateStore(id, read(body, UpdateStoreRequest.class))),
+                new Route(HttpMethod.DELETE, "/api/admin/stores/{id}", HttpStatus.OK, (id, body) -> {
+                    storeService.deleteStore(id);
+                    return Map.of("message", "Store deleted successfully");
+                }));
+    }
+
+    /**
+     * Runs the operations in order.
+     *
+     * @param operations The operations.
+     * @param atomic     Whether to run them in one transaction and roll all of them back on the first failure.
+     *                   Only possible with a single shard, since a transaction cannot span databases.
+     * @return The result of each operation that ran.
+     */
+    public BatchResponse execute(List<BatchOperation> operations, boolean atomic) {
+        if (!atomic) {
+            List<BatchResult> results = new ArrayList<>(operations.size());
+            for (BatchOperation operation : operations) {
+                results.add(run(operation, results));
+            }
+            return new BatchResponse(results.stream().allMatch(BatchService::isSuccess), results);
+        }
+
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        Boolean committed = transactionTemplate.execute(transaction -> {
+            for (BatchOperation operation : operations) {
+                BatchResult result = run(operation, results);
+                results.add(result);
+                if (!isSuccess(result)) {
+                    transaction.setRollbackOnly();
+                    return false;
+                }
+            }
+            // Constraint violations of updates still pending only surface when they are flushed
+            try {
+                transaction.flush();
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                transaction.setRollbackOnly();
+                return false;
+            }
+        });
+        return new BatchResponse(Boolean.TRUE.equals(committed), results);
+    }
+
+    private BatchResult run(BatchOperation operation, List<BatchResult> earlier) {
+        try {
+            HttpMethod method = HttpMethod.valueOf(operation.method().toUpperCase());
+            PathContainer path = PathContainer.parsePath(operation.path());
+            for (Route route : routes) {
+                PathPattern.PathMatchInfo match = route.method.equals(method) ? route.pattern.matchAndExtract(path) : null;
+                if (match != null) {
+                    String id = match.getUriVariables().get("id");
+                    JsonNode body = resolveRefs(operation.body(), earlier);
+                    Object response = route.action.run(id != null ? Long.valueOf(id) : null, body);
+                    return new BatchResult(route.status.value(), response != null ? objectMapper.valueToTree(response) : null);
+                }
+            }
+            return failure(HttpStatus.NOT_FOUND, "No batchable operation " + method + " " + operation.path());
+        } catch (UnresolvedReferenceException e) {
+            return failure(HttpStatus.FAILED_DEPENDENCY, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            return failure(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (CrossShardMoveException e) {
+            return failure(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IllegalArgumentException | InvalidOperationException e) {
+            return failure(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            return failure(HttpStatus.CONFLICT, "The change conflicts with existing data");
+        } catch (RuntimeException e) {
+            log.error("Batch operation {} {} failed", operation.method(), operation.path(), e);
+            return failure(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error");
+        }
+    }
+
+    private <T> T read(JsonNode body, Class<T> type) {
+        T request;
+        try {
+            request = objectMapper.treeToValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new InvalidOperationException("Malformed body: " + e.getOriginalMessage());
+        }
+        if (request == null) {
+            throw new InvalidOperationException("A body is required");
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new InvalidOperationException(violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+        }
+        return request;
+    }
+
+    // Replaces {"$ref": "/<index>/<field>"} with that value from the results of the earlier operations
+    private JsonNode resolveRefs(JsonNode node, List<BatchResult> earlier) {
+        if (node instanceof ObjectNode object) {
+            if (object.size() == 1 && object.get(REF) != null && object.get(REF).isTextual()) {
+                return resolve(object.get(REF).asText(), earlier);
+            }
+            ObjectNode resolved = object.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                resolved.set(field.getKey(), resolveRefs(field.getValue(), earlier));
+            }
+            return resolved;
+        }
+        if (node instanceof ArrayNode array) {
+            ArrayNode resolved = array.arrayNode();
+            array.forEach(element -> resolved.add(resolveRefs(element, earlier)));
+            return resolved;
+        }
+        return node;
+    }
+
+    private JsonNode resolve(String pointer, List<BatchResult> earlier) {
+        JsonPointer path;
+        try {
+            path = JsonPointer.compile(pointer);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Invalid reference " + pointer);
+        }
+        int index = path.getMatchingIndex();
+        if (index < 0 || index >= earlier.size()) {
+            throw new InvalidOperationException("Reference " + pointer + " does not point to an earlier operation");
+        }
+        BatchResult target = earlier.get(index);
+        if (!isSuccess(target)) {
+            throw new UnresolvedReferenceException("Operation " + index + " referenced by " + pointer + " failed");
+        }
+        JsonNode value = target.body() != null ? target.body().at(path.tail()) : null;
+        if (value == null || value.isMissingNode()) {
+            throw new InvalidOperationException("Reference " + pointer + " is not in the result of operation " + index);
+        }
+        return value;
+    }
+
+    private static boolean isSuccess(BatchResult result) {
+        return result.status() < HttpStatus.BAD_REQUEST.value();
+    }
+
+    private BatchResult failure(HttpStatus status, String message) {
+        return new BatchResult(status.value(), objectMapper.createObjectNode().put("message", message));
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        Object run(Long id, JsonNode body);
+    }
+
+    private record Route(HttpMethod method, PathPattern pattern, HttpStatus status, Action action) {
+        Route(HttpMethod method, String pattern, HttpStatus status, Action action) {
+            this(method, PathPatternParser.defaultInstance.parse(pattern), status, action);
+        }
+    }
+
+    private static class InvalidOperationException extends RuntimeException {
+        InvalidOperationException(String message) {
+            super(message);
+        }
+    }
+
+    private static class UnresolvedReferenceException extends RuntimeException {
+        UnresolvedReferenceException(String message) {
+            super(message);
+        }
+    }
+}
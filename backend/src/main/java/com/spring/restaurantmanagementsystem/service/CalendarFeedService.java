@@ -0,0 +1,265 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.calendar.CalendarFeed;
+import com.spring.restaurantmanagementsystem.calendar.IcsWriter;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.model.Shift;
+import com.spring.restaurantmanagementsystem.repository.ShiftRepository;
+import com.spring.restaurantmanagementsystem.sharding.OnShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+/**
+ * Serves iCalendar feeds per user and per store from pre-rendered bytes.
+ * Every feed has a schedule version that is bumped after a shift change commits;
+ * a cached rendering is reused for as long as its version is current, so only
+ * the feeds of affected users and stores are regenerated. Feeds also show user and store names, so
+ * renaming or deleting a user or store marks every cached feed mentioning it as stale as well.
+ * Versions and renderings are kept in bounded Ehcache caches with a time to live; a feed whose
+ * version was evicted starts over with a version higher than any handed out before.
+ */
+@Service
+public class CalendarFeedService implements AutoCloseable {
+
+    private static final String VERSIONS = "calendar-versions";
+    private static final String FEEDS = "calendar-feeds";
+
+    private final ShiftRepository shiftRepository;
+    private final CacheManager cacheManager;
+    private final Cache<FeedKey, ScheduleVersion> versions;
+    private final Cache<FeedKey, CachedFeed> feeds;
+    private final AtomicLong highestVersion = new AtomicLong();
+    private final AtomicLong entityChanges = new AtomicLong();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    /**
+     * @param maxEntries How many feeds, and separately how many versions, are kept.
+     * @param ttlMinutes How long a feed or version is kept after it was last written.
+     */
+    public CalendarFeedService(ShiftRepository shiftRepository, MeterRegistry meterRegistry,
+                               @Value("${application.calendar.cache.max-entries:10000}") long maxEntries,
+                               @Value("${application.calendar.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.shiftRepository = shiftRepository;
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(VERSIONS, cache(FeedKey.class, ScheduleVersion.class, maxEntries, ttl))
+                .withCache(FEEDS, cache(FeedKey.class, CachedFeed.class, maxEntries, ttl));
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // Each service gets its own manager, so separate application contexts never share feeds
+        this.cacheManager = provider.getCacheManager(URI.create("urn:calendar-feeds:" + UUID.randomUUID()),
+                configuration.build());
+        this.versions = cacheManager.getCache(VERSIONS, FeedKey.class, ScheduleVersion.class);
+        this.feeds = cacheManager.getCache(FEEDS, FeedKey.class, CachedFeed.class);
+        this.cacheHits = Counter.builder("cache.gets").tag("cache", "calendar.feeds").tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("cache.gets").tag("cache", "calendar.feeds").tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", feeds, cached -> StreamSupport.stream(cached.spliterator(), false).count())
+                .tag("cache", "calendar.feeds").register(meterRegistry);
+    }
+
+    private static <K, V> CacheConfigurationBuilder<K, V> cache(Class<K> keyType, Class<V> valueType,
+                                                                long maxEntries, Duration ttl) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(keyType, valueType, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+    }
+
+    @Transactional(readOnly = true)
+    @OnShard("#userId")
+    public CalendarFeed getUserFeed(Long userId) {
+        return getFeed(new FeedKey(FeedType.USER, userId));
+    }
+
+    @Transactional(readOnly = true)
+    @OnShard("#storeId")
+    public CalendarFeed getStoreFeed(Long storeId) {
+        return getFeed(new FeedKey(FeedType.STORE, storeId));
+    }
+
+    /**
+     * Marks the feeds of the given users and stores as stale once the current transaction commits.
+     * Bumping the version before commit would let a concurrent request render the old rows
+     * under the new version and keep serving them.
+     *
+     * @param userIds  Users whose shifts changed.
+     * @param storeIds Stores whose shifts changed.
+     */
+    public void invalidateAfterCommit(Collection<Long> userIds, Collection<Long> storeIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userIds, storeIds);
+                }
+            });
+        } else {
+            invalidate(userIds, storeIds);
+        }
+    }
+
+    public void invalidate(Collection<Long> userIds, Collection<Long> storeIds) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        userIds.stream().filter(Objects::nonNull).forEach(id -> bump(new FeedKey(FeedType.USER, id), now));
+        storeIds.stream().filter(Objects::nonNull).forEach(id -> bump(new FeedKey(FeedType.STORE, id), now));
+    }
+
+    /**
+     * Marks the feed of a changed user or store, and every cached feed naming it, as stale.
+     * Runs after the change commits, like the shift invalidations.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        FeedType type = switch (event.entityType()) {
+            case USER -> FeedType.USER;
+            case STORE -> FeedType.STORE;
+            case ROLE -> null;
+        };
+        if (type == null || event.changeType() == EntityChangedEvent.ChangeType.CREATED
+                || event.changeType() == EntityChangedEvent.ChangeType.PASSWORD_CHANGED) {
+            return;
+        }
+        // Counted before the scan, so a feed cached while the scan runs is dropped by getFeed instead
+        entityChanges.incrementAndGet();
+        FeedKey changed = new FeedKey(type, event.entityId());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        bump(changed, now);
+        for (Cache.Entry<FeedKey, CachedFeed> entry : feeds) {
+            if (entry.getValue().mentions().contains(changed)) {
+                bump(entry.getKey(), now);
+            }
+        }
+    }
+
+    // Without a version there is nothing cached to mark; the next request starts a new one
+    private void bump(FeedKey key, Instant changedAt) {
+        ScheduleVersion current = versions.get(key);
+        while (current != null) {
+            ScheduleVersion next = new ScheduleVersion(current.version() + 1, changedAt);
+            if (versions.replace(key, current, next)) {
+                highestVersion.accumulateAndGet(next.version(), Math::max);
+                break;
+            }
+            current = versions.get(key);
+        }
+        feeds.remove(key);
+    }
+
+    private ScheduleVersion currentVersion(FeedKey key) {
+        ScheduleVersion current = versions.get(key);
+        while (current == null) {
+            // Higher than any version a rendering still in flight could carry, even one evicted since
+            ScheduleVersion first = new ScheduleVersion(highestVersion.incrementAndGet(),
+                    Instant.now().truncatedTo(ChronoUnit.SECONDS));
+            current = versions.putIfAbsent(key, first) ? first : versions.get(key);
+        }
+        return current;
+    }
+
+    private CalendarFeed getFeed(FeedKey key) {
+        ScheduleVersion version = currentVersion(key);
+        CachedFeed cached = feeds.get(key);
+        if (cached != null && cached.feed().version() == version.version()) {
+            cacheHits.increment();
+            return cached.feed();
+        }
+        cacheMisses.increment();
+
+        long changesBefore = entityChanges.get();
+        List<Shift> shifts = key.type() == FeedType.USER
+                ? shiftRepository.findByUserIdWithDetails(key.id())
+                : shiftRepository.findByStoreIdWithDetails(key.id());
+        CalendarFeed rendered = render(key, version, shifts);
+        CachedFeed fresh = new CachedFeed(rendered, mentionedBy(shifts));
+        // Keep whichever rendering is newer if a concurrent request raced us
+        if (!feeds.putIfAbsent(key, fresh)) {
+            CachedFeed current = feeds.get(key);
+            if (current != null && current.feed().version() < rendered.version()) {
+                feeds.replace(key, current, fresh);
+            }
+        }
+        // A user or store changed while rendering may have missed the mentions above
+        if (entityChanges.get() != changesBefore) {
+            feeds.remove(key, fresh);
+        }
+        return rendered;
+    }
+
+    private static Set<FeedKey> mentionedBy(List<Shift> shifts) {
+        Set<FeedKey> mentioned = new HashSet<>();
+        for (Shift shift : shifts) {
+            mentioned.add(new FeedKey(FeedType.USER, shift.getUser().getId()));
+            if (shift.getStore() != null) {
+                mentioned.add(new FeedKey(FeedType.STORE, shift.getStore().getId()));
+            }
+        }
+        return mentioned;
+    }
+
+    private CalendarFeed render(FeedKey key, ScheduleVersion version, List<Shift> shifts) {
+        String calendarName;
+        if (key.type() == FeedType.USER) {
+            calendarName = shifts.isEmpty() ? "Shifts" : "Shifts - " + shifts.getFirst().getUser().getUsername();
+        } else {
+            calendarName = shifts.isEmpty() ? "Store shifts" : "Store shifts - " + shifts.getFirst().getStore().getName();
+        }
+
+        byte[] content = IcsWriter.write(calendarName, shifts);
+        return new CalendarFeed(content, etag(content), version.changedAt(), version.version());
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private enum FeedType { USER, STORE }
+
+    private record FeedKey(FeedType type, Long id) {}
+
+    private record ScheduleVersion(long version, Instant changedAt) {}
+
+    // A rendering with the users and stores it names, evicted together
+    private record CachedFeed(CalendarFeed feed, Set<FeedKey> mentions) {}
+
+    @Override
+    public void close() {
+        cacheManager.close();
+    }
+}
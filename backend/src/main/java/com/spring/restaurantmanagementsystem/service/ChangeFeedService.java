@@ -0,0 +1,181 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.dto.ChangesDto;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.exception.CursorExpiredException;
+import com.spring.restaurantmanagementsystem.model.CommitSequence;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.Tombstone;
+import com.spring.restaurantmanagementsystem.model.TombstoneHorizon;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.CommitSequenceRepository;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.TombstoneHorizonRepository;
+import com.spring.restaurantmanagementsystem.repository.TombstoneRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardContext;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Serves the users and stores changed after a cursor, so clients can keep a local copy current
+ * without fetching whole lists. The cursor holds the last change number seen on every shard.
+ *
+ * <p>Change numbers are drawn as their transaction commits, so no lower number can become visible
+ * after a higher one and the cursor moves past every change returned. Deletes are only kept for the
+ * tombstone retention period; a cursor older than that is refused and the client syncs again.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final UserRepository userRepository;
+    private final StoreRepository storeRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final TombstoneHorizonRepository tombstoneHorizonRepository;
+    private final CommitSequenceRepository commitSequenceRepository;
+    private final ShardRouter shardRouter;
+
+    public ChangeFeedService(UserRepository userRepository, StoreRepository storeRepository,
+                             TombstoneRepository tombstoneRepository,
+                             TombstoneHorizonRepository tombstoneHorizonRepository,
+                             CommitSequenceRepository commitSequenceRepository, ShardRouter shardRouter) {
+        this.userRepository = userRepository;
+        this.storeRepository = storeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.tombstoneHorizonRepository = tombstoneHorizonRepository;
+        this.commitSequenceRepository = commitSequenceRepository;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * @param cursor A cursor returned by {@link #getChanges}.
+     * @return The last change number seen on each shard.
+     * @throws IllegalArgumentException if the cursor is malformed or from a different number of shards.
+     */
+    public long[] parseCursor(String cursor) {
+        long[] since;
+        try {
+            since = Arrays.stream(cursor.split("\\.")).mapToLong(Long::parseLong).toArray();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor " + cursor);
+        }
+        if (since.length != shardRouter.getShardCount()) {
+            throw new IllegalArgumentException("The cursor is from a different shard layout; sync again without one");
+        }
+        return since;
+    }
+
+    /**
+     * Returns the changes after the cursor, or everything when there is none.
+     *
+     * @param since The parsed cursor, or {@code null} for a full snapshot.
+     * @param limit Changes per shard at most.
+     * @return The changes and the next cursor.
+     * @throws CursorExpiredException if tombstones after the cursor were already deleted.
+     */
+    public ChangesDto getChanges(long[] since, int limit) {
+        List<ShardChanges> shards = shardRouter.onEveryShard(() -> since == null
+                ? snapshot()
+                : changesSince(since[ShardContext.current()], limit));
+
+        return new ChangesDto(
+                shards.stream().flatMap(shard -> shard.users().stream()).toList(),
+                shards.stream().flatMap(shard -> shard.stores().stream()).toList(),
+                shards.stream().flatMap(shard -> shard.deletedUserIds().stream()).toList(),
+                shards.stream().flatMap(shard -> shard.deletedStoreIds().stream()).toList(),
+                shards.stream().map(shard -> Long.toString(shard.cursor())).collect(Collectors.joining(".")),
+                shards.stream().anyMatch(ShardChanges::hasMore));
+    }
+
+    private ShardChanges snapshot() {
+        // Taken before reading, so anything committed while the rows are read is sent again next time
+        long cursor = commitSequenceRepository.findById(CommitSequence.CHANGES)
+                .map(CommitSequence::getLastNumber)
+                .orElse(0L);
+        List<UserDto> users = userRepository.findAll(Sort.by("id")).stream().map(this::convertUserToDto).toList();
+        List<StoreDto> stores = storeRepository.findAll().stream()
+                .sorted(Comparator.comparing(Store::getId))
+                .map(this::convertToDto)
+                .toList();
+        return new ShardChanges(users, stores, List.of(), List.of(), cursor, false);
+    }
+
+    private ShardChanges changesSince(long since, int limit) {
+        long prunedThrough = tombstoneHorizonRepository.findById(TombstoneHorizon.ID)
+                .map(TombstoneHorizon::getPrunedThrough)
+                .orElse(0L);
+        if (since < prunedThrough) {
+            throw new CursorExpiredException("Deletes after the cursor are no longer kept; sync again without one");
+        }
+        // One more than the limit of each kind tells whether the merged page is complete
+        Limit fetch = Limit.of(limit + 1);
+        List<Change> changes = new ArrayList<>();
+        userRepository.findByIdInOrderById(userRepository.findIdsChangedSince(since, fetch))
+                .forEach(user -> changes.add(new Change(user.getChangeSeq(), user)));
+        storeRepository.findByChangeSeqGreaterThanOrderByChangeSeq(since, fetch)
+                .forEach(store -> changes.add(new Change(store.getChangeSeq(), store)));
+        tombstoneRepository.findByIdGreaterThanOrderById(since, fetch)
+                .forEach(tombstone -> changes.add(new Change(tombstone.getId(), tombstone)));
+        changes.sort(Comparator.comparingLong(Change::seq));
+        List<Change> page = changes.subList(0, Math.min(limit, changes.size()));
+        long cursor = page.isEmpty() ? since : page.getLast().seq();
+
+        List<UserDto> users = new ArrayList<>();
+        List<StoreDto> stores = new ArrayList<>();
+        List<Long> deletedUserIds = new ArrayList<>();
+        List<Long> deletedStoreIds = new ArrayList<>();
+        for (Change change : page) {
+            switch (change.row()) {
+                case User user -> users.add(convertUserToDto(user));
+                case Store store -> stores.add(convertToDto(store));
+                case Tombstone tombstone when tombstone.getEntityType() == EntityType.USER ->
+                        deletedUserIds.add(tombstone.getEntityId());
+                case Tombstone tombstone -> deletedStoreIds.add(tombstone.getEntityId());
+                default -> throw new IllegalStateException("Unexpected change " + change.row());
+            }
+        }
+        boolean hasMore = changes.size() > limit;
+        return new ShardChanges(users, stores, deletedUserIds, deletedStoreIds, cursor, hasMore);
+    }
+
+    private record Change(long seq, Object row) {
+    }
+
+    private record ShardChanges(List<UserDto> users, List<StoreDto> stores, List<Long> deletedUserIds,
+                                List<Long> deletedStoreIds, long cursor, boolean hasMore) {
+    }
+
+    private StoreDto convertToDto(Store store) {
+        return new StoreDto(
+                store.getId(),
+                store.getName(),
+                store.getLatitude(),
+                store.getLongitude()
+        );
+    }
+
+    private UserDto convertUserToDto(User user) {
+        StoreDto storeDto = user.getStore() != null ? convertToDto(user.getStore()) : null;
+        return new UserDto(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRoles().stream()
+                        .map(role -> role.getName().name())
+                        .collect(toSet()),
+                storeDto
+        );
+    }
+}
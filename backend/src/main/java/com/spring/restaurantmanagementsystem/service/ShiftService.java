@@ -0,0 +1,143 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.dto.CreateShiftRequest;
+import com.spring.restaurantmanagementsystem.dto.ShiftDto;
+import com.spring.restaurantmanagementsystem.dto.UpdateShiftRequest;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import com.spring.restaurantmanagementsystem.model.Shift;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.ShiftRepository;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.OnShard;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class ShiftService {
+    private static final Comparator<Shift> BY_START = Comparator.comparing(Shift::getStart).thenComparing(Shift::getId);
+
+    private final ShiftRepository shiftRepository;
+    private final UserRepository userRepository;
+    private final StoreRepository storeRepository;
+    private final CalendarFeedService calendarFeedService;
+    private final ShardRouter shardRouter;
+
+    public ShiftService(ShiftRepository shiftRepository, UserRepository userRepository,
+                        StoreRepository storeRepository, CalendarFeedService calendarFeedService,
+                        ShardRouter shardRouter) {
+        this.shiftRepository = shiftRepository;
+        this.userRepository = userRepository;
+        this.storeRepository = storeRepository;
+        this.calendarFeedService = calendarFeedService;
+        this.shardRouter = shardRouter;
+    }
+
+    // Each query fetches users and stores with the shifts, so no transaction is needed around the mapping
+    public List<ShiftDto> getShifts(Long userId, Long storeId) {
+        List<Shift> shifts;
+        if (userId != null) {
+            shifts = shardRouter.onShard(shardRouter.shardOf(userId),
+                    () -> shiftRepository.findByUserIdWithDetails(userId));
+        } else if (storeId != null) {
+            shifts = shardRouter.onShard(shardRouter.shardOf(storeId),
+                    () -> shiftRepository.findByStoreIdWithDetails(storeId));
+        } else {
+            shifts = ShardRouter.mergeSorted(shardRouter.onEveryShard(shiftRepository::findAllWithDetails), BY_START);
+        }
+        return shifts.stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    @Transactional
+    @OnShard("#request.userId()")
+    public ShiftDto createShift(CreateShiftRequest request) {
+        Shift shift = new Shift();
+        applyChanges(shift, request.userId(), request.storeId(), request.title(), request.start(), request.end());
+
+        Shift savedShift = shiftRepository.save(shift);
+        calendarFeedService.invalidateAfterCommit(List.of(savedShift.getUser().getId()), storeIds(savedShift));
+        return convertToDto(savedShift);
+    }
+
+    @Transactional
+    @OnShard("#id")
+    public ShiftDto updateShift(Long id, UpdateShiftRequest request) {
+        if (shardRouter.shardOf(request.userId()) != shardRouter.shardOf(id)) {
+            throw new IllegalArgumentException("User " + request.userId()
+                    + " is on another shard; shifts cannot be moved across shards");
+        }
+        Shift shift = shiftRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift not found with id: " + id));
+
+        // Both the previous and the new owner/store feeds are affected by a reassignment
+        List<Long> userIds = new ArrayList<>(List.of(shift.getUser().getId()));
+        List<Long> storeIds = new ArrayList<>(storeIds(shift));
+
+        applyChanges(shift, request.userId(), request.storeId(), request.title(), request.start(), request.end());
+
+        Shift savedShift = shiftRepository.save(shift);
+        userIds.add(savedShift.getUser().getId());
+        storeIds.addAll(storeIds(savedShift));
+        calendarFeedService.invalidateAfterCommit(userIds, storeIds);
+        return convertToDto(savedShift);
+    }
+
+    @Transactional
+    @OnShard("#id")
+    public void deleteShift(Long id) {
+        Shift shift = shiftRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift not found with id: " + id));
+        shiftRepository.delete(shift);
+        calendarFeedService.invalidateAfterCommit(List.of(shift.getUser().getId()), storeIds(shift));
+    }
+
+    private void applyChanges(Shift shift, Long userId, Long storeId, String title,
+                              LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Shift end must be after its start");
+        }
+        if (storeId != null && shardRouter.shardOf(storeId) != shardRouter.shardOf(userId)) {
+            throw new IllegalArgumentException("Store " + storeId + " is on another shard than user " + userId);
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        Store store = user.getStore();
+        if (storeId != null) {
+            store = storeRepository.findById(storeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + storeId));
+        }
+
+        shift.setUser(user);
+        shift.setStore(store);
+        shift.setTitle(title != null && !title.isBlank() ? title : user.getUsername());
+        shift.setStart(start);
+        shift.setEnd(end);
+    }
+
+    private List<Long> storeIds(Shift shift) {
+        return shift.getStore() != null ? List.of(shift.getStore().getId()) : List.of();
+    }
+
+    private ShiftDto convertToDto(Shift shift) {
+        return new ShiftDto(
+                shift.getId(),
+                shift.getUser().getId(),
+                shift.getUser().getUsername(),
+                shift.getStore() != null ? shift.getStore().getId() : null,
+                shift.getTitle(),
+                shift.getStart(),
+                shift.getEnd()
+        );
+    }
+}
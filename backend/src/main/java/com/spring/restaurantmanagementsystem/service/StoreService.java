@@ -1,18 +1,33 @@
 package com.spring.restaurantmanagementsystem.service;
 
+import com.spring.restaurantmanagementsystem.coalescing.Coalesced;
 import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
 import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.StoreField;
 import com.spring.restaurantmanagementsystem.dto.UpdateStoreRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.dto.UserField;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Store;
 import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.StoreRepository;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.OnShard;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.stream.Collectors.toSet;
 
@@ -20,37 +35,66 @@ import static java.util.stream.Collectors.toSet;
 public class StoreService {
     private final StoreRepository storeRepository;
     private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    public StoreService(StoreRepository storeRepository, UserRepository userRepository) {
+    public StoreService(StoreRepository storeRepository, UserRepository userRepository, ShardRouter shardRouter,
+                        ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
         this.storeRepository = storeRepository;
         this.userRepository = userRepository;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Coalesced
     public List<StoreDto> getAllStores() {
-        return storeRepository.findAll()
+        return shardRouter.onEveryShard(storeRepository::findAll)
                 .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Store::getId))
                 .map(this::convertToDto)
                 .toList();
     }
 
+    /**
+     * Returns only the requested fields of all stores ordered by id, reading only their columns.
+     *
+     * @param fields The fields to return, including the id.
+     * @return One map per store, from JSON field name to value.
+     */
+    @Coalesced
+    public List<Map<String, Object>> getStoreFields(Set<StoreField> fields) {
+        return ShardRouter.mergeSorted(shardRouter.onEveryShard(() -> storeRepository.findFields(fields)),
+                Comparator.comparing(row -> (Long) row.get(StoreField.ID.jsonName())));
+    }
+
+    @OnShard("#id")
     public StoreDto getStoreById(Long id) {
         Store store = storeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + id));
         return convertToDto(store);
     }
 
-    @Transactional
+    // New stores go to the shard with the fewest stores; the store's id then ties it to that shard.
+    // The transaction only starts once the shard is chosen.
     public StoreDto createStore(CreateStoreRequest request) {
         Store store = new Store();
         store.setName(request.name());
         store.setLatitude(request.latitude());
         store.setLongitude(request.longitude());
 
-        Store savedStore = storeRepository.save(store);
-        return convertToDto(savedStore);
+        return shardRouter.onShard(leastUsedShard(), () -> transactionTemplate.execute(status -> {
+            Store savedStore = storeRepository.save(store);
+            StoreDto storeDto = convertToDto(savedStore);
+            publishChange(ChangeType.CREATED, savedStore.getId(), storeDto);
+            return storeDto;
+        }));
     }
 
     @Transactional
+    @OnShard("#id")
     public StoreDto updateStore(Long id, UpdateStoreRequest request) {
         Store store = storeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + id));
@@ -60,16 +104,26 @@ public class StoreService {
         store.setLongitude(request.longitude());
 
         Store savedStore = storeRepository.save(store);
-        return convertToDto(savedStore);
+        StoreDto storeDto = convertToDto(savedStore);
+        publishChange(ChangeType.UPDATED, id, storeDto);
+        return storeDto;
     }
 
     @Transactional
+    @OnShard("#id")
     public void deleteStore(Long id) {
         Store store = storeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + id));
+        // The store's users are deleted with it
+        List<Long> userIds = store.getUsers().stream().map(User::getId).toList();
         storeRepository.delete(store);
+        userIds.forEach(userId ->
+                eventPublisher.publishEvent(new EntityChangedEvent(EntityType.USER, ChangeType.DELETED, userId)));
+        publishChange(ChangeType.DELETED, id, null);
     }
 
+    @Coalesced
+    @OnShard("#storeId")
     public List<UserDto> getUsersByStoreId(Long storeId) {
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + storeId));
@@ -80,6 +134,36 @@ public class StoreService {
                 .toList();
     }
 
+    /**
+     * Returns only the requested fields of the users of a store, reading only their columns.
+     *
+     * @param storeId The store.
+     * @param fields  The fields to return, including the id.
+     * @return One map per user, from JSON field name to value, ordered by id.
+     */
+    @Coalesced
+    @OnShard("#storeId")
+    public List<Map<String, Object>> getUserFieldsByStoreId(Long storeId, Set<UserField> fields) {
+        List<Map<String, Object>> users = userRepository.findFields(fields, storeId, Pageable.unpaged());
+        // Only an empty result needs the store looked up, to tell an empty store from a missing one
+        if (users.isEmpty() && !storeRepository.existsById(storeId)) {
+            throw new ResourceNotFoundException("Store not found with id: " + storeId);
+        }
+        return users;
+    }
+
+    private int leastUsedShard() {
+        if (shardRouter.getShardCount() == 1) {
+            return ShardRouter.HOME_SHARD;
+        }
+        List<Long> storeCounts = shardRouter.onEveryShard(storeRepository::count);
+        return storeCounts.indexOf(storeCounts.stream().min(Long::compare).orElseThrow());
+    }
+
+    private void publishChange(ChangeType changeType, Long storeId, StoreDto snapshot) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.STORE, changeType, storeId, snapshot));
+    }
+
     private StoreDto convertToDto(Store store) {
         return new StoreDto(
                 store.getId(),
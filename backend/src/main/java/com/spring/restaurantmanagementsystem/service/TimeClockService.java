@@ -0,0 +1,149 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.dto.PunchDto;
+import com.spring.restaurantmanagementsystem.dto.PunchReceipt;
+import com.spring.restaurantmanagementsystem.dto.PunchRequest;
+import com.spring.restaurantmanagementsystem.exception.PunchRejectedException;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.TimePunch;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.TimePunchRepository;
+import com.spring.restaurantmanagementsystem.sharding.OnShard;
+import com.spring.restaurantmanagementsystem.timeclock.Geofence;
+import com.spring.restaurantmanagementsystem.timeclock.PendingPunch;
+import com.spring.restaurantmanagementsystem.timeclock.PunchIngestor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class TimeClockService {
+    private final PunchIngestor punchIngestor;
+    private final StoreRepository storeRepository;
+    private final TimePunchRepository timePunchRepository;
+    private final boolean geofenceEnabled;
+    private final double geofenceRadiusMeters;
+    private final long ackTimeoutMs;
+    private final long storeCacheTtlNanos;
+
+    // Store coordinates rarely change, so punches validate against a short-lived copy
+    private final ConcurrentMap<Long, StoreLocation> storeLocations = new ConcurrentHashMap<>();
+    private final Counter storeCacheHits;
+    private final Counter storeCacheMisses;
+
+    public TimeClockService(PunchIngestor punchIngestor, StoreRepository storeRepository,
+                            TimePunchRepository timePunchRepository,
+                            @Value("${application.timeclock.geofence.enabled:false}") boolean geofenceEnabled,
+                            @Value("${application.timeclock.geofence.radius-meters:150}") double geofenceRadiusMeters,
+                            @Value("${application.timeclock.ack-timeout-ms:2000}") long ackTimeoutMs,
+                            @Value("${application.timeclock.store-cache-ttl-seconds:60}") long storeCacheTtlSeconds,
+                            MeterRegistry meterRegistry) {
+        this.punchIngestor = punchIngestor;
+        this.storeRepository = storeRepository;
+        this.timePunchRepository = timePunchRepository;
+        this.geofenceEnabled = geofenceEnabled;
+        this.geofenceRadiusMeters = geofenceRadiusMeters;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.storeCacheTtlNanos = TimeUnit.SECONDS.toNanos(storeCacheTtlSeconds);
+        this.storeCacheHits = Counter.builder("cache.gets").tag("cache", "timeclock.stores").tag("result", "hit")
+                .register(meterRegistry);
+        this.storeCacheMisses = Counter.builder("cache.gets").tag("cache", "timeclock.stores").tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("app.timeclock.backlog", punchIngestor, PunchIngestor::getBacklog)
+                .description("Punches buffered and not yet written")
+                .register(meterRegistry);
+    }
+
+    @OnShard("#request.storeId()")
+    public PunchReceipt punch(Long userId, Long userStoreId, PunchRequest request) {
+        // Staff can only clock in and out at the store they work at
+        if (!request.storeId().equals(userStoreId)) {
+            throw new PunchRejectedException(PunchRejectedException.Reason.NOT_STORE_MEMBER,
+                    "Punches can only be recorded at your own store");
+        }
+        StoreLocation store = getStoreLocation(request.storeId());
+        if (geofenceEnabled) {
+            validateGeofence(store, request);
+        }
+
+        PendingPunch punch = punchIngestor.submit(userId, request.storeId(), request.type(), Instant.now(),
+                request.latitude(), request.longitude());
+
+        boolean durable = punch.ack() != null && awaitAck(punch);
+        return new PunchReceipt(punch.id(), punch.storeId(), punch.type(), punch.punchedAt(), durable);
+    }
+
+    @Transactional(readOnly = true)
+    @OnShard("#storeId")
+    public List<PunchDto> getPunchesByStore(Long storeId, Instant from, Instant to) {
+        return timePunchRepository.findByStoreIdBetween(storeId, from, to).stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    private boolean awaitAck(PendingPunch punch) {
+        try {
+            punch.ack().get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            // Still buffered; the punch is accepted but not yet known to be durable
+            return false;
+        } catch (ExecutionException e) {
+            throw new PunchRejectedException(PunchRejectedException.Reason.WRITE_FAILED,
+                    "Punch could not be recorded");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void validateGeofence(StoreLocation store, PunchRequest request) {
+        if (request.latitude() == null || request.longitude() == null
+                || !Geofence.isWithin(request.latitude(), request.longitude(),
+                store.latitude(), store.longitude(), geofenceRadiusMeters)) {
+            throw new PunchRejectedException(PunchRejectedException.Reason.OUTSIDE_GEOFENCE,
+                    "Punch location is outside the store's geofence");
+        }
+    }
+
+    private StoreLocation getStoreLocation(Long storeId) {
+        long now = System.nanoTime();
+        StoreLocation cached = storeLocations.get(storeId);
+        if (cached != null && now - cached.loadedAt() < storeCacheTtlNanos) {
+            storeCacheHits.increment();
+            return cached;
+        }
+        storeCacheMisses.increment();
+
+        Store store = storeRepository.findById(storeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + storeId));
+        StoreLocation location = new StoreLocation(store.getLatitude(), store.getLongitude(), now);
+        storeLocations.put(storeId, location);
+        return location;
+    }
+
+    private PunchDto convertToDto(TimePunch punch) {
+        return new PunchDto(
+                punch.getId(),
+                punch.getUser().getId(),
+                punch.getUser().getUsername(),
+                punch.getStore().getId(),
+                punch.getType(),
+                punch.getPunchedAt()
+        );
+    }
+
+    private record StoreLocation(double latitude, double longitude, long loadedAt) {}
+}
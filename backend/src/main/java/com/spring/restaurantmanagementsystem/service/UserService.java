@@ -2,6 +2,7 @@ package com.spring.restaurantmanagementsystem.service;
 
 import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -10,12 +11,17 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ShardRouter shardRouter) {
         this.userRepository = userRepository;
+        this.shardRouter = shardRouter;
     }
 
+    // Usernames carry no shard key, so every shard is asked
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return shardRouter.onEveryShard(() -> userRepository.findByUsername(username)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.spring.restaurantmanagementsystem.sharding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, including any transaction it starts, on the shard of a store, user or
+ * shift id taken from its arguments.
+ * The value is a SpEL expression over the parameters, e.g. {@code "#storeId"} or {@code "#request.userId()"};
+ * a {@code null} key selects the home shard.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OnShard {
+
+    String value();
+}
@@ -0,0 +1,45 @@
+package com.spring.restaurantmanagementsystem.sharding;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Plugs shards into Hibernate's multi-tenancy: the shard number is the tenant identifier.
+ * Sessions are opened on the current thread's shard, and the second-level and query caches keep
+ * each shard's entries apart.
+ */
+public class ShardConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<Integer>
+        implements CurrentTenantIdentifierResolver<Integer> {
+
+    private final transient List<DataSource> shards;
+
+    /**
+     * @param shards One data source per shard, in shard order.
+     */
+    public ShardConnectionProvider(List<DataSource> shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return shards.get(ShardRouter.HOME_SHARD);
+    }
+
+    @Override
+    protected DataSource selectDataSource(Integer shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    public Integer resolveCurrentTenantIdentifier() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
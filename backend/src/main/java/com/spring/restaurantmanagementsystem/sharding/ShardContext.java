@@ -0,0 +1,42 @@
+package com.spring.restaurantmanagementsystem.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the shard the current thread works on.
+ * Hibernate opens each session on this shard and the routing data source hands out its connections,
+ * so the shard has to be chosen before a transaction starts and cannot change while it runs.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return The current thread's shard, or the home shard when none was chosen.
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : ShardRouter.HOME_SHARD;
+    }
+
+    static Integer enter(int shard) {
+        Integer previous = CURRENT.get();
+        if (shard != current() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch from shard " + current() + " to shard " + shard
+                    + " inside a transaction");
+        }
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.spring.restaurantmanagementsystem.sharding;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Maps shard keys to shards and runs work on one shard or on all of them.
+ * A store lives on shard {@code storeId % shardCount}; its users and shifts live on the same shard.
+ * Each shard's identity columns only hand out ids congruent to the shard number, so the id of a user
+ * or shift identifies its shard just like a store id does. Users without a store live on the home shard.
+ *
+ * <p>Without {@code application.sharding.urls} there is a single shard and work runs directly on the
+ * calling thread, exactly as without sharding.
+ */
+@Component
+public class ShardRouter implements AutoCloseable {
+
+    /** Shard holding reference data defaults and users without a store. */
+    public static final int HOME_SHARD = 0;
+
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+
+    /**
+     * @param shardUrls URLs of the shards besides the home shard, which is {@code spring.datasource.url}.
+     */
+    @Autowired
+    public ShardRouter(@Value("${application.sharding.urls:}") List<String> shardUrls) {
+        this(1 + (int) shardUrls.stream().filter(url -> !url.isBlank()).count());
+    }
+
+    public ShardRouter(int shardCount) {
+        this.shardCount = shardCount;
+        // Scatter-gather calls block on JDBC, one virtual thread per shard
+        this.scatterExecutor = shardCount > 1
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shard-scatter-", 0).factory())
+                : null;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @param id A store, user or shift id, or {@code null} for data without a store.
+     * @return The shard holding the row.
+     */
+    public int shardOf(Long id) {
+        return id == null ? HOME_SHARD : (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    /**
+     * Runs work with its sessions and connections on the given shard.
+     * Must be called outside a transaction unless the transaction already runs on that shard.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("No shard " + shard + " among " + shardCount + " shards");
+        }
+        Integer previous = ShardContext.enter(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * Runs work on every shard in parallel (scatter) and collects the results (gather).
+     * Each shard's work runs on its own thread outside the caller's transaction, so it has to load
+     * everything it returns. It does see the caller's request, so its statements are still attributed
+     * to it, e.g. in the slow-query log. The first failure is rethrown once all shards have been waited for.
+     *
+     * @return The results in shard order.
+     */
+    public <T> List<T> onEveryShard(Supplier<T> work) {
+        if (scatterExecutor == null) {
+            return Collections.singletonList(work.get());
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> onShardFor(request, target, work)));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        RuntimeException failure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Interrupted while waiting for shards", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new IllegalStateException("Shard query failed", e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    private <T> T onShardFor(RequestAttributes request, int shard, Supplier<T> work) {
+        RequestContextHolder.setRequestAttributes(request);
+        try {
+            return onShard(shard, work);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /**
+     * Merges per-shard results, each already sorted, into one sorted list.
+     */
+    public static <T> List<T> mergeSorted(List<List<T>> sortedLists, Comparator<? super T> order) {
+        return mergeSorted(sortedLists, order, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Merges per-shard results, each already sorted, and returns one page of the merged order.
+     * Each list has to hold at least its first {@code offset + limit} rows for the page to be right.
+     *
+     * @param offset Merged rows to skip.
+     * @param limit  Maximum number of rows to return.
+     */
+    public static <T> List<T> mergeSorted(List<List<T>> sortedLists, Comparator<? super T> order,
+                                          long offset, int limit) {
+        if (sortedLists.size() == 1) {
+            List<T> only = sortedLists.getFirst();
+            int from = (int) Math.min(offset, only.size());
+            return only.subList(from, (int) Math.min(only.size(), from + (long) limit));
+        }
+
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.head(), b.head()));
+        for (List<T> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor<>(list));
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(limit, 1024));
+        long skipped = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                merged.add(cursor.head());
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public void close() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    private static final class Cursor<T> {
+        private final List<T> list;
+        private int position;
+
+        private Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        private T head() {
+            return list.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < list.size();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.spring.restaurantmanagementsystem.sharding;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies {@link OnShard}. Ordered ahead of the transaction interceptor (lowest precedence), so the
+ * shard is chosen before the method's transaction opens a session.
+ */
+@Aspect
+@Order(0)
+public class ShardRoutingAspect {
+
+    private final ShardRouter shardRouter;
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    public ShardRoutingAspect(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Around("@annotation(onShard)")
+    public Object route(ProceedingJoinPoint joinPoint, OnShard onShard) throws Throwable {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(joinPoint.getTarget(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs(), parameterNames);
+        Object key = expressions.computeIfAbsent(onShard.value(), parser::parseExpression).getValue(context);
+        if (key != null && !(key instanceof Number)) {
+            throw new IllegalArgumentException("Shard key " + onShard.value() + " is not an id: " + key);
+        }
+
+        int shard = shardRouter.shardOf(key != null ? ((Number) key).longValue() : null);
+        Integer previous = ShardContext.enter(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.spring.restaurantmanagementsystem.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepares every shard while Hibernate starts: applies the configured schema action
+ * ({@code spring.jpa.hibernate.ddl-auto}, normally {@code validate} of the schema the migrations created),
+ * which Hibernate would otherwise only run on one shard, then interleaves the identity columns of the
+ * sharded tables. On shard {@code s} of {@code n},
+ * new ids are {@code s} modulo {@code n}, so every id points at the shard holding its row.
+ *
+ * <p>Existing rows have to be on the shard their ids point to, and the number of shards cannot change
+ * once ids are interleaved; startup fails otherwise.
+ */
+public class ShardSchemaInitializer implements Integrator {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final List<DataSource> shards;
+    private final String schemaAction;
+    private final List<String> shardedTables;
+
+    /**
+     * @param shards        One data source per shard, in shard order.
+     * @param schemaAction  The {@code hibernate.hbm2ddl.auto} action to apply to each shard.
+     * @param shardedTables Tables whose identity ids are interleaved across shards.
+     */
+    public ShardSchemaInitializer(List<DataSource> shards, String schemaAction, List<String> shardedTables) {
+        this.shards = shards;
+        this.schemaAction = schemaAction;
+        this.shardedTables = shardedTables;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            try (Connection connection = shards.get(shard).getConnection()) {
+                Map<String, Object> settings = new HashMap<>(sessionFactory.getProperties());
+                settings.put(AvailableSettings.HBM2DDL_AUTO, schemaAction);
+                settings.put(AvailableSettings.JAKARTA_HBM2DDL_CONNECTION, connection);
+                // Validation would otherwise look the tables up in the first shard's catalog
+                settings.put(AvailableSettings.DEFAULT_CATALOG, connection.getCatalog());
+                // Drops on shutdown (create-drop) are left to the database
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(), settings,
+                        dropAction -> { });
+                interleaveIds(connection, shard);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not prepare shard " + shard, e);
+            }
+        }
+        log.info("Prepared {} shards", shards.size());
+    }
+
+    private void interleaveIds(Connection connection, int shard) throws SQLException {
+        int shardCount = shards.size();
+        for (String table : shardedTables) {
+            long increment = identityIncrement(connection, table);
+            if (increment == shardCount) {
+                continue;
+            }
+            if (increment != 1) {
+                throw new IllegalStateException("Table " + table + " on shard " + shard + " is laid out for "
+                        + increment + " shards; changing the number of shards is not supported");
+            }
+            if (queryLong(connection, "select count(*) from " + table + " where mod(id, " + shardCount + ") <> "
+                    + shard) > 0) {
+                throw new IllegalStateException("Table " + table + " on shard " + shard
+                        + " holds rows whose ids belong to other shards");
+            }
+
+            long maxId = queryLong(connection, "select coalesce(max(id), 0) from " + table);
+            long nextId = maxId - Math.floorMod(maxId, shardCount) + shard;
+            if (nextId <= maxId) {
+                nextId += shardCount;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table " + table + " alter column id set increment by " + shardCount
+                        + " restart with " + nextId);
+            }
+            log.info("Shard {}: {} ids continue at {} in steps of {}", shard, table, nextId, shardCount);
+        }
+    }
+
+    private static long identityIncrement(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select identity_increment from information_schema.columns "
+                        + "where lower(table_schema) = lower(?) and lower(table_name) = ? and lower(column_name) = 'id'")) {
+            statement.setString(1, connection.getSchema());
+            statement.setString(2, table);
+            try (ResultSet result = statement.executeQuery()) {
+                if (!result.next() || result.getString(1) == null) {
+                    throw new IllegalStateException("Table " + table + " has no identity id column");
+                }
+                return Long.parseLong(result.getString(1));
+            }
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.spring.restaurantmanagementsystem.timeclock;
+
+/**
+ * When a punch is acknowledged to the client.
+ */
+public enum AckMode {
+    /** As soon as the punch is in the ring buffer; punches not yet flushed are lost on a crash. */
+    ACCEPTED,
+    /** After the batch containing the punch has been committed. */
+    DURABLE
+}
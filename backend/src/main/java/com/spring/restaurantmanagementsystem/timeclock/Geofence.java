@@ -0,0 +1,27 @@
+package com.spring.restaurantmanagementsystem.timeclock;
+
+public final class Geofence {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private Geofence() {
+    }
+
+    /**
+     * Great-circle distance between two coordinates using the haversine formula.
+     *
+     * @return The distance in meters.
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static boolean isWithin(double lat, double lon, double centerLat, double centerLon, double radiusMeters) {
+        return distanceMeters(lat, lon, centerLat, centerLon) <= radiusMeters;
+    }
+}
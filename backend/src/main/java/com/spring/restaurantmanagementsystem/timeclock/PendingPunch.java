@@ -0,0 +1,22 @@
+package com.spring.restaurantmanagementsystem.timeclock;
+
+import com.spring.restaurantmanagementsystem.model.PunchType;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A punch waiting in the ring buffer.
+ *
+ * @param ack Completed once the punch is committed, or {@code null} when nobody waits for it.
+ */
+public record PendingPunch(UUID id,
+                           Long userId,
+                           Long storeId,
+                           PunchType type,
+                           Instant punchedAt,
+                           Double latitude,
+                           Double longitude,
+                           CompletableFuture<Void> ack) {
+}
@@ -0,0 +1,78 @@
+package com.spring.restaurantmanagementsystem.timeclock;
+
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts punches with a single JDBC batch per flush and shard.
+ * Each batch commits or rolls back as a whole, so after a failure the ingestor can retry every punch
+ * of it without finding some already stored.
+ */
+@Component
+public class PunchBatchWriter {
+
+    private static final String INSERT_SQL = "insert into time_punches " +
+            "(id, user_id, store_id, type, punched_at, latitude, longitude) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public PunchBatchWriter(JdbcTemplate jdbcTemplate, ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        // A plain JDBC transaction on the template's own data source; the batch needs no entity manager
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    }
+
+    /**
+     * Splits punches into the batches {@link #write} accepts, one per shard of their stores.
+     */
+    public Collection<List<PendingPunch>> partition(List<PendingPunch> punches) {
+        if (shardRouter.getShardCount() == 1) {
+            return List.of(punches);
+        }
+        return punches.stream()
+                .collect(Collectors.groupingBy(punch -> shardRouter.shardOf(punch.storeId())))
+                .values();
+    }
+
+    /**
+     * @param punches Punches of stores on a single shard.
+     */
+    public void write(List<PendingPunch> punches) {
+        shardRouter.onShard(shardRouter.shardOf(punches.getFirst().storeId()),
+                () -> transactionTemplate.execute(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, punches, punches.size(), PunchBatchWriter::bind)));
+    }
+
+    private static void bind(PreparedStatement ps, PendingPunch punch) throws SQLException {
+        ps.setObject(1, punch.id());
+        ps.setLong(2, punch.userId());
+        ps.setLong(3, punch.storeId());
+        ps.setString(4, punch.type().name());
+        ps.setObject(5, OffsetDateTime.ofInstant(punch.punchedAt(), ZoneOffset.UTC));
+        setNullableDouble(ps, 6, punch.latitude());
+        setNullableDouble(ps, 7, punch.longitude());
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value != null) {
+            ps.setDouble(index, value);
+        } else {
+            ps.setNull(index, Types.DOUBLE);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.spring.restaurantmanagementsystem.timeclock;
+
+import com.spring.restaurantmanagementsystem.exception.PunchRejectedException;
+import com.spring.restaurantmanagementsystem.model.PunchType;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers punches in a bounded in-memory ring buffer and persists them from a single writer thread.
+ * The writer flushes whatever has accumulated as soon as it becomes free, so batches grow with load
+ * instead of adding a fixed delay to every punch. When the buffer is full, punches are rejected
+ * rather than queued without bound.
+ */
+@Component
+public class PunchIngestor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PunchIngestor.class);
+
+    private final PunchBatchWriter writer;
+    private final BlockingQueue<PendingPunch> ringBuffer;
+    private final int batchSize;
+    private final long pollTimeoutMs;
+    @Getter
+    private final AckMode ackMode;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public PunchIngestor(PunchBatchWriter writer,
+                         @Value("${application.timeclock.buffer-capacity:65536}") int bufferCapacity,
+                         @Value("${application.timeclock.batch-size:500}") int batchSize,
+                         @Value("${application.timeclock.poll-timeout-ms:50}") long pollTimeoutMs,
+                         @Value("${application.timeclock.ack-mode:DURABLE}") AckMode ackMode) {
+        this.writer = writer;
+        this.ringBuffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.ackMode = ackMode;
+    }
+
+    /**
+     * Places a punch in the ring buffer.
+     *
+     * @return The buffered punch; its {@code ack} completes once it is committed when running in
+     * {@link AckMode#DURABLE} mode and is {@code null} otherwise.
+     * @throws PunchRejectedException if the buffer is full or the ingestor is stopped.
+     */
+    public PendingPunch submit(Long userId, Long storeId, PunchType type, Instant punchedAt,
+                               Double latitude, Double longitude) {
+        CompletableFuture<Void> ack = ackMode == AckMode.DURABLE ? new CompletableFuture<>() : null;
+        PendingPunch punch = new PendingPunch(UUID.randomUUID(), userId, storeId, type, punchedAt,
+                latitude, longitude, ack);
+
+        if (!running || !ringBuffer.offer(punch)) {
+            throw rejected();
+        }
+        // The writer may have stopped between the check and the offer and will not drain this punch;
+        // if the writer has not taken it, it is still ours to withdraw
+        if (!running && ringBuffer.remove(punch)) {
+            throw rejected();
+        }
+        return punch;
+    }
+
+    private static PunchRejectedException rejected() {
+        return new PunchRejectedException(PunchRejectedException.Reason.OVERLOADED, "Time clock is busy, please retry");
+    }
+
+    public int getBacklog() {
+        return ringBuffer.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "timeclock-writer");
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        try {
+            // The writer keeps draining until the buffer is empty
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<PendingPunch> batch = new ArrayList<>(batchSize);
+        while (running || !ringBuffer.isEmpty()) {
+            try {
+                PendingPunch first = ringBuffer.poll(pollTimeoutMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ringBuffer.drainTo(batch, batchSize - 1);
+                // A failing shard must not fail, or write twice, the punches of the others
+                for (List<PendingPunch> shardBatch : writer.partition(batch)) {
+                    flush(shardBatch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Time clock writer interrupted with {} punches buffered", ringBuffer.size());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error while flushing {} punches", batch.size(), e);
+                batch.forEach(punch -> fail(punch, e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPunch> batch) {
+        try {
+            writer.write(batch);
+            batch.forEach(PunchIngestor::complete);
+        } catch (DataAccessException e) {
+            // Isolate the offending rows so a single bad punch does not fail the whole batch
+            log.warn("Batch insert of {} punches failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingPunch punch : batch) {
+                try {
+                    writer.write(List.of(punch));
+                    complete(punch);
+                } catch (DataAccessException rowError) {
+                    log.error("Dropping punch {} for user {} at store {}: {}",
+                            punch.id(), punch.userId(), punch.storeId(), rowError.getMessage());
+                    fail(punch, rowError);
+                }
+            }
+        }
+    }
+
+    private static void complete(PendingPunch punch) {
+        if (punch.ack() != null) {
+            punch.ack().complete(null);
+        }
+    }
+
+    private static void fail(PendingPunch punch, Exception cause) {
+        if (punch.ack() != null) {
+            punch.ack().completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.spring.restaurantmanagementsystem.warmup;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.security.AuthenticatedUser;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import com.spring.restaurantmanagementsystem.security.UserDetailsServiceImpl;
+import com.spring.restaurantmanagementsystem.service.StoreService;
+import com.spring.restaurantmanagementsystem.web.UserListJsonWriter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises the hot request paths before the application reports itself ready.
+ * Spring Boot only publishes {@code ReadinessState.ACCEPTING_TRAFFIC} once every runner has
+ * finished, so {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} until warm-up is done.
+ *
+ * <p>The JDBC pool is filled first. Then each step runs repeatedly: token signing and verification,
+ * the user lookup behind every authenticated request, the store list (query, mapping and cache) and
+ * serialization of a synthetic staff list. The latency of each step's first call and of its last calls
+ * is logged and exported as {@code app.warmup.latency}, so the effect of warm-up stays visible.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final String SYNTHETIC_USERNAME = "warmup";
+    private static final int SYNTHETIC_USERS = 200;
+    private static final int SYNTHETIC_STORES = 10;
+
+    private final JwtService jwtService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final StoreService storeService;
+    private final UserListJsonWriter userListJsonWriter;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int iterations;
+    private final long maxDurationNanos;
+    private final String defaultUser;
+
+    public WarmUpRunner(JwtService jwtService, UserDetailsServiceImpl userDetailsService, StoreService storeService,
+                        UserListJsonWriter userListJsonWriter, ObjectMapper objectMapper, DataSource dataSource,
+                        MeterRegistry meterRegistry,
+                        @Value("${application.warmup.enabled:true}") boolean enabled,
+                        @Value("${application.warmup.iterations:300}") int iterations,
+                        @Value("${application.warmup.max-duration-seconds:30}") long maxDurationSeconds,
+                        @Value("${DEF_USER}") String defaultUser) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.storeService = storeService;
+        this.userListJsonWriter = userListJsonWriter;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDurationNanos = TimeUnit.SECONDS.toNanos(maxDurationSeconds);
+        this.defaultUser = defaultUser;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!enabled) {
+            log.info("Warm-up disabled");
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + maxDurationNanos;
+
+        fillConnectionPool();
+        for (Map.Entry<String, Step> step : steps().entrySet()) {
+            runStep(step.getKey(), step.getValue(), deadline);
+        }
+        log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private Map<String, Step> steps() {
+        AuthenticatedUser principal = new AuthenticatedUser(0L, null, SYNTHETIC_USERNAME, "", List.of());
+        List<UserDto> users = syntheticUsers();
+        List<StoreDto> stores = users.stream().map(UserDto::store).distinct().toList();
+
+        Map<String, Step> steps = new LinkedHashMap<>();
+        steps.put("jwt", () -> jwtService.isTokenValid(jwtService.generateToken(SYNTHETIC_USERNAME), principal));
+        steps.put("user-lookup", () -> {
+            try {
+                userDetailsService.loadUserByUsername(defaultUser);
+            } catch (UsernameNotFoundException e) {
+                // The query, its plan and the statement are warmed up all the same
+            }
+        });
+        steps.put("store-list", storeService::getAllStores);
+        steps.put("serialization", () -> {
+            try (JsonGenerator generator = objectMapper.getFactory()
+                    .createGenerator(OutputStream.nullOutputStream(), JsonEncoding.UTF8)) {
+                userListJsonWriter.write(users, generator);
+            }
+            objectMapper.writeValue(OutputStream.nullOutputStream(), stores);
+        });
+        return steps;
+    }
+
+    /**
+     * Opens the pool's minimum number of idle connections up front, so the first requests
+     * do not wait for connections to be established.
+     */
+    private void fillConnectionPool() throws SQLException {
+        int connections = dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class).getMinimumIdle()
+                : 1;
+        List<Connection> held = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                held.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        log.info("Warm-up opened {} database connections", held.size());
+    }
+
+    private void runStep(String name, Step step, long deadline) throws Exception {
+        long cold = time(step);
+        int warmFrom = iterations - Math.max(1, iterations / 10);
+        long warmTotal = 0;
+        int warmCalls = 0;
+        int runs = 1;
+        for (; runs < iterations && System.nanoTime() < deadline; runs++) {
+            long elapsed = time(step);
+            if (runs >= warmFrom) {
+                warmTotal += elapsed;
+                warmCalls++;
+            }
+        }
+        // Cut short by the deadline before the last calls, the first call is the only measurement
+        long warm = warmCalls > 0 ? warmTotal / warmCalls : cold;
+
+        record(name, "cold", cold);
+        record(name, "warm", warm);
+        log.info("Warm-up {}: {} calls, first {} µs, warm {} µs", name, runs,
+                TimeUnit.NANOSECONDS.toMicros(cold), TimeUnit.NANOSECONDS.toMicros(warm));
+    }
+
+    private static long time(Step step) throws Exception {
+        long start = System.nanoTime();
+        step.run();
+        return System.nanoTime() - start;
+    }
+
+    private void record(String step, String phase, long nanos) {
+        TimeGauge.builder("app.warmup.latency", () -> nanos, TimeUnit.NANOSECONDS)
+                .description("Latency of a warm-up step on its first call (cold) and its last calls (warm)")
+                .tag("step", step)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private static List<UserDto> syntheticUsers() {
+        List<StoreDto> stores = new ArrayList<>(SYNTHETIC_STORES);
+        for (long i = 1; i <= SYNTHETIC_STORES; i++) {
+            stores.add(new StoreDto(i, "Store " + i, 41.38, 2.17));
+        }
+        List<UserDto> users = new ArrayList<>(SYNTHETIC_USERS);
+        for (long i = 1; i <= SYNTHETIC_USERS; i++) {
+            users.add(new UserDto(i, "user" + i, "user" + i + "@restaurant.com",
+                    Set.of(i % 2 == 0 ? "WAITER" : "CASHIER"), stores.get((int) (i % SYNTHETIC_STORES))));
+        }
+        return users;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+}
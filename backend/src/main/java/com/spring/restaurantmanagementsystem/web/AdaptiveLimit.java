@@ -0,0 +1,129 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limit that follows latency, in the manner of a gradient limiter: it compares the recent
+ * round-trip time with its long-term average, grows while the two stay close and the limit is actually used,
+ * and shrinks once requests slow down, which is the sign that they have started to queue somewhere.
+ *
+ * <p>Samples are gathered in windows of at least {@code window} and {@link #MIN_WINDOW_SAMPLES} samples;
+ * the limit is recomputed at the end of each window as
+ * {@code limit * clamp(TOLERANCE * longRtt / shortRtt, 0.5, 1) + sqrt(limit)}, smoothed and bounded.
+ */
+public class AdaptiveLimit {
+
+    static final int MIN_WINDOW_SAMPLES = 10;
+    // Latency may rise this much above the long-term average before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    // The long-term average spans this many windows, after a plain average over the first few
+    private static final int LONG_WINDOWS = 600;
+    private static final int WARM_UP_WINDOWS = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int limit;
+
+    // Guarded by lock
+    private double estimatedLimit;
+    private double longRtt;
+    private int windows;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    /**
+     * @param window    The minimum duration of a sampling window.
+     * @param nanoClock The time source for windows, {@code System::nanoTime} outside tests.
+     */
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, Duration window, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max, got " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.estimatedLimit = limit;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a slot if fewer than the limit are in use; never waits.
+     *
+     * @return Whether a slot was taken; it must then be given back with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Frees a slot and records how long its request took.
+     */
+    public void release(long rttNanos) {
+        long now = nanoClock.getAsLong();
+        int inFlightBefore = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            windowRttSum += rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+            if (windowSamples >= MIN_WINDOW_SAMPLES && now - windowStart >= windowNanos) {
+                update((double) windowRttSum / windowSamples, windowMaxInFlight);
+                windowStart = now;
+                windowRttSum = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double shortRtt, int maxInFlight) {
+        windows++;
+        if (windows <= WARM_UP_WINDOWS) {
+            longRtt += (shortRtt - longRtt) / windows;
+        } else {
+            longRtt += (shortRtt - longRtt) / LONG_WINDOWS;
+        }
+        // After a lasting drop in latency, let the long-term average catch up instead of growing for minutes
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // A limit that is not being used says nothing about what the server could take
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(TOLERANCE * longRtt / shortRtt, 0.5, 1.0);
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.clamp(estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+}
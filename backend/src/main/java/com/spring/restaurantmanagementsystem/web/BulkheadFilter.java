@@ -0,0 +1,71 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Gives each {@link EndpointClass} its own adaptive concurrency limit, so a slow group of endpoints,
+ * such as a login storm or a large staff export, cannot take every request thread and connection.
+ * Requests over their group's limit are answered with 503 and a retry hint right away instead of queuing.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Map<EndpointClass, AdaptiveLimit> limits;
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+
+    /**
+     * @param limits The limit of every endpoint class; classes without one are not limited.
+     */
+    public BulkheadFilter(Map<EndpointClass, AdaptiveLimit> limits, MeterRegistry meterRegistry) {
+        this.limits = new EnumMap<>(limits);
+        this.limits.forEach((endpointClass, limit) -> {
+            Gauge.builder("app.bulkhead.limit", limit, AdaptiveLimit::getLimit)
+                    .tag("endpoint", endpointClass.tag())
+                    .register(meterRegistry);
+            Gauge.builder("app.bulkhead.in_flight", limit, AdaptiveLimit::getInFlight)
+                    .tag("endpoint", endpointClass.tag())
+                    .register(meterRegistry);
+            rejected.put(endpointClass, meterRegistry.counter("app.bulkhead.rejected", "endpoint", endpointClass.tag()));
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        AdaptiveLimit limit = endpointClass != null ? limits.get(endpointClass) : null;
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limit.tryAcquire()) {
+            rejected.get(endpointClass).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is busy, please retry");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+}
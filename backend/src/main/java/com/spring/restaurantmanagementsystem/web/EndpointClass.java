@@ -0,0 +1,49 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Groups API endpoints by the resources they compete for, so that each group gets its own bulkhead.
+ */
+public enum EndpointClass {
+    /** Login and session checks; logins are CPU-bound in BCrypt. */
+    AUTH("auth"),
+    /** Shifts, punches and calendar feeds. */
+    SCHEDULE("schedule"),
+    /** Admin reads, such as the staff and store lists. */
+    ADMIN_READ("admin-read"),
+    /** Admin creates, updates, deletes and batches. */
+    ADMIN_WRITE("admin-write");
+
+    private final String tag;
+
+    EndpointClass(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return The name used in configuration keys and metric tags.
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * @return The class of the request, or {@code null} for paths outside the API.
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/admin/shifts") || path.startsWith("/api/timeclock/")
+                || path.startsWith("/api/calendar/")) {
+            return SCHEDULE;
+        }
+        if (path.startsWith("/api/admin/")) {
+            String method = request.getMethod();
+            return method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS") ? ADMIN_READ : ADMIN_WRITE;
+        }
+        return null;
+    }
+}
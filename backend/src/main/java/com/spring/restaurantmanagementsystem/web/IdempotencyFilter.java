@@ -0,0 +1,257 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Makes mutating API requests safe to retry: a request with an {@code Idempotency-Key} header runs
+ * once per caller and key, and repeats get the first response back with {@code Idempotent-Replayed: true}.
+ * A repeat arriving while the first request is still running waits for its response. Reusing a key
+ * for a different request is answered with 422; server errors are not kept, so they can be retried.
+ * The body is held in memory for the fingerprint, so keyed requests with a larger body than allowed get 413.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final long waitTimeoutMs;
+    private final int maxBodyBytes;
+    private final Map<String, Counter> outcomes;
+
+    public IdempotencyFilter(IdempotencyStore store, long waitTimeoutMs, int maxBodyBytes, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.maxBodyBytes = maxBodyBytes;
+        this.outcomes = Stream.of("executed", "replayed", "mismatch", "conflict").collect(Collectors.toMap(
+                outcome -> outcome,
+                outcome -> Counter.builder("app.idempotency.requests").tag("outcome", outcome)
+                        .description("Requests carrying an Idempotency-Key").register(meterRegistry)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(IDEMPOTENCY_KEY) == null || HttpMethod.GET.matches(method)
+                || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    IDEMPOTENCY_KEY + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = readBody(request);
+        if (body == null) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Requests with an " + IDEMPOTENCY_KEY + " are limited to " + maxBodyBytes + " bytes");
+            return;
+        }
+        String caller = caller();
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String fingerprint = fingerprint(cachedRequest);
+
+        while (true) {
+            switch (store.begin(caller, key, fingerprint)) {
+                case IdempotencyStore.Execute ignored -> {
+                    outcomes.get("executed").increment();
+                    execute(cachedRequest, response, filterChain, caller, key, fingerprint);
+                    return;
+                }
+                case IdempotencyStore.Replay replay -> {
+                    outcomes.get("replayed").increment();
+                    replay(replay.response(), response);
+                    return;
+                }
+                case IdempotencyStore.Mismatch ignored -> {
+                    outcomes.get("mismatch").increment();
+                    response.sendError(422, IDEMPOTENCY_KEY + " was already used for a different request");
+                    return;
+                }
+                case IdempotencyStore.InProgress inProgress -> {
+                    StoredResponse first = await(inProgress);
+                    if (first == null && !inProgress.response().isDone()) {
+                        outcomes.get("conflict").increment();
+                        response.sendError(HttpServletResponse.SC_CONFLICT,
+                                "A request with this " + IDEMPOTENCY_KEY + " is still being processed");
+                        return;
+                    }
+                    if (first != null) {
+                        outcomes.get("replayed").increment();
+                        replay(first, response);
+                        return;
+                    }
+                    // The first request failed without a response to keep, so this one claims the key again
+                }
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String caller, String key, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            int status = cachingResponse.getStatus();
+            if (status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                store.complete(caller, key, fingerprint, new StoredResponse(
+                        status, cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.abandon(caller, key, fingerprint);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setHeader(REPLAYED, "true");
+        if (stored.body().length == 0 && stored.status() >= HttpServletResponse.SC_BAD_REQUEST) {
+            // Error bodies are rendered by the error page after this filter, so let it render this one too
+            response.sendError(stored.status());
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private StoredResponse await(IdempotencyStore.InProgress inProgress) throws ServletException {
+        try {
+            return inProgress.response().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for a duplicate request", e);
+        } catch (ExecutionException e) {
+            throw new ServletException(e.getCause());
+        }
+    }
+
+    // Null when the body is larger than allowed; reads at most one byte past the limit
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        return body.length > maxBodyBytes ? null : body;
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The body is read up front for the fingerprint, so the controller reads this copy instead
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already here, so the listener is told at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
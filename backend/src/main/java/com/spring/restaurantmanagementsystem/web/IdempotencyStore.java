@@ -0,0 +1,250 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import com.spring.restaurantmanagementsystem.model.IdempotencyRecord;
+import com.spring.restaurantmanagementsystem.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Remembers the responses to requests carrying an {@code Idempotency-Key}, per caller and key.
+ * At most {@code maxEntries} answered keys are kept in memory, least recently used first out, each for
+ * {@code ttl} after its response; keys whose request is still running are never evicted. A request that arrives while the first one with its key is still
+ * running waits for that response instead of running again.
+ *
+ * <p>With a repository, completed responses are also written to the database and looked up there
+ * when a key is not in memory, so they survive restarts.
+ */
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final IdempotencyRecordRepository repository;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+    private volatile Instant nextCleanup = Instant.EPOCH;
+
+    /**
+     * @param repository Where completed responses are persisted, or {@code null} to keep them in memory only.
+     */
+    public IdempotencyStore(int maxEntries, Duration ttl, IdempotencyRecordRepository repository, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.repository = repository;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /** What to do with a request, decided by {@link #begin}. */
+    public sealed interface Claim {
+    }
+
+    /** No request with the key has run: the caller runs it and must {@link #complete} or {@link #abandon} it. */
+    public record Execute() implements Claim {
+    }
+
+    /** The request already ran; answer with its response. */
+    public record Replay(StoredResponse response) implements Claim {
+    }
+
+    /** The request with the key is still running; its response completes the future, or null if it failed. */
+    public record InProgress(CompletableFuture<StoredResponse> response) implements Claim {
+    }
+
+    /** The key was used for a different request. */
+    public record Mismatch() implements Claim {
+    }
+
+    /**
+     * Looks up the key and, if it is new, reserves it for the caller.
+     *
+     * @param caller      Who sent the request; keys of different callers never collide.
+     * @param key         The Idempotency-Key header.
+     * @param fingerprint Hash of the request, to recognise a key reused for another request.
+     * @return What the caller should do.
+     */
+    public Claim begin(String caller, String key, String fingerprint) {
+        String id = id(caller, key);
+        Entry entry;
+        lock.lock();
+        try {
+            Entry existing = entries.get(id);
+            if (existing != null && !existing.isExpired(clock.instant())) {
+                if (!existing.fingerprint.equals(fingerprint)) {
+                    return new Mismatch();
+                }
+                return existing.response.isDone() ? new Replay(existing.response.join())
+                        : new InProgress(existing.response);
+            }
+            entry = new Entry(fingerprint, null);
+            entries.put(id, entry);
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+
+        // Concurrent duplicates already wait on the new entry while the database is checked
+        Optional<IdempotencyRecord> persisted = findPersisted(id);
+        if (persisted.isPresent()) {
+            IdempotencyRecord record = persisted.get();
+            if (!record.getFingerprint().equals(fingerprint)) {
+                remove(id, entry);
+                entry.response.complete(null);
+                return new Mismatch();
+            }
+            StoredResponse response = new StoredResponse(record.getStatus(), record.getContentType(), record.getBody());
+            entry.expiresAt = record.getExpiresAt();
+            entry.response.complete(response);
+            return new Replay(response);
+        }
+        return new Execute();
+    }
+
+    /**
+     * Stores the response of a request the caller ran after {@link Execute}, and hands it to any waiting duplicates.
+     */
+    public void complete(String caller, String key, String fingerprint, StoredResponse response) {
+        String id = id(caller, key);
+        Instant expiresAt = clock.instant().plus(ttl);
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(id);
+            if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+                // Evicted while the request ran
+                entry = new Entry(fingerprint, expiresAt);
+                entries.put(id, entry);
+                evictOverflow();
+            }
+            entry.expiresAt = expiresAt;
+        } finally {
+            lock.unlock();
+        }
+        if (repository != null) {
+            persist(id, fingerprint, response, expiresAt);
+        }
+        entry.response.complete(response);
+    }
+
+    /**
+     * Releases a key whose request failed without a response worth replaying, so a retry runs it again.
+     * Waiting duplicates are released with {@code null}. A key since claimed by another request is left alone.
+     */
+    public void abandon(String caller, String key, String fingerprint) {
+        String id = id(caller, key);
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(id);
+            if (entry == null || !entry.fingerprint.equals(fingerprint) || entry.response.isDone()) {
+                return;
+            }
+            entries.remove(id, entry);
+        } finally {
+            lock.unlock();
+        }
+        entry.response.complete(null);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops the least recently used answered keys over the limit; running requests keep their keys
+    private void evictOverflow() {
+        Iterator<Entry> eldestFirst = entries.values().iterator();
+        while (entries.size() > maxEntries && eldestFirst.hasNext()) {
+            if (eldestFirst.next().response.isDone()) {
+                eldestFirst.remove();
+            }
+        }
+    }
+
+    private Optional<IdempotencyRecord> findPersisted(String id) {
+        if (repository == null) {
+            return Optional.empty();
+        }
+        return repository.findById(id).filter(record -> record.getExpiresAt().isAfter(clock.instant()));
+    }
+
+    // A failed write only costs durability across restarts, so the request's own response still goes out
+    private void persist(String id, String fingerprint, StoredResponse response, Instant expiresAt) {
+        if (response.body().length > IdempotencyRecord.MAX_BODY_BYTES) {
+            return;
+        }
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId(id);
+        record.setFingerprint(fingerprint);
+        record.setStatus(response.status());
+        record.setContentType(response.contentType());
+        record.setBody(response.body());
+        record.setExpiresAt(expiresAt);
+        try {
+            repository.save(record);
+            Instant now = clock.instant();
+            if (now.isAfter(nextCleanup)) {
+                nextCleanup = now.plus(Duration.ofMinutes(10));
+                repository.deleteExpired(now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not persist the response for an idempotency key: {}", e.getMessage());
+        }
+    }
+
+    private void remove(String id, Entry entry) {
+        lock.lock();
+        try {
+            entries.remove(id, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String id(String caller, String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((caller + '\n' + key).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private volatile Instant expiresAt;
+
+        private Entry(String fingerprint, Instant expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        // Entries still running have no expiry yet
+        private boolean isExpired(Instant now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.spring.restaurantmanagementsystem.web;
+
+/**
+ * A response kept for replay by the idempotency store.
+ *
+ * @param contentType The Content-Type header, or {@code null} if the response had none.
+ * @param body        The response body; empty for error responses rendered by the error page.
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
@@ -0,0 +1,92 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@code List<UserDto>} responses through {@link UserListJsonWriter} instead of Jackson
+ * data binding. Clients that accept {@link #NORMALIZED_JSON} get the normalized form with each
+ * store listed once; everyone else gets the usual JSON array.
+ */
+public class UserListHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<UserDto>> {
+
+    public static final String NORMALIZED_JSON_VALUE = "application/vnd.restaurant.normalized+json";
+    public static final MediaType NORMALIZED_JSON = MediaType.parseMediaType(NORMALIZED_JSON_VALUE);
+
+    private final JsonFactory jsonFactory;
+    private final UserListJsonWriter writer;
+
+    public UserListHttpMessageConverter(JsonFactory jsonFactory, UserListJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON, NORMALIZED_JSON);
+        this.jsonFactory = jsonFactory;
+        this.writer = writer;
+    }
+
+    @Override
+    public boolean canRead(@NonNull Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, @NonNull Class<?> clazz, @Nullable MediaType mediaType) {
+        if (type == null || !List.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        ResolvableType declared = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(declared.toClass())
+                && declared.asCollection().getGeneric(0).toClass() == UserDto.class
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        // The element type is only known from the declared type; see canWrite(Type, Class, MediaType)
+        return false;
+    }
+
+    @Override
+    @NonNull
+    public List<MediaType> getSupportedMediaTypes(@NonNull Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    protected void writeInternal(@NonNull List<UserDto> users, @Nullable Type type, @NonNull HttpOutputMessage outputMessage)
+            throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        try (JsonGenerator generator = jsonFactory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            if (contentType != null && NORMALIZED_JSON.isCompatibleWith(contentType)) {
+                writer.writeNormalized(users, generator);
+            } else {
+                writer.write(users, generator);
+            }
+        }
+    }
+
+    @Override
+    @NonNull
+    public List<UserDto> read(@NonNull Type type, @Nullable Class<?> contextClass, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("User lists are write-only", inputMessage);
+    }
+
+    @Override
+    @NonNull
+    protected List<UserDto> readInternal(@NonNull Class<? extends List<UserDto>> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("User lists are write-only", inputMessage);
+    }
+}
@@ -0,0 +1,153 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes user lists straight to a {@link JsonGenerator} without bean introspection.
+ * The whole list is loaded before writing starts; this replaces data binding, not the query.
+ * Field names are pre-encoded, role names are interned across responses (there are only a few),
+ * and each distinct store is serialized once per response and then copied as raw bytes for every
+ * user working there.
+ *
+ * <p>The default form is identical to what Jackson produces for {@code List<UserDto>}.
+ * The normalized form lists each store once and refers to it by id:
+ * <pre>
+ * {"stores":[{"id":1,"name":"...","latitude":..,"longitude":..}],
+ *  "users":[{"id":7,"username":"...","email":"...","roles":["WAITER"],"storeId":1}]}
+ * </pre>
+ */
+public class UserListJsonWriter {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ROLES = new SerializedString("roles");
+    private static final SerializedString STORE = new SerializedString("store");
+    private static final SerializedString STORE_ID = new SerializedString("storeId");
+    private static final SerializedString STORES = new SerializedString("stores");
+    private static final SerializedString USERS = new SerializedString("users");
+
+    private final Map<String, SerializableString> roleNames = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the users as a JSON array, in the same shape as Jackson's default serialization.
+     */
+    public void write(List<UserDto> users, JsonGenerator generator) throws IOException {
+        Map<StoreDto, SerializableString> stores = new HashMap<>();
+        generator.writeStartArray();
+        for (UserDto user : users) {
+            writeUserStart(user, generator);
+            generator.writeFieldName(STORE);
+            if (user.store() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeRawValue(stores.computeIfAbsent(user.store(), UserListJsonWriter::serialize));
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes the normalized form: every distinct store once, and users referring to it by id.
+     */
+    public void writeNormalized(List<UserDto> users, JsonGenerator generator) throws IOException {
+        Map<Long, StoreDto> stores = new LinkedHashMap<>();
+        for (UserDto user : users) {
+            if (user.store() != null) {
+                stores.putIfAbsent(user.store().id(), user.store());
+            }
+        }
+
+        generator.writeStartObject();
+        generator.writeFieldName(STORES);
+        generator.writeStartArray();
+        for (StoreDto store : stores.values()) {
+            generator.writeRawValue(serialize(store));
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName(USERS);
+        generator.writeStartArray();
+        for (UserDto user : users) {
+            writeUserStart(user, generator);
+            generator.writeFieldName(STORE_ID);
+            if (user.store() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(user.store().id());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeUserStart(UserDto user, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        writeNumber(user.id(), generator);
+        generator.writeFieldName(USERNAME);
+        generator.writeString(user.username());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(user.email());
+        generator.writeFieldName(ROLES);
+        if (user.roles() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (String role : user.roles()) {
+                generator.writeString(roleNames.computeIfAbsent(role, SerializedString::new));
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Serializes a store on its own so the bytes can be repeated for every user of that store.
+     */
+    private static SerializableString serialize(StoreDto store) {
+        StringBuilder json = new StringBuilder(96)
+                .append("{\"id\":").append(store.id())
+                .append(",\"name\":");
+        if (store.name() == null) {
+            json.append("null");
+        } else {
+            json.append('"');
+            JsonStringEncoder.getInstance().quoteAsString(store.name(), json);
+            json.append('"');
+        }
+        appendCoordinate(json.append(",\"latitude\":"), store.latitude());
+        appendCoordinate(json.append(",\"longitude\":"), store.longitude());
+        return new SerializedString(json.append('}').toString());
+    }
+
+    private static void appendCoordinate(StringBuilder json, Double value) {
+        // Jackson writes NaN and infinities as strings by default
+        if (value != null && !Double.isFinite(value)) {
+            json.append('"').append(value).append('"');
+        } else {
+            json.append(value);
+        }
+    }
+
+    private static void writeNumber(Long value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
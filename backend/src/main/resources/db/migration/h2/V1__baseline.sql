@@ -0,0 +1,124 @@
+-- The schema as Hibernate generated it before migrations took over. Databases created that way are
+-- baselined at version 0 and run this as well, so every statement skips what already exists; the
+-- change feed columns are added to users and stores created before the feed.
+
+create sequence if not exists change_seq start with 1 increment by 1;
+create sequence if not exists cache_invalidation_seq start with 1 increment by 1;
+
+create table if not exists stores (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    latitude float(53) not null,
+    longitude float(53) not null,
+    change_seq bigint,
+    changed_at timestamp(6) with time zone,
+    constraint pk_stores primary key (id)
+);
+
+create table if not exists roles (
+    id bigint generated by default as identity,
+    name enum ('ADMIN','CASHIER','WAITER') not null,
+    constraint pk_roles primary key (id),
+    constraint uk_roles_name unique (name)
+);
+
+create table if not exists users (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    email varchar(255) not null,
+    store_id bigint,
+    change_seq bigint,
+    changed_at timestamp(6) with time zone,
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint fk_users_store foreign key (store_id) references stores
+);
+
+alter table stores add column if not exists change_seq bigint;
+alter table stores add column if not exists changed_at timestamp(6) with time zone;
+alter table users add column if not exists change_seq bigint;
+alter table users add column if not exists changed_at timestamp(6) with time zone;
+
+create table if not exists user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    constraint pk_user_roles primary key (role_id, user_id),
+    constraint fk_user_roles_user foreign key (user_id) references users,
+    constraint fk_user_roles_role foreign key (role_id) references roles
+);
+
+create table if not exists shifts (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    store_id bigint,
+    title varchar(255) not null,
+    start_time timestamp(6) not null,
+    end_time timestamp(6) not null,
+    updated_at timestamp(6) with time zone not null,
+    constraint pk_shifts primary key (id),
+    constraint fk_shifts_user foreign key (user_id) references users on delete cascade,
+    constraint fk_shifts_store foreign key (store_id) references stores on delete cascade
+);
+
+create table if not exists time_punches (
+    id uuid not null,
+    user_id bigint not null,
+    store_id bigint not null,
+    type enum ('CLOCK_IN','CLOCK_OUT') not null,
+    punched_at timestamp(6) with time zone not null,
+    latitude float(53),
+    longitude float(53),
+    constraint pk_time_punches primary key (id),
+    constraint fk_time_punches_user foreign key (user_id) references users on delete cascade,
+    constraint fk_time_punches_store foreign key (store_id) references stores on delete cascade
+);
+
+create table if not exists outbox_events (
+    id bigint generated by default as identity,
+    entity_type enum ('ROLE','STORE','USER') not null,
+    entity_id bigint not null,
+    change_type enum ('CREATED','DELETED','PASSWORD_CHANGED','UPDATED') not null,
+    occurred_at timestamp(6) with time zone not null,
+    payload varchar(4000),
+    constraint pk_outbox_events primary key (id)
+);
+
+create table if not exists outbox_offsets (
+    consumer varchar(100) not null,
+    last_event_id bigint not null,
+    updated_at timestamp(6) with time zone not null,
+    constraint pk_outbox_offsets primary key (consumer)
+);
+
+create table if not exists idempotency_records (
+    id varchar(64) not null,
+    fingerprint varchar(64) not null,
+    status integer not null,
+    content_type varchar(100),
+    body varbinary(1000000),
+    expires_at timestamp(6) with time zone not null,
+    constraint pk_idempotency_records primary key (id)
+);
+
+create table if not exists change_tombstones (
+    id bigint not null,
+    entity_type enum ('ROLE','STORE','USER') not null,
+    entity_id bigint not null,
+    deleted_at timestamp(6) with time zone not null,
+    constraint pk_change_tombstones primary key (id)
+);
+
+create table if not exists cache_invalidations (
+    id bigint not null,
+    entity_type enum ('ROLE','STORE','USER') not null,
+    entity_id bigint,
+    origin varchar(36) not null,
+    created_at timestamp(6) with time zone not null,
+    constraint pk_cache_invalidations primary key (id)
+);
+
+create index if not exists idx_stores_change_seq on stores (change_seq);
+create index if not exists idx_users_change_seq on users (change_seq);
+create index if not exists idx_user_roles_role_id on user_roles (role_id);
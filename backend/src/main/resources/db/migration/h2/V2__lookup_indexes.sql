@@ -0,0 +1,16 @@
+-- Indexes for the repository lookups. Foreign keys get one each, led by the key column, with the
+-- column the lookup orders by (or the other key of a join table) next so the index also covers it.
+
+-- findByStore and the store's staff list, in id order
+create index idx_users_store_id on users (store_id, id);
+-- Loading a user's roles; the primary key leads with role_id
+create index idx_user_roles_user_id on user_roles (user_id, role_id);
+-- A user's or a store's shifts, in start order
+create index idx_shifts_user_id on shifts (user_id, start_time);
+create index idx_shifts_store_id on shifts (store_id, start_time);
+-- A store's punches in a time range, and cascading a user's deletion
+create index idx_time_punches_store_id on time_punches (store_id, punched_at);
+create index idx_time_punches_user_id on time_punches (user_id);
+-- Periodic cleanup of expired rows
+create index idx_idempotency_records_expires_at on idempotency_records (expires_at);
+create index idx_cache_invalidations_created_at on cache_invalidations (created_at);
@@ -0,0 +1,9 @@
+-- Counters handed out in commit order: a transaction locks its row right before committing
+create table commit_sequences (
+    name varchar(50) not null,
+    last_number bigint not null,
+    constraint pk_commit_sequences primary key (name)
+);
+
+-- Outbox ids continue after the events written with identity ids
+insert into commit_sequences (name, last_number) select 'outbox', coalesce(max(id), 0) from outbox_events;
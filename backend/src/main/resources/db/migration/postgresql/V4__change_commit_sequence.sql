@@ -0,0 +1,19 @@
+-- Change numbers are drawn from a commit sequence now, continuing after the ones the change_seq sequence gave out
+insert into commit_sequences (name, last_number)
+select 'changes', greatest(
+        coalesce((select max(change_seq) from users), 0),
+        coalesce((select max(change_seq) from stores), 0),
+        coalesce((select max(id) from change_tombstones), 0));
+
+drop sequence if exists change_seq;
+
+-- The highest tombstone id deleted by retention; change feed cursors below it have to sync again
+create table change_tombstone_horizon (
+    id integer not null,
+    pruned_through bigint not null,
+    constraint pk_change_tombstone_horizon primary key (id)
+);
+
+insert into change_tombstone_horizon (id, pruned_through) values (1, 0);
+
+create index idx_change_tombstones_deleted_at on change_tombstones (deleted_at);
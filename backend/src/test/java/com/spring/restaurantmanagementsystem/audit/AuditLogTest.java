@@ -0,0 +1,231 @@
+package com.spring.restaurantmanagementsystem.audit;
+
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the audit log, written to a temporary directory. Stopping the log drains its queue, so
+ * a stopped log has written everything it was given.
+ */
+class AuditLogTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T09:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    private final List<AuditLog> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        started.stream().filter(AuditLog::isRunning).forEach(AuditLog::stop);
+    }
+
+    // Helper method to start a log in the test directory, keeping every segment
+    private AuditLog startLog(int segmentBytes) {
+        return startLog(segmentBytes, 0, 0);
+    }
+
+    private AuditLog startLog(int segmentBytes, long retentionDays, long maxBytes) {
+        AuditLog auditLog = new AuditLog(directory.toString(), segmentBytes, retentionDays, maxBytes,
+                1024, 64, 10, new SimpleMeterRegistry());
+        auditLog.start();
+        started.add(auditLog);
+        return auditLog;
+    }
+
+    private static AuditRecord record(int minute, EntityType entityType, long entityId) {
+        return new AuditRecord(T0.plusSeconds(60L * minute), "admin", entityType, ChangeType.UPDATED, entityId);
+    }
+
+    @Test
+    @DisplayName("Should keep records across restarts and find them by time range and entity")
+    void query_ShouldFilterByRangeAndEntityAfterRestart() {
+        // Arrange
+        AuditLog first = startLog(1 << 20);
+        first.record(record(0, EntityType.USER, 1));
+        first.record(record(1, EntityType.STORE, 1));
+        first.record(record(2, EntityType.USER, 2));
+        first.stop();
+
+        AuditLog second = startLog(1 << 20);
+        second.record(record(3, EntityType.USER, 1));
+        second.stop();
+
+        // Act
+        AuditLog reopened = startLog(1 << 20);
+        List<AuditRecord> userOne = reopened.query(T0, T0.plusSeconds(3600), EntityType.USER, 1L, 100);
+        List<AuditRecord> firstMinutes = reopened.query(T0.plusSeconds(60), T0.plusSeconds(120), null, null, 100);
+
+        // Assert
+        assertEquals(List.of(record(0, EntityType.USER, 1), record(3, EntityType.USER, 1)), userOne);
+        assertEquals(List.of(record(1, EntityType.STORE, 1), record(2, EntityType.USER, 2)), firstMinutes);
+    }
+
+    @Test
+    @DisplayName("Should roll over to new segments when one is full and query across them")
+    void record_ShouldRollSegments() {
+        // Arrange
+        AuditLog auditLog = startLog(2048);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            auditLog.record(record(i, EntityType.USER, i));
+        }
+        auditLog.stop();
+        AuditLog reopened = startLog(2048);
+
+        // Assert
+        List<AuditRecord> all = reopened.query(T0, T0.plusSeconds(60L * 200), null, null, 1000);
+        assertEquals(200, all.size());
+        assertEquals(record(199, EntityType.USER, 199), all.getLast());
+        assertEquals(List.of(record(150, EntityType.USER, 150)),
+                reopened.query(T0, T0.plusSeconds(60L * 200), EntityType.USER, 150L, 1000));
+        assertEquals(5, reopened.query(T0, T0.plusSeconds(60L * 200), null, null, 5).size());
+        assertTrue(directory.toFile().list().length > 1);
+    }
+
+    @Test
+    @DisplayName("Should return the newest records first, across segments")
+    void queryNewest_ShouldReturnNewestRecordsFirst() {
+        // Arrange
+        AuditLog auditLog = startLog(2048);
+        for (int i = 0; i < 200; i++) {
+            auditLog.record(record(i, EntityType.USER, i % 10));
+        }
+        auditLog.stop();
+        AuditLog reopened = startLog(2048);
+
+        // Act
+        List<AuditRecord> newest = reopened.queryNewest(T0, T0.plusSeconds(60L * 200), null, null, 100);
+        List<AuditRecord> newestOfUserThree = reopened.queryNewest(T0, T0.plusSeconds(60L * 200), EntityType.USER, 3L, 3);
+
+        // Assert
+        List<AuditRecord> expected = new ArrayList<>();
+        for (int i = 199; i >= 100; i--) {
+            expected.add(record(i, EntityType.USER, i % 10));
+        }
+        assertEquals(expected, newest);
+        assertEquals(List.of(record(193, EntityType.USER, 3), record(183, EntityType.USER, 3), record(173, EntityType.USER, 3)),
+                newestOfUserThree);
+    }
+
+    @Test
+    @DisplayName("Should delete full segments past the retention period and keep the newer ones")
+    void record_ShouldDeleteSegmentsPastRetention() {
+        // Arrange: a month-old log spread over several segments, written without retention
+        Instant old = Instant.now().minus(Duration.ofDays(30)).truncatedTo(ChronoUnit.MILLIS);
+        Instant recent = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        AuditLog oldLog = startLog(2048);
+        for (int i = 0; i < 200; i++) {
+            oldLog.record(new AuditRecord(old.plusSeconds(i), "admin", EntityType.USER, ChangeType.UPDATED, i));
+        }
+        oldLog.stop();
+        int oldSegments = directory.toFile().list().length;
+
+        // Act
+        AuditLog auditLog = startLog(2048, 7, 0);
+        int segmentsAfterStart = directory.toFile().list().length;
+        for (int i = 0; i < 100; i++) {
+            auditLog.record(new AuditRecord(recent.plusSeconds(i), "admin", EntityType.USER, ChangeType.UPDATED, i));
+        }
+        auditLog.stop();
+        AuditLog reopened = startLog(2048, 7, 0);
+
+        // Assert: only the segment that was still being written keeps its old records
+        assertTrue(oldSegments > 2);
+        assertEquals(1, segmentsAfterStart);
+        assertEquals(100, reopened.query(recent, recent.plusSeconds(100), null, null, 1000).size());
+        int oldKept = reopened.query(old, old.plusSeconds(200), null, null, 1000).size();
+        assertTrue(oldKept > 0 && oldKept < 200, "old records kept: " + oldKept);
+    }
+
+    @Test
+    @DisplayName("Should delete the oldest segments beyond the size cap")
+    void record_ShouldKeepSegmentsWithinMaxBytes() {
+        // Arrange
+        AuditLog auditLog = startLog(2048, 0, 3 * 2048);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            auditLog.record(record(i, EntityType.USER, i));
+        }
+        auditLog.stop();
+        AuditLog reopened = startLog(2048, 0, 3 * 2048);
+
+        // Assert
+        List<AuditRecord> kept = reopened.query(T0, T0.plusSeconds(60L * 200), null, null, 1000);
+        assertEquals(3, directory.toFile().list().length);
+        assertEquals(record(199, EntityType.USER, 199), kept.getLast());
+        assertTrue(kept.size() < 200);
+        assertEquals(kept, reopened.query(kept.getFirst().timestamp(), T0.plusSeconds(60L * 200), null, null, 1000));
+    }
+
+    @Test
+    @DisplayName("Should ignore a partly written record and continue writing in its place")
+    void open_ShouldDiscardTornRecord() throws IOException {
+        // Arrange
+        try (SegmentedAuditFile file = SegmentedAuditFile.open(directory, 4096, Duration.ZERO, 0)) {
+            file.append(List.of(record(0, EntityType.USER, 1), record(1, EntityType.USER, 2)));
+        }
+        // Simulate a crash that persisted the start of the second record but not its checksum
+        try (FileChannel channel = FileChannel.open(directory.resolve("audit-0000000000.log"),
+                StandardOpenOption.WRITE)) {
+            int secondRecord = AuditSegment.HEADER_BYTES + 8 + 18 + "admin".length();
+            channel.write(ByteBuffer.allocate(4).putInt(0, 12345), secondRecord + 4);
+        }
+
+        // Act
+        try (SegmentedAuditFile file = SegmentedAuditFile.open(directory, 4096, Duration.ZERO, 0)) {
+            file.append(List.of(record(2, EntityType.USER, 3)));
+
+            // Assert
+            assertEquals(List.of(record(0, EntityType.USER, 1), record(2, EntityType.USER, 3)),
+                    file.query(0, Long.MAX_VALUE, record -> true, 100));
+        }
+    }
+
+    @Test
+    @DisplayName("Should attribute changes to the authenticated user")
+    void onEntityChanged_ShouldRecordActor() {
+        // Arrange
+        AuditLog auditLog = startLog(1 << 20);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("manager", null, List.of()));
+
+        // Act
+        auditLog.onEntityChanged(new EntityChangedEvent(EntityType.STORE, ChangeType.DELETED, 7L));
+        SecurityContextHolder.clearContext();
+        auditLog.onEntityChanged(new EntityChangedEvent(EntityType.USER, ChangeType.CREATED, 8L));
+        auditLog.stop();
+
+        // Assert
+        List<AuditRecord> records = startLog(1 << 20).query(Instant.EPOCH, Instant.now(), null, null, 10);
+        assertEquals(List.of("manager", AuditLog.SYSTEM_ACTOR), records.stream().map(AuditRecord::actor).toList());
+        assertEquals(ChangeType.DELETED, records.getFirst().changeType());
+        assertEquals(7L, records.getFirst().entityId());
+    }
+}
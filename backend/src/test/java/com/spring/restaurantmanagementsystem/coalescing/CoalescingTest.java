@@ -0,0 +1,216 @@
+package com.spring.restaurantmanagementsystem.coalescing;
+
+import com.spring.restaurantmanagementsystem.config.CoalescingConfig;
+import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import com.spring.restaurantmanagementsystem.service.StoreService;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for request coalescing on H2. Every statement is counted and slowed down, so the callers of a
+ * burst all arrive while the first one is still reading. Tests run outside a test transaction, since
+ * calls inside one are never coalesced.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({CoalescingConfig.class, StoreService.class, ShardRouter.class, CoalescingTest.SlowStatements.class})
+class CoalescingTest {
+
+    private static final AtomicInteger STATEMENTS = new AtomicInteger();
+    private static volatile long statementDelayMs;
+
+    @Autowired
+    private StoreService storeService;
+
+    @TestConfiguration
+    static class SlowStatements {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer slowStatementInspector() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.incrementAndGet();
+                sleep(statementDelayMs);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @AfterEach
+    void resetDelay() {
+        statementDelayMs = 0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs {@code call} from {@code callers} threads released at once.
+     *
+     * @return The number of statements the burst issued, and each caller's outcome.
+     */
+    private <T> int burst(int callers, Callable<T> call, List<Future<T>> outcomes) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(callers);
+        int before = STATEMENTS.get();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                outcomes.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+        }
+        return STATEMENTS.get() - before;
+    }
+
+    @Test
+    @DisplayName("Should keep database load flat as identical concurrent reads increase")
+    void burst_ShouldShareOneReadPerBurst() throws Exception {
+        // Arrange
+        StoreDto store = storeService.createStore(new CreateStoreRequest("Coalesced", 41.38, 2.17));
+        statementDelayMs = 200;
+        int storesSingle = burst(1, storeService::getAllStores, new ArrayList<>());
+        int usersSingle = burst(1, () -> storeService.getUsersByStoreId(store.id()), new ArrayList<>());
+
+        // Act
+        List<Future<List<StoreDto>>> stores = new ArrayList<>();
+        int storesBurst = burst(50, storeService::getAllStores, stores);
+        int usersBurst10 = burst(10, () -> storeService.getUsersByStoreId(store.id()), new ArrayList<>());
+        int usersBurst50 = burst(50, () -> storeService.getUsersByStoreId(store.id()), new ArrayList<>());
+
+        // Assert
+        assertEquals(storesSingle, storesBurst);
+        assertEquals(usersSingle, usersBurst10);
+        assertEquals(usersSingle, usersBurst50);
+        for (Future<List<StoreDto>> result : stores) {
+            assertSame(stores.getFirst().get(), result.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand a failure to every caller of the burst and run the next call again")
+    void burst_ShouldShareFailureWithoutKeepingIt() throws Exception {
+        // Arrange
+        statementDelayMs = 200;
+        List<Future<Object>> outcomes = new ArrayList<>();
+
+        // Act
+        int statements = burst(20, () -> storeService.getUsersByStoreId(999_999L), outcomes);
+        int before = STATEMENTS.get();
+        assertThrows(ResourceNotFoundException.class, () -> storeService.getUsersByStoreId(999_999L));
+
+        // Assert
+        assertEquals(1, statements);
+        assertEquals(1, STATEMENTS.get() - before);
+        for (Future<Object> outcome : outcomes) {
+            ExecutionException failure = assertThrows(ExecutionException.class, outcome::get);
+            assertInstanceOf(ResourceNotFoundException.class, failure.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Should rerun the call for a waiter when the caller running it is interrupted")
+    void execute_InterruptedLeader_ShouldNotFailWaiters() throws Throwable {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(Duration.ZERO);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        Thread leader = Thread.ofPlatform().start(() -> {
+            try {
+                singleFlight.execute("key", () -> {
+                    leaderStarted.countDown();
+                    Thread.sleep(10_000);
+                    return "leader";
+                });
+            } catch (Throwable ignored) {
+                // Interrupted, as intended
+            }
+        });
+        leaderStarted.await();
+        List<Object> waiterResult = new ArrayList<>();
+        Thread waiter = Thread.ofPlatform().start(() -> {
+            try {
+                waiterResult.add(singleFlight.execute("key", () -> "waiter"));
+            } catch (Throwable e) {
+                waiterResult.add(e);
+            }
+        });
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        leader.interrupt();
+        leader.join();
+        waiter.join();
+
+        // Assert
+        assertEquals(List.of("waiter"), waiterResult);
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    @DisplayName("Should reuse a result within the window until cleared")
+    void execute_WithWindow_ShouldReuseResultUntilCleared() throws Throwable {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(Duration.ofMinutes(1));
+        AtomicInteger runs = new AtomicInteger();
+        SingleFlight.Call call = runs::incrementAndGet;
+
+        // Act
+        Object first = singleFlight.execute("key", call);
+        Object second = singleFlight.execute("key", call);
+        singleFlight.clear();
+        Object third = singleFlight.execute("key", call);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertEquals(2, third);
+    }
+}
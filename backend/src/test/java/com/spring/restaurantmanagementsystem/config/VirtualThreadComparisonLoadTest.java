@@ -0,0 +1,134 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and latency of platform-thread and virtual-thread request handling
+ * with 1k concurrent clients calling authenticated endpoints (JWT verification plus DB lookups).
+ * Each mode boots its own application on a random port and an in-memory H2 database.
+ * Run with {@code mvn test -Pload-tests}.
+ */
+@Tag("load")
+class VirtualThreadComparisonLoadTest {
+
+    private static final int CLIENTS = 1_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @Test
+    @DisplayName("Should report throughput and latency with and without virtual threads")
+    void compareThreadModes() throws Exception {
+        Result platform = run("platform");
+        Result virtual = run("virtual-threads");
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertTrue(platform.completed() > 0 && virtual.completed() > 0);
+    }
+
+    private Result run(String mode) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=true",
+                        "application.security.jwt.secret-key=c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0",
+                        "application.security.jwt.expiration=3600000",
+                        "DEF_USER=admin",
+                        "DEF_PASS=admin123",
+                        "logging.level.root=WARN");
+        if (!"platform".equals(mode)) {
+            builder.profiles(mode);
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String cookie = "jwtToken=" + context.getBean(JwtService.class).generateToken("admin");
+            List<URI> targets = List.of(
+                    URI.create("http://localhost:" + port + "/api/auth/me"),
+                    URI.create("http://localhost:" + port + "/api/admin/stores"));
+
+            drive(targets, cookie, WARMUP, null);
+            return drive(targets, cookie, MEASUREMENT, mode);
+        }
+    }
+
+    /**
+     * Runs a closed loop of {@link #CLIENTS} virtual-thread clients for the given duration.
+     */
+    private Result drive(List<URI> targets, String cookie, Duration duration, String mode) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int clientId = i;
+                executor.execute(() -> {
+                    int request = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest httpRequest = HttpRequest.newBuilder(targets.get((clientId + request++) % targets.size()))
+                                .header("Cookie", cookie)
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - start);
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(mode, sorted.length, errors.get(), sorted.length / (double) duration.toSeconds(),
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String mode, long completed, long errors, double throughput, double p50Ms, double p99Ms) {
+        @Override
+        public String toString() {
+            return String.format("%-16s %d clients: %.0f req/s, errors %d, p50 %.1f ms, p99 %.1f ms",
+                    mode, CLIENTS, throughput, errors, p50Ms, p99Ms);
+        }
+    }
+}
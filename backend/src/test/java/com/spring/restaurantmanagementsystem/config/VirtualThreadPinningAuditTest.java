@@ -0,0 +1,80 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Audits the application's own bytecode for monitor usage.
+ * On Java 21 a virtual thread that blocks while holding a monitor pins its carrier thread,
+ * so {@code synchronized} methods and blocks are not allowed in request code paths;
+ * use {@link java.util.concurrent.locks.ReentrantLock} instead.
+ */
+class VirtualThreadPinningAuditTest {
+
+    @Test
+    @DisplayName("Should not use synchronized methods or blocks in application classes")
+    void applicationClasses_ShouldNotUseMonitors() throws IOException, URISyntaxException {
+        // Arrange
+        Path classesRoot = Path.of(BackendApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> findings = new ArrayList<>();
+
+        // Act
+        try (Stream<Path> classFiles = Files.walk(classesRoot)) {
+            for (Path classFile : classFiles.filter(path -> path.toString().endsWith(".class")).toList()) {
+                try (InputStream in = Files.newInputStream(classFile)) {
+                    new ClassReader(in).accept(new MonitorFinder(findings), ClassReader.SKIP_DEBUG);
+                }
+            }
+        }
+
+        // Assert
+        assertTrue(findings.isEmpty(), "Monitor usage pins virtual threads: " + findings);
+    }
+
+    private static final class MonitorFinder extends ClassVisitor {
+        private final List<String> findings;
+        private String className;
+
+        MonitorFinder(List<String> findings) {
+            super(Opcodes.ASM9);
+            this.findings = findings;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            className = name.replace('/', '.');
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            String method = className + "#" + name;
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                findings.add(method + " (synchronized method)");
+            }
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        findings.add(method + " (synchronized block)");
+                    }
+                }
+            };
+        }
+    }
+}
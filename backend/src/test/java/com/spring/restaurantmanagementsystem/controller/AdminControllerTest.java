@@ -2,12 +2,16 @@ package com.spring.restaurantmanagementsystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
 import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.dto.UserField;
+import com.spring.restaurantmanagementsystem.exception.CrossShardMoveException;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException; // Import your custom exception
 import com.spring.restaurantmanagementsystem.security.JwtService;
 import com.spring.restaurantmanagementsystem.security.UserDetailsServiceImpl;
 import com.spring.restaurantmanagementsystem.service.AdminService;
+import com.spring.restaurantmanagementsystem.web.UserListHttpMessageConverter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,10 +27,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -38,6 +45,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -96,6 +104,83 @@ public class AdminControllerTest {
         verify(adminService, times(1)).getAllUsers();
     }
 
+    /**
+     * Test case for retrieving all users in the normalized form.
+     * Verifies that each store is listed once and users refer to it by id.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return users in the normalized form when the client accepts it")
+    void getAllUsers_Normalized_ShouldListStoresOnce() throws Exception {
+        // Arrange
+        StoreDto store = new StoreDto(10L, "Downtown", 41.38, 2.17);
+        UserDto user1 = new UserDto(1L, "waiter", "waiter@mail.com", Set.of("WAITER"), store);
+        UserDto user2 = new UserDto(2L, "cashier", "cashier@mail.com", Set.of("CASHIER"), store);
+        when(adminService.getAllUsers()).thenReturn(List.of(user1, user2));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users")
+                        .accept(UserListHttpMessageConverter.NORMALIZED_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(UserListHttpMessageConverter.NORMALIZED_JSON))
+                .andExpect(jsonPath("$.stores.size()").value(1))
+                .andExpect(jsonPath("$.stores[0].name").value("Downtown"))
+                .andExpect(jsonPath("$.users.size()").value(2))
+                .andExpect(jsonPath("$.users[1].storeId").value(10));
+    }
+
+    /**
+     * Test case for retrieving a sparse fieldset of users.
+     * Verifies that only the requested fields are asked for and returned.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return only the requested fields when fields is given")
+    void getAllUsers_WithFields_ShouldReturnRequestedFields() throws Exception {
+        // Arrange
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.USERNAME);
+        when(adminService.getUserFields(fields, 0, null))
+                .thenReturn(List.of(Map.of("id", 1L, "username", "admin")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users").param("fields", "id,username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("admin"))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+
+        verify(adminService, times(1)).getUserFields(fields, 0, null);
+    }
+
+    /**
+     * Test case for an unknown field in a sparse fieldset.
+     * Verifies that the request is rejected before the service is called.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return BAD_REQUEST for an unknown field")
+    void getAllUsers_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+
+        verify(adminService, times(0)).getUserFields(any(), anyInt(), any());
+    }
+
+    /**
+     * Test case for a page number past the supported range.
+     * Verifies that the request is rejected before the service computes the rows to read.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return BAD_REQUEST for a page too deep to read")
+    void getAllUsers_WithPageOutOfRange_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users").param("page", String.valueOf(Integer.MAX_VALUE)).param("size", "1000"))
+                .andExpect(status().isBadRequest());
+
+        verify(adminService, times(0)).getUsers(anyInt(), anyInt());
+    }
+
     /**
      * Test case for creating a new user.
      * Verifies that the POST /api/admin/users endpoint successfully creates a user.
@@ -155,6 +240,29 @@ public class AdminControllerTest {
         verify(adminService, times(1)).updateUser(eq(userId), any(UpdateUserRequest.class));
     }
 
+    /**
+     * Test case for moving a user to a store on another shard.
+     * Verifies that the refusal is reported as a conflict with its reason.
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return CONFLICT with a message when the store is on another shard")
+    void updateUser_WithStoreOnAnotherShard_ShouldReturnConflict() throws Exception {
+        // Arrange
+        Long userId = 2L;
+        UpdateUserRequest request = new UpdateUserRequest(null, null, null, 3L);
+        when(adminService.updateUser(eq(userId), any(UpdateUserRequest.class)))
+                .thenThrow(new CrossShardMoveException("staff cannot be moved across shards"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/admin/users/{id}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("staff cannot be moved across shards"));
+    }
+
     /**
      * Test case for deleting an existing user.
      * Verifies that the DELETE /api/admin/users/{id} endpoint successfully deletes a user.
@@ -0,0 +1,106 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.calendar.CalendarFeed;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import com.spring.restaurantmanagementsystem.security.UserDetailsServiceImpl;
+import com.spring.restaurantmanagementsystem.service.CalendarFeedService;
+import com.spring.restaurantmanagementsystem.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the CalendarFeedController.
+ * Verifies conditional GET handling and feed ownership checks.
+ */
+@WebMvcTest(
+        controllers = CalendarFeedController.class,
+        excludeAutoConfiguration = UserDetailsServiceAutoConfiguration.class
+)
+class CalendarFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CalendarFeedService calendarFeedService;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private JwtService jwtService; // Mocked because it's part of the security context setup
+
+    @MockitoBean
+    private UserDetailsServiceImpl userDetailsService; // Mocked for security context setup
+
+    private final CalendarFeed feed = new CalendarFeed(
+            "BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n".getBytes(StandardCharsets.UTF_8),
+            "\"abc123\"",
+            Instant.parse("2026-10-18T12:00:00Z"),
+            1);
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return the feed with validators on first request")
+    void getStoreFeed_ShouldReturnFeedWithValidators() throws Exception {
+        // Arrange
+        when(calendarFeedService.getStoreFeed(1L)).thenReturn(feed);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/calendar/stores/1.ics"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().contentTypeCompatibleWith("text/calendar"))
+                .andExpect(content().bytes(feed.content()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return 304 Not Modified when the ETag matches")
+    void getStoreFeed_MatchingEtag_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        when(calendarFeedService.getStoreFeed(1L)).thenReturn(feed);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/calendar/stores/1.ics").header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @WithMockUser(username = "waiter", roles = "WAITER")
+    @DisplayName("Should forbid reading another user's feed")
+    void getUserFeed_OtherUser_ShouldReturnForbidden() throws Exception {
+        // Arrange
+        User waiter = new User();
+        waiter.setId(5L);
+        waiter.setUsername("waiter");
+        when(userService.findByUsername("waiter")).thenReturn(Optional.of(waiter));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/calendar/users/6.ics"))
+                .andExpect(status().isForbidden());
+        verify(calendarFeedService, never()).getUserFeed(6L);
+    }
+}
@@ -0,0 +1,167 @@
+package com.spring.restaurantmanagementsystem.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for read/write routing with two local H2 databases standing in for the primary and a replica.
+ * Each database holds a single row naming itself, so a query shows where it ran.
+ */
+class ReadWriteDataSourceTest {
+
+    private final List<DriverManagerDataSource> databases = new ArrayList<>();
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        databases.forEach(database -> new JdbcTemplate(database).execute("SHUTDOWN"));
+    }
+
+    // Helper method to create an in-memory database that knows its own name
+    private DriverManagerDataSource database(String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        // Once shut down, the database stays unreachable instead of being recreated empty
+        DriverManagerDataSource database = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";IFEXISTS=TRUE");
+        databases.add(database);
+        return database;
+    }
+
+    private ReplicaDataSource replicas(DataSource... replicas) {
+        Map<String, DataSource> named = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            named.put("replica-" + (i + 1), replicas[i]);
+        }
+        return new ReplicaDataSource(named, primary, new ReadYourWritesTracker(0),
+                Duration.ofSeconds(5));
+    }
+
+    private static String currentNode(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("Should run read-only transactions on the replica and others on the primary")
+    void transactions_ShouldBeRoutedByReadOnlyFlag() {
+        // Arrange
+        ReplicaDataSource replicas = replicas(replica);
+        DataSource dataSource = new ReadWriteDataSource(primary, replicas, new ReadYourWritesTracker(0));
+
+        // Act & Assert
+        assertEquals("replica", currentNode(dataSource, true));
+        assertEquals("primary", currentNode(dataSource, false));
+    }
+
+    @Test
+    @DisplayName("Should open connections with explicit credentials on a replica")
+    void getConnection_WithCredentials_ShouldUseReplica() throws SQLException {
+        // Arrange
+        ReplicaDataSource replicas = replicas(replica);
+
+        // Act
+        String node;
+        try (Connection connection = replicas.getConnection("", "")) {
+            node = new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("SELECT name FROM node", String.class);
+        }
+
+        // Assert
+        assertEquals("replica", node);
+        assertEquals(1, replicas.getHealthyReplicas());
+    }
+
+    @Test
+    @DisplayName("Should spread read-only transactions across replicas in turn")
+    void readOnlyTransactions_ShouldBeLoadBalanced() {
+        // Arrange
+        DataSource secondReplica = database("replica2");
+        DataSource dataSource = new ReadWriteDataSource(primary, replicas(replica, secondReplica),
+                new ReadYourWritesTracker(0));
+
+        // Act
+        List<String> nodes = List.of(currentNode(dataSource, true), currentNode(dataSource, true),
+                currentNode(dataSource, true), currentNode(dataSource, true));
+
+        // Assert
+        assertEquals(List.of("replica", "replica2", "replica", "replica2"), nodes);
+    }
+
+    @Test
+    @DisplayName("Should skip a replica that is down and fall back to the primary when none is left")
+    void readOnlyTransactions_ShouldAvoidUnhealthyReplicas() {
+        // Arrange
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        ReplicaDataSource replicas = replicas(unreachable, replica);
+        DataSource dataSource = new ReadWriteDataSource(primary, replicas, new ReadYourWritesTracker(0));
+
+        // Act
+        replicas.checkHealth();
+        String withOneHealthy = currentNode(dataSource, true);
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+        databases.remove(replica);
+        replicas.checkHealth();
+        String withNoneHealthy = currentNode(dataSource, true);
+
+        // Assert
+        assertEquals("replica", withOneHealthy);
+        assertEquals("primary", withNoneHealthy);
+        assertEquals(0, replicas.getHealthyReplicas());
+    }
+
+    @Test
+    @DisplayName("Should send a user's reads to the primary right after their own write")
+    void readYourWrites_ShouldPinWriterToPrimary() {
+        // Arrange
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+        ReplicaDataSource replicas = new ReplicaDataSource(Map.of("replica-1", replica), primary, tracker,
+                Duration.ofSeconds(5));
+        DataSource dataSource = new ReadWriteDataSource(primary, replicas, tracker);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of()));
+
+        // Act
+        String beforeWrite = currentNode(dataSource, true);
+        currentNode(dataSource, false);
+        String afterWrite = currentNode(dataSource, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("bob", null, List.of()));
+        String otherUser = currentNode(dataSource, true);
+
+        // Assert
+        assertEquals("replica", beforeWrite);
+        assertEquals("primary", afterWrite);
+        assertEquals("replica", otherUser);
+    }
+}
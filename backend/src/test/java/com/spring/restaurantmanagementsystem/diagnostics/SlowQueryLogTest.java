@@ -0,0 +1,151 @@
+package com.spring.restaurantmanagementsystem.diagnostics;
+
+import com.spring.restaurantmanagementsystem.controller.DiagnosticsController;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the slow-query log on a local H2 database. A zero threshold makes every statement slow.
+ */
+class SlowQueryLogTest {
+
+    private static final String SELECT_BY_STORE = "SELECT name FROM staff WHERE store_id = ?";
+
+    private DriverManagerDataSource database;
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        database = new DriverManagerDataSource("jdbc:h2:mem:slow-query-log;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE staff (id BIGINT PRIMARY KEY, name VARCHAR(20), store_id BIGINT)");
+        jdbc.execute("CREATE INDEX idx_staff_store_id ON staff (store_id)");
+        jdbc.update("INSERT INTO staff VALUES (1, 'Ana', 7)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        slowQueryLog.close();
+        new JdbcTemplate(database).execute("SHUTDOWN");
+    }
+
+    // Helper method to wait for the background EXPLAIN
+    private static String awaitPlan(SlowQuery query) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && query.getPlan() == null; attempt++) {
+            Thread.sleep(50);
+        }
+        return query.getPlan();
+    }
+
+    @Test
+    @DisplayName("Should keep a slow statement with the plan for its bound parameters")
+    void record_ShouldCaptureThePlan() throws InterruptedException {
+        // Arrange
+        slowQueryLog = new SlowQueryLog(true, Duration.ZERO, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(slowQueryLog.wrap(database));
+
+        // Act
+        jdbc.queryForList(SELECT_BY_STORE, String.class, 7L);
+
+        // Assert
+        List<SlowQuery> recent = slowQueryLog.recent();
+        assertEquals(1, recent.size());
+        assertEquals(SELECT_BY_STORE, recent.getFirst().getSql());
+        assertEquals(Thread.currentThread().getName(), recent.getFirst().getOrigin());
+        String plan = awaitPlan(recent.getFirst());
+        assertNotNull(plan);
+        assertTrue(plan.contains("IDX_STAFF_STORE_ID"), plan);
+    }
+
+    @Test
+    @DisplayName("Should explain a slow insert without running it again")
+    void record_ShouldNotRepeatAnInsert() throws InterruptedException {
+        // Arrange
+        slowQueryLog = new SlowQueryLog(true, Duration.ZERO, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(slowQueryLog.wrap(database));
+
+        // Act
+        jdbc.update("INSERT INTO staff VALUES (?, ?, ?)", 2L, "Bo", 7L);
+        String plan = awaitPlan(slowQueryLog.recent().getFirst());
+
+        // Assert
+        assertNotNull(plan);
+        assertEquals(2, new JdbcTemplate(database).queryForObject("SELECT COUNT(*) FROM staff", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should tag a statement with the controller method handling the request")
+    void record_ShouldTagTheControllerMethod() throws NoSuchMethodException {
+        // Arrange
+        slowQueryLog = new SlowQueryLog(true, Duration.ZERO, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/diagnostics/slow-queries");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new DiagnosticsController(slowQueryLog), "getSlowQueries", String.class));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        new JdbcTemplate(slowQueryLog.wrap(database)).queryForList(SELECT_BY_STORE, String.class, 7L);
+
+        // Assert
+        assertEquals("DiagnosticsController.getSlowQueries", slowQueryLog.recent().getFirst().getOrigin());
+    }
+
+    @Test
+    @DisplayName("Should tag statements run on every shard with the controller method handling the request")
+    void record_OnEveryShard_ShouldTagTheControllerMethod() throws NoSuchMethodException {
+        // Arrange
+        slowQueryLog = new SlowQueryLog(true, Duration.ZERO, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/diagnostics/slow-queries");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new DiagnosticsController(slowQueryLog), "getSlowQueries", String.class));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        JdbcTemplate jdbc = new JdbcTemplate(slowQueryLog.wrap(database));
+
+        // Act
+        try (ShardRouter shardRouter = new ShardRouter(2)) {
+            shardRouter.onEveryShard(() -> jdbc.queryForList(SELECT_BY_STORE, String.class, 7L));
+        }
+
+        // Assert
+        assertEquals(List.of("DiagnosticsController.getSlowQueries", "DiagnosticsController.getSlowQueries"),
+                slowQueryLog.recent().stream().map(SlowQuery::getOrigin).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest slow statements and none under the threshold")
+    void record_ShouldKeepTheNewestStatements() {
+        // Arrange
+        slowQueryLog = new SlowQueryLog(true, Duration.ZERO, 2);
+        JdbcTemplate jdbc = new JdbcTemplate(slowQueryLog.wrap(database));
+        SlowQueryLog patientLog = new SlowQueryLog(true, Duration.ofHours(1), 2);
+
+        // Act
+        jdbc.execute("SELECT 1");
+        jdbc.execute("SELECT 2");
+        jdbc.execute("SELECT 3");
+        new JdbcTemplate(patientLog.wrap(database)).execute("SELECT 4");
+        patientLog.close();
+
+        // Assert
+        assertEquals(List.of("SELECT 3", "SELECT 2"), slowQueryLog.recent().stream().map(SlowQuery::getSql).toList());
+        assertTrue(patientLog.recent().isEmpty());
+    }
+}
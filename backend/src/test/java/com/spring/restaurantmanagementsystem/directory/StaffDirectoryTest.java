@@ -0,0 +1,231 @@
+package com.spring.restaurantmanagementsystem.directory;
+
+import com.spring.restaurantmanagementsystem.config.StaffDirectoryConfig;
+import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.invalidation.HibernateCacheInvalidator;
+import com.spring.restaurantmanagementsystem.invalidation.Invalidation;
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.service.AdminService;
+import com.spring.restaurantmanagementsystem.service.StoreService;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the staff directory: its queries on hand-built content, the parallel scan against a plain count,
+ * and the loader against H2, including changes committed after the load. Tests run outside a test
+ * transaction so that changes reach the directory after their commit, as they would in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({StaffDirectoryConfig.class, AdminService.class, StoreService.class, ShardRouter.class})
+class StaffDirectoryTest {
+
+    private static final byte WAITER = StaffDirectory.roleBit(RoleEnum.WAITER);
+    private static final byte CASHIER = StaffDirectory.roleBit(RoleEnum.CASHIER);
+
+    @Autowired
+    private StaffDirectory staffDirectory;
+
+    @Autowired
+    private StaffDirectoryLoader staffDirectoryLoader;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void seedRoles() {
+        for (RoleEnum name : List.of(RoleEnum.WAITER, RoleEnum.CASHIER)) {
+            if (roleRepository.findByName(name).isEmpty()) {
+                Role role = new Role();
+                role.setName(name);
+                roleRepository.save(role);
+            }
+        }
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+    }
+
+    @Test
+    @DisplayName("Should answer headcount, missing role and region queries, and follow changes in place")
+    void queries_ShouldReflectContentAndChanges() {
+        // Arrange
+        StaffDirectory directory = new StaffDirectory();
+        directory.replace(List.of(new StoreDto(1L, "Barcelona", 41.38, 2.17), new StoreDto(2L, "Madrid", 40.42, -3.70)),
+                new long[]{30, 10, 20, 40},
+                new long[]{1, 1, 2, StaffDirectory.NO_STORE_ID},
+                new byte[]{WAITER, (byte) (WAITER | CASHIER), WAITER, CASHIER});
+
+        // Act
+        Map<Long, Integer> waiters = directory.headcountByStore(RoleEnum.WAITER);
+        List<StoreDto> withoutCashier = directory.storesWithout(RoleEnum.CASHIER);
+        int inCatalonia = directory.headcountInRegion(40.5, 42.9, 0.1, 3.3, null);
+        directory.putUser(25, 2, CASHIER);
+        directory.removeUser(10);
+        directory.putStore(new StoreDto(3L, "Valencia", 39.47, -0.38));
+
+        // Assert
+        assertEquals(Map.of(1L, 2, 2L, 1), waiters);
+        assertEquals(List.of(2L), withoutCashier.stream().map(StoreDto::id).toList());
+        assertEquals(2, inCatalonia);
+        assertEquals(Map.of(1L, 1, 2L, 2, 3L, 0), directory.headcountByStore(null));
+        assertEquals(List.of(1L, 3L), directory.storesWithout(RoleEnum.CASHIER).stream().map(StoreDto::id).toList());
+        assertEquals(4, directory.size());
+    }
+
+    @Test
+    @DisplayName("Should leave out a store known only from its users until the store itself arrives")
+    void putUser_UnknownStore_ShouldStayOutOfResultsUntilStoreArrives() {
+        // Arrange
+        StaffDirectory directory = new StaffDirectory();
+        directory.replace(List.of(new StoreDto(1L, "Barcelona", 41.38, 2.17)),
+                new long[]{10}, new long[]{1}, new byte[]{WAITER});
+
+        // Act
+        directory.putUser(20, 2, WAITER);
+        List<StoreDto> beforeStore = directory.storesWithout(RoleEnum.CASHIER);
+        Map<Long, Integer> headcountBeforeStore = directory.headcountByStore(null);
+        directory.putStore(new StoreDto(2L, "Madrid", 40.42, -3.70));
+
+        // Assert
+        assertEquals(List.of(1L), beforeStore.stream().map(StoreDto::id).toList());
+        assertEquals(Map.of(1L, 1), headcountBeforeStore);
+        assertEquals(List.of(new StoreDto(1L, "Barcelona", 41.38, 2.17), new StoreDto(2L, "Madrid", 40.42, -3.70)),
+                directory.storesWithout(RoleEnum.CASHIER));
+        assertEquals(Map.of(1L, 1, 2L, 1), directory.headcountByStore(null));
+    }
+
+    @Test
+    @DisplayName("Should count the same with the parallel scan as a plain loop over the users")
+    void headcountByStore_LargeDirectory_ShouldMatchPlainCount() {
+        // Arrange
+        int users = StaffDirectory.PARALLEL_THRESHOLD * 3 + 7;
+        int stores = 50;
+        Random random = new Random(42);
+        long[] ids = new long[users];
+        long[] storeIds = new long[users];
+        byte[] roles = new byte[users];
+        int[] expectedWaiters = new int[stores + 1];
+        for (int i = 0; i < users; i++) {
+            ids[i] = users - i;
+            storeIds[i] = 1 + random.nextInt(stores);
+            roles[i] = random.nextBoolean() ? WAITER : CASHIER;
+            if (roles[i] == WAITER) {
+                expectedWaiters[(int) storeIds[i]]++;
+            }
+        }
+        List<StoreDto> storeList = LongStream.rangeClosed(1, stores)
+                .mapToObj(id -> new StoreDto(id, "Store " + id, 0.0, 0.0)).toList();
+        StaffDirectory directory = new StaffDirectory();
+        directory.replace(storeList, ids, storeIds, roles);
+
+        // Act
+        Map<Long, Integer> waiters = directory.headcountByStore(RoleEnum.WAITER);
+
+        // Assert
+        for (long store = 1; store <= stores; store++) {
+            assertEquals(expectedWaiters[(int) store], waiters.get(store));
+        }
+        assertEquals(users, directory.size());
+    }
+
+    @Test
+    @DisplayName("Should load users from the database and apply changes committed afterwards")
+    void loader_ShouldLoadAndFollowCommittedChanges() {
+        // Arrange
+        StoreDto store = storeService.createStore(new CreateStoreRequest("Directory", 41.38, 2.17));
+        UserDto waiter = adminService.createUser(
+                new CreateUserRequest("dirWaiter", "dirWaiter@restaurant.com", "password123", "WAITER", store.id()));
+        staffDirectoryLoader.load();
+        int loadedWaiters = staffDirectory.headcountByStore(RoleEnum.WAITER).get(store.id());
+
+        // Act
+        UserDto cashier = adminService.createUser(
+                new CreateUserRequest("dirCashier", "dirCashier@restaurant.com", "password123", "CASHIER", store.id()));
+        adminService.updateUser(waiter.id(), new UpdateUserRequest(null, null, "CASHIER", null));
+        StoreDto empty = storeService.createStore(new CreateStoreRequest("Directory empty", 41.0, 2.0));
+        int cashiersBeforeDelete = staffDirectory.headcountByStore(RoleEnum.CASHIER).get(store.id());
+        adminService.deleteUser(cashier.id());
+
+        // Assert
+        assertTrue(staffDirectoryLoader.isLoaded());
+        assertEquals(1, loadedWaiters);
+        assertEquals(0, staffDirectory.headcountByStore(RoleEnum.WAITER).get(store.id()));
+        assertEquals(2, cashiersBeforeDelete);
+        assertEquals(1, staffDirectory.headcountByStore(RoleEnum.CASHIER).get(store.id()));
+        assertTrue(staffDirectory.storesWithout(RoleEnum.CASHIER).stream().anyMatch(s -> s.id().equals(empty.id())));
+    }
+
+    @Test
+    @DisplayName("Should read the rows named by another node's invalidations again")
+    void loader_ShouldRefreshFromInvalidations() {
+        // Arrange
+        StoreDto first = storeService.createStore(new CreateStoreRequest("Remote first", 41.38, 2.17));
+        StoreDto second = storeService.createStore(new CreateStoreRequest("Remote second", 40.42, -3.70));
+        UserDto moved = adminService.createUser(
+                new CreateUserRequest("dirMoved", "dirMoved@restaurant.com", "password123", "WAITER", first.id()));
+        UserDto gone = adminService.createUser(
+                new CreateUserRequest("dirGone", "dirGone@restaurant.com", "password123", "WAITER", first.id()));
+        staffDirectoryLoader.load();
+        // Changed by another node, so no event reaches this one
+        jdbcTemplate.update("UPDATE users SET store_id = ? WHERE id = ?", second.id(), moved.id());
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", gone.id());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", gone.id());
+        jdbcTemplate.update("UPDATE stores SET name = 'Remote renamed' WHERE id = ?", second.id());
+        List<Invalidation> batch = List.of(new Invalidation(EntityType.USER, moved.id()),
+                new Invalidation(EntityType.USER, gone.id()), new Invalidation(EntityType.STORE, second.id()));
+        int waitersBefore = staffDirectory.headcountByStore(RoleEnum.WAITER).get(first.id());
+
+        // Act
+        new HibernateCacheInvalidator(entityManagerFactory).invalidate(batch);
+        staffDirectoryLoader.refresh(batch);
+
+        // Assert
+        assertEquals(2, waitersBefore);
+        assertEquals(0, staffDirectory.headcountByStore(RoleEnum.WAITER).get(first.id()));
+        assertEquals(1, staffDirectory.headcountByStore(RoleEnum.WAITER).get(second.id()));
+        assertTrue(staffDirectory.storesWithout(RoleEnum.CASHIER).stream()
+                .anyMatch(store -> store.id().equals(second.id()) && store.name().equals("Remote renamed")));
+    }
+}
@@ -0,0 +1,154 @@
+package com.spring.restaurantmanagementsystem.invalidation;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UpdateStoreRequest;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.service.StoreService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the invalidation bus: batching with a stand-in transport, and two application nodes
+ * sharing one H2 database through the table transport, each with its own second-level cache. The
+ * database is served over TCP, so the nodes connect to it as they would to a shared server.
+ */
+class InvalidationBusTest {
+
+    private static Server database;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws SQLException {
+        database = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        nodeA = startNode("a");
+        nodeB = startNode("b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+        database.stop();
+    }
+
+    private static ConfigurableApplicationContext startNode(String name) {
+        // Arguments, since they override application.properties where builder properties do not
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.datasource.url=jdbc:h2:tcp://localhost:" + database.getPort()
+                                + "/mem:invalidation-test;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.open-in-view=false",
+                        "--application.security.jwt.secret-key=c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0",
+                        "--application.security.jwt.expiration=3600000",
+                        "--DEF_USER=admin",
+                        "--DEF_PASS=admin123",
+                        "--application.warmup.enabled=false",
+                        "--application.audit.directory=target/invalidation-test-audit-" + name,
+                        "--application.invalidation.transport=table",
+                        "--application.invalidation.flush-interval-ms=50",
+                        "--logging.level.root=WARN");
+    }
+
+    @Test
+    @DisplayName("Should evict a store from another node's second-level cache once it changes")
+    void tableTransport_ShouldInvalidateOtherNode() throws InterruptedException {
+        // Arrange
+        StoreService storeServiceA = nodeA.getBean(StoreService.class);
+        StoreService storeServiceB = nodeB.getBean(StoreService.class);
+        StoreDto store = storeServiceA.createStore(new CreateStoreRequest("Before", 41.38, 2.17));
+        assertEquals("Before", storeServiceB.getStoreById(store.id()).name());
+        boolean cachedOnB = nodeB.getBean(EntityManagerFactory.class).getCache().contains(Store.class, store.id());
+
+        // Act
+        storeServiceA.updateStore(store.id(), new UpdateStoreRequest("After", 41.38, 2.17));
+        String seenByB = storeServiceB.getStoreById(store.id()).name();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!seenByB.equals("After") && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            seenByB = storeServiceB.getStoreById(store.id()).name();
+        }
+
+        // Assert
+        assertTrue(cachedOnB);
+        assertEquals("After", seenByB);
+    }
+
+    @Test
+    @DisplayName("Should send repeated ids once and collapse too many ids of a type into one")
+    void flush_ShouldCoalesceBatch() {
+        // Arrange
+        List<List<Invalidation>> sent = new ArrayList<>();
+        InvalidationTransport transport = new InvalidationTransport() {
+            @Override
+            public void start(Receiver receiver) {
+            }
+
+            @Override
+            public void send(List<Invalidation> batch) {
+                sent.add(batch);
+            }
+
+            @Override
+            public String getName() {
+                return "test";
+            }
+        };
+        InvalidationBus bus = new InvalidationBus(transport, List.of(), Duration.ofSeconds(1), 3, new SimpleMeterRegistry());
+
+        // Act
+        bus.publish(new Invalidation(EntityType.USER, 1L));
+        bus.publish(new Invalidation(EntityType.USER, 1L));
+        bus.publish(new Invalidation(EntityType.USER, 2L));
+        for (long id = 1; id <= 5; id++) {
+            bus.publish(new Invalidation(EntityType.STORE, id));
+        }
+        bus.flush();
+        bus.flush();
+
+        // Assert
+        assertEquals(List.of(List.of(new Invalidation(EntityType.USER, 1L), new Invalidation(EntityType.USER, 2L),
+                Invalidation.all(EntityType.STORE))), sent);
+    }
+
+    @Test
+    @DisplayName("Should not hand this node's own batches to listeners that only follow other nodes")
+    void flush_ShouldSkipOwnBatchesForOtherNodeListeners() {
+        // Arrange
+        List<List<Invalidation>> all = new ArrayList<>();
+        List<List<Invalidation>> othersOnly = new ArrayList<>();
+        InvalidationBus bus = new InvalidationBus(new InProcessTransport(),
+                List.of(all::add, InvalidationListener.ofOtherNodes(othersOnly::add)),
+                Duration.ofSeconds(1), 100, new SimpleMeterRegistry());
+
+        // Act
+        bus.publish(new Invalidation(EntityType.STORE, 1L));
+        bus.flush();
+
+        // Assert
+        assertEquals(List.of(List.of(new Invalidation(EntityType.STORE, 1L))), all);
+        assertTrue(othersOnly.isEmpty());
+    }
+}
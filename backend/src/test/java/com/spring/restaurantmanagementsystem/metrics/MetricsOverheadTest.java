@@ -0,0 +1,151 @@
+package com.spring.restaurantmanagementsystem.metrics;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that the instrumentation used on hot paths stays cheap:
+ * recording must not allocate once meters exist, and the recordings made while serving an
+ * authenticated request must cost under 1% of that request.
+ * The request-level measurement boots the application and is run with {@code mvn test -Pload-tests}.
+ */
+class MetricsOverheadTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Should record timers, counters, summaries and query counts without allocating")
+    void recording_ShouldNotAllocate() {
+        // Arrange
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Timer timer = Timer.builder("test.timer").publishPercentileHistogram().register(registry);
+        Counter counter = Counter.builder("test.counter").register(registry);
+        DistributionSummary summary = DistributionSummary.builder("test.summary").publishPercentileHistogram().register(registry);
+        QueryCountInspector inspector = new QueryCountInspector();
+        recordAll(timer, counter, summary, inspector, WARMUP);
+
+        // Act
+        long before = threads.getCurrentThreadAllocatedBytes();
+        recordAll(timer, counter, summary, inspector, ITERATIONS);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert: slack for time-window rotation and JIT, far below one byte per recording
+        assertTrue(allocated < 16 * 1024, "instrumentation allocated " + allocated + " bytes over " + ITERATIONS + " iterations");
+    }
+
+    @Test
+    @Tag("load")
+    @DisplayName("Should keep instrumentation under 1% of an authenticated request")
+    void instrumentationOverhead_ShouldBeUnderOnePercentOfRequest() throws Exception {
+        // Arrange: the full application on H2, so the request includes JWT checks and DB lookups
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=true",
+                        "application.security.jwt.secret-key=c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0",
+                        "application.security.jwt.expiration=3600000",
+                        "DEF_USER=admin",
+                        "DEF_PASS=admin123",
+                        "logging.level.root=WARN")
+                .run();
+             HttpClient client = HttpClient.newHttpClient()) {
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/me"))
+                    .header("Cookie", "jwtToken=" + context.getBean(JwtService.class).generateToken("admin"))
+                    .build();
+
+            for (int i = 0; i < 5_000; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            // Act: request latency and the number of recordings each request makes
+            int requests = 5_000;
+            long recordingsBefore = totalRecordings(registry);
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+            double requestNanos = (System.nanoTime() - start) / (double) requests;
+            double recordingsPerRequest = (totalRecordings(registry) - recordingsBefore) / (double) requests;
+
+            Timer timer = Timer.builder("test.timer").publishPercentileHistogram().register(registry);
+            double recordNanos = measureRecording(timer);
+
+            // Assert
+            double overhead = recordingsPerRequest * recordNanos / requestNanos;
+            System.out.printf("Request %.0f ns, %.1f recordings per request at %.1f ns each, overhead %.3f%%%n",
+                    requestNanos, recordingsPerRequest, recordNanos, overhead * 100);
+            assertTrue(overhead < 0.01, "overhead " + overhead * 100 + "%");
+        }
+    }
+
+    /**
+     * Measures one instrumented section: two clock reads plus the recording itself.
+     */
+    private static double measureRecording(Timer timer) {
+        for (int i = 0; i < WARMUP; i++) {
+            timer.record(i & 0xFFFFF, TimeUnit.NANOSECONDS);
+        }
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            timer.record(i & 0xFFFFF, TimeUnit.NANOSECONDS);
+            sink += System.nanoTime() - t0;
+        }
+        double nanos = (System.nanoTime() - start) / (double) ITERATIONS;
+        assertTrue(sink != 0);
+        return nanos;
+    }
+
+    private static long totalRecordings(MeterRegistry registry) {
+        long total = 0;
+        for (Meter meter : registry.getMeters()) {
+            if (meter instanceof Timer timer) {
+                total += timer.count();
+            } else if (meter instanceof DistributionSummary summary) {
+                total += summary.count();
+            }
+        }
+        return total;
+    }
+
+    private static void recordAll(Timer timer, Counter counter, DistributionSummary summary,
+                                  QueryCountInspector inspector, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            timer.record(i & 0xFFFF, TimeUnit.NANOSECONDS);
+            counter.increment();
+            summary.record(i & 0xF);
+            inspector.inspect("select 1");
+        }
+    }
+}
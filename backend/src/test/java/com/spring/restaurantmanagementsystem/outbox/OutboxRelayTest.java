@@ -0,0 +1,255 @@
+package com.spring.restaurantmanagementsystem.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.config.OutboxConfig;
+import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.model.OutboxOffset;
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.repository.OutboxOffsetRepository;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.service.AdminService;
+import com.spring.restaurantmanagementsystem.service.StoreService;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the transactional outbox on H2, with all three sinks: an in-process listener, a file and a
+ * webhook served by a local stub. Tests run outside a test transaction, so the relay sees committed
+ * events only, as it would in production; the relay is driven by hand instead of by its poll.
+ */
+@DataJpaTest(properties = {
+        "application.outbox.enabled=true",
+        "application.outbox.poll-interval-ms=3600000",
+        "application.outbox.batch-size=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OutboxConfig.class, AdminService.class, StoreService.class, ShardRouter.class,
+        OutboxRelayTest.Listeners.class})
+class OutboxRelayTest {
+
+    private static final HttpServer WEBHOOK = startWebhookStub();
+    private static final List<JsonNode> WEBHOOK_RECEIVED = new CopyOnWriteArrayList<>();
+    private static volatile int webhookStatus = 200;
+    private static final Path FILE = Path.of("target", "outbox-relay-test-" + ProcessHandle.current().pid() + ".ndjson");
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxOffsetRepository outboxOffsetRepository;
+
+    @Autowired
+    private Listeners listeners;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @DynamicPropertySource
+    static void sinks(DynamicPropertyRegistry registry) {
+        registry.add("application.outbox.webhook.url",
+                () -> "http://localhost:" + WEBHOOK.getAddress().getPort() + "/events");
+        registry.add("application.outbox.file.path", FILE::toString);
+    }
+
+    @TestConfiguration
+    static class Listeners {
+        private final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @EventListener
+        void onMessage(OutboxMessage message) {
+            received.add(message);
+        }
+    }
+
+    // The stub records every batch it accepts and answers with the status set by the test
+    private static HttpServer startWebhookStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            ObjectMapper objectMapper = new ObjectMapper();
+            server.createContext("/events", exchange -> {
+                JsonNode batch = objectMapper.readTree(exchange.getRequestBody());
+                int status = webhookStatus;
+                if (status == 200) {
+                    batch.forEach(WEBHOOK_RECEIVED::add);
+                }
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AfterAll
+    static void stopWebhookStub() throws IOException {
+        WEBHOOK.stop(0);
+        Files.deleteIfExists(FILE);
+    }
+
+    @BeforeEach
+    void catchUp() {
+        if (roleRepository.findByName(RoleEnum.WAITER).isEmpty()) {
+            Role waiter = new Role();
+            waiter.setName(RoleEnum.WAITER);
+            roleRepository.save(waiter);
+        }
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+        webhookStatus = 200;
+        outboxRelay.relayPending();
+        listeners.received.clear();
+        WEBHOOK_RECEIVED.clear();
+    }
+
+    private List<String> fileLines() throws IOException {
+        return Files.readAllLines(FILE);
+    }
+
+    @Test
+    @DisplayName("Should relay committed changes to every sink in order, with the entity after the change")
+    void relayPending_ShouldDeliverToAllSinksInOrder() throws IOException {
+        // Arrange
+        int linesBefore = fileLines().size();
+        StoreDto store = storeService.createStore(new CreateStoreRequest("Outbox", 41.38, 2.17));
+        UserDto user = adminService.createUser(
+                new CreateUserRequest("outboxUser", "outbox@restaurant.com", "password123", "WAITER", store.id()));
+        adminService.updateUser(user.id(), new UpdateUserRequest("outboxRenamed", null, null, null));
+        adminService.deleteUser(user.id());
+
+        // Act
+        outboxRelay.relayPending();
+
+        // Assert
+        List<OutboxMessage> messages = listeners.received;
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+                messages.stream().map(OutboxMessage::changeType).toList());
+        assertEquals(EntityType.STORE, messages.getFirst().entityType());
+        assertTrue(messages.get(2).payload().contains("\"outboxRenamed\""));
+        assertNull(messages.get(3).payload());
+        for (int i = 1; i < messages.size(); i++) {
+            assertEquals(messages.get(i - 1).sequence() + 1, messages.get(i).sequence());
+        }
+
+        List<String> lines = fileLines().subList(linesBefore, fileLines().size());
+        assertEquals(4, lines.size());
+        assertEquals(4, WEBHOOK_RECEIVED.size());
+        for (int i = 0; i < messages.size(); i++) {
+            JsonNode line = new ObjectMapper().readTree(lines.get(i));
+            assertEquals(messages.get(i).sequence(), line.get("sequence").asLong());
+            assertEquals(messages.get(i).sequence(), WEBHOOK_RECEIVED.get(i).get("sequence").asLong());
+        }
+        assertEquals("outboxRenamed", WEBHOOK_RECEIVED.get(2).get("payload").get("username").asText());
+        assertEquals(messages.getLast().sequence(),
+                outboxOffsetRepository.findById("webhook").orElseThrow().getLastEventId());
+    }
+
+    @Test
+    @DisplayName("Should keep a failing sink's offset and deliver its events again once it recovers")
+    void relayPending_ShouldRetryFailingSink() {
+        // Arrange
+        webhookStatus = 503;
+        StoreDto store = storeService.createStore(new CreateStoreRequest("Retry", 41.38, 2.17));
+        long webhookOffset = outboxOffsetRepository.findById("webhook").orElseThrow().getLastEventId();
+
+        // Act
+        outboxRelay.relayPending();
+        List<OutboxMessage> inProcess = new ArrayList<>(listeners.received);
+        long offsetWhileFailing = outboxOffsetRepository.findById("webhook").orElseThrow().getLastEventId();
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+        webhookStatus = 200;
+        outboxRelay.relayPending();
+
+        // Assert
+        assertEquals(1, inProcess.size());
+        assertEquals(store.id(), inProcess.getFirst().entityId());
+        assertEquals(webhookOffset, offsetWhileFailing);
+        assertEquals(1, WEBHOOK_RECEIVED.size());
+        assertEquals(store.id(), WEBHOOK_RECEIVED.getFirst().get("entityId").asLong());
+        assertEquals(1, listeners.received.size());
+    }
+
+    @Test
+    @DisplayName("Should number events without gaps when a transaction making changes rolls back")
+    void relayPending_RolledBackChange_ShouldLeaveNoGap() {
+        // Arrange
+        long offset = outboxOffsetRepository.findById("in-process").map(OutboxOffset::getLastEventId).orElse(0L);
+        StoreDto before = storeService.createStore(new CreateStoreRequest("Before", 41.38, 2.17));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            storeService.createStore(new CreateStoreRequest("RolledBack", 41.38, 2.17));
+            status.setRollbackOnly();
+        });
+        StoreDto after = storeService.createStore(new CreateStoreRequest("After", 41.38, 2.17));
+
+        // Act
+        outboxRelay.relayPending();
+
+        // Assert
+        List<OutboxMessage> messages = listeners.received;
+        assertEquals(List.of(before.id(), after.id()), messages.stream().map(OutboxMessage::entityId).toList());
+        assertEquals(List.of(offset + 1, offset + 2), messages.stream().map(OutboxMessage::sequence).toList());
+    }
+}
@@ -0,0 +1,33 @@
+package com.spring.restaurantmanagementsystem.querybudget;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test when its body issues more than {@link #max()} SQL statements.
+ * Statements run in {@code @BeforeEach} methods are not counted, so fixtures can be set up
+ * freely. The test class must import {@link QueryCaptureConfiguration} so statements reach
+ * the capture.
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;QueryBudget(max = 1)
+ * void getAllUsers_ShouldNotIssueQueryPerUser() {
+ *     adminService.getAllUsers();
+ * }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * @return The maximum number of statements the test body may issue.
+     */
+    int max();
+}
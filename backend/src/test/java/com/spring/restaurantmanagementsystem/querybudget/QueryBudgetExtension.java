@@ -0,0 +1,41 @@
+package com.spring.restaurantmanagementsystem.querybudget;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+/**
+ * Captures statements around the body of tests annotated with {@link QueryBudget} and fails
+ * the test with the offending statements when the budget is exceeded.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (budget(context) != null) {
+            QueryCapture.start();
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryBudget budget = budget(context);
+        if (budget == null) {
+            return;
+        }
+        List<String> statements = QueryCapture.stop();
+        if (statements.size() > budget.max()) {
+            throw new AssertionFailedError(String.format("Query budget exceeded: %d statements issued, budget is %d:%s",
+                    statements.size(), budget.max(), QueryCapture.report(statements)));
+        }
+    }
+
+    private static QueryBudget budget(ExtensionContext context) {
+        return context.getTestMethod()
+                .map(method -> method.getAnnotation(QueryBudget.class))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.spring.restaurantmanagementsystem.querybudget;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the SQL statements issued on the current thread while a capture is active.
+ */
+public final class QueryCapture {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    private QueryCapture() {
+    }
+
+    static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    static List<String> stop() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    static void record(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    /**
+     * Lists the statements grouped by text, most repeated first, which is how an N+1 shows up:
+     * one statement repeated once per row of an earlier result.
+     */
+    static String report(List<String> statements) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String sql : statements) {
+            counts.merge(sql.replaceAll("\\s+", " ").trim(), 1, Integer::sum);
+        }
+        StringBuilder report = new StringBuilder();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> report.append(String.format("%n  %3dx %s", entry.getValue(), entry.getKey())));
+        return report.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.spring.restaurantmanagementsystem.querybudget;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the test context's DataSource so every statement executed through it is reported to
+ * {@link QueryCapture}. Working at the JDBC level counts what actually reaches the database,
+ * whether it comes from Hibernate, Spring Data or {@code JdbcTemplate}; a batch counts once.
+ */
+@TestConfiguration
+public class QueryCaptureConfiguration {
+
+    @Bean
+    static BeanPostProcessor queryCapturingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? new CapturingDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    private static final class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return proxy(Connection.class, super.getConnection(), null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return proxy(Connection.class, super.getConnection(username, password), null);
+        }
+    }
+
+    /**
+     * Proxies a connection, returning proxied statements from it, or a statement, recording its
+     * executions. {@code sql} is the text a prepared statement was created with.
+     */
+    private static <T> T proxy(Class<T> type, T target, String sql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (type == Connection.class && name.startsWith("prepare") && args != null && args[0] instanceof String prepared) {
+                Class<?> statementType = name.equals("prepareCall") ? CallableStatement.class : PreparedStatement.class;
+                return proxyStatement(statementType, invoke(method, target, args), prepared);
+            }
+            if (type == Connection.class && name.equals("createStatement")) {
+                return proxy(Statement.class, (Statement) invoke(method, target, args), null);
+            }
+            if (type != Connection.class && name.startsWith("execute")) {
+                QueryCapture.record(args != null && args.length > 0 && args[0] instanceof String executed
+                        ? executed
+                        : name.equals("executeBatch") && sql != null ? "batch: " + sql : String.valueOf(sql));
+            }
+            return invoke(method, target, args);
+        };
+        return type.cast(Proxy.newProxyInstance(QueryCaptureConfiguration.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object proxyStatement(Class<?> type, Object target, String sql) {
+        return proxy((Class<Object>) type, target, sql);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.spring.restaurantmanagementsystem.schema;
+
+import com.spring.restaurantmanagementsystem.config.SchemaConfig;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the schema migrations and the index check on H2. The context only starts when Hibernate's
+ * validation accepts the migrated schema and the index check finds every index, so starting it is
+ * itself the first check.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SchemaConfig.class)
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private IndexCheck indexCheck;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should apply every migration and find every index the entities declare")
+    void migrate_ShouldCreateAllIndexes() {
+        // Act
+        List<String> missing = indexCheck.findMissing();
+
+        // Assert
+        assertEquals(0, flyway.info().pending().length);
+        assertTrue(missing.isEmpty(), missing::toString);
+    }
+
+    @Test
+    @DisplayName("Should report an index dropped by hand and fail startup over it")
+    void findMissing_ShouldReportDroppedIndex() {
+        // Arrange
+        List<Class<?>> entityClasses = entityManagerFactory.getMetamodel().getEntities().stream()
+                .<Class<?>>map(EntityType::getJavaType)
+                .toList();
+        IndexCheck check = new IndexCheck(List.of(dataSource), entityClasses, true);
+        jdbcTemplate.execute("drop index idx_shifts_store_id");
+
+        try {
+            // Act
+            List<String> missing = check.findMissing();
+
+            // Assert
+            assertEquals(List.of("shifts (store_id, start_time) for idx_shifts_store_id"), missing);
+            assertThrows(IllegalStateException.class, check::afterSingletonsInstantiated);
+        } finally {
+            jdbcTemplate.execute("create index idx_shifts_store_id on shifts (store_id, start_time)");
+        }
+    }
+
+    @Test
+    @DisplayName("Should bring a database Hibernate created before the change feed up to the current schema")
+    void migrate_PreMigrationDatabase_ShouldCompleteTheSchema() {
+        // Arrange
+        DriverManagerDataSource original = new DriverManagerDataSource("jdbc:h2:mem:pre-migration;DB_CLOSE_DELAY=-1");
+        JdbcTemplate originalJdbc = new JdbcTemplate(original);
+        // The four tables as Hibernate generated them from the first entities
+        originalJdbc.execute("create table roles (id bigint generated by default as identity, "
+                + "name enum ('ADMIN','CASHIER','WAITER') not null unique, primary key (id))");
+        originalJdbc.execute("create table stores (id bigint generated by default as identity, latitude float(53) not null, "
+                + "longitude float(53) not null, name varchar(255) not null, primary key (id))");
+        originalJdbc.execute("create table user_roles (role_id bigint not null, user_id bigint not null, "
+                + "primary key (role_id, user_id))");
+        originalJdbc.execute("create table users (id bigint generated by default as identity, store_id bigint, "
+                + "email varchar(255) not null unique, password varchar(255) not null, "
+                + "username varchar(255) not null unique, primary key (id))");
+        originalJdbc.execute("alter table if exists user_roles add constraint FK_ROLE foreign key (role_id) references roles");
+        originalJdbc.execute("alter table if exists user_roles add constraint FK_USER foreign key (user_id) references users");
+        originalJdbc.execute("alter table if exists users add constraint FK_STORE foreign key (store_id) references stores");
+        originalJdbc.update("insert into stores (name, latitude, longitude) values ('Original', 41.38, 2.17)");
+        originalJdbc.update("insert into users (username, password, email, store_id) values ('admin', 'hash', 'admin@restaurant.com', 1)");
+        List<Class<?>> entityClasses = entityManagerFactory.getMetamodel().getEntities().stream()
+                .<Class<?>>map(EntityType::getJavaType)
+                .toList();
+
+        Flyway upgrade = Flyway.configure().configuration(flyway.getConfiguration()).dataSource(original).load();
+
+        try {
+            // Act
+            upgrade.migrate();
+
+            // Assert
+            assertEquals(0, upgrade.info().pending().length);
+            assertEquals("admin", originalJdbc.queryForObject("select username from users where change_seq is null", String.class));
+            assertNotNull(originalJdbc.queryForObject("select count(*) from shifts", Integer.class));
+            List<String> missing = new IndexCheck(List.of(original), entityClasses, true).findMissing();
+            assertTrue(missing.isEmpty(), missing::toString);
+        } finally {
+            originalJdbc.execute("SHUTDOWN");
+        }
+    }
+}
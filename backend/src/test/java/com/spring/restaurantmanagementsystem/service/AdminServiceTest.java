@@ -3,6 +3,9 @@ package com.spring.restaurantmanagementsystem.service;
 import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Role;
 import com.spring.restaurantmanagementsystem.model.RoleEnum;
@@ -11,12 +14,16 @@ import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.RoleRepository;
 import com.spring.restaurantmanagementsystem.repository.StoreRepository;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Collections;
@@ -51,6 +58,12 @@ public class AdminServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(1);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -98,7 +111,7 @@ public class AdminServiceTest {
         User user2 = createUser(2L, "waiterUser", "waiter@example.com", "encodedPass2", Set.of(waiterRole));
 
         // Mock userRepository to return a list of users
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        when(userRepository.findAll(any(Sort.class))).thenReturn(List.of(user1, user2));
 
         // Act
         List<UserDto> result = adminService.getAllUsers();
@@ -111,8 +124,8 @@ public class AdminServiceTest {
         assertEquals("waiterUser", result.get(1).username());
         assertTrue(result.get(1).roles().contains("WAITER"));
 
-        // Verify that userRepository.findAll() was called
-        verify(userRepository, times(1)).findAll();
+        // Verify that userRepository.findAll(Sort) was called
+        verify(userRepository, times(1)).findAll(any(Sort.class));
     }
 
     /**
@@ -123,7 +136,7 @@ public class AdminServiceTest {
     @DisplayName("Should return an empty list when no users exist")
     void getAllUsers_NoUsers_ShouldReturnEmptyList() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findAll(any(Sort.class))).thenReturn(Collections.emptyList());
 
         // Act
         List<UserDto> result = adminService.getAllUsers();
@@ -132,8 +145,8 @@ public class AdminServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        // Verify that userRepository.findAll() was called
-        verify(userRepository, times(1)).findAll();
+        // Verify that userRepository.findAll(Sort) was called
+        verify(userRepository, times(1)).findAll(any(Sort.class));
     }
 
     /**
@@ -171,6 +184,7 @@ public class AdminServiceTest {
         verify(roleRepository, times(1)).findByName(RoleEnum.WAITER);
         verify(passwordEncoder, times(1)).encode(request.password());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(eventPublisher, times(1)).publishEvent(any(EntityChangedEvent.class));
     }
 
     /**
@@ -198,6 +212,7 @@ public class AdminServiceTest {
         verify(roleRepository, never()).findByName(any());
         verify(passwordEncoder, never()).encode(any());
         verify(userRepository, never()).save(any(User.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     /**
@@ -490,6 +505,8 @@ public class AdminServiceTest {
         // Verify that existsById was checked and deleteById was called
         verify(userRepository, times(1)).existsById(userId);
         verify(userRepository, times(1)).deleteById(userId);
+        verify(eventPublisher, times(1))
+                .publishEvent(new EntityChangedEvent(EntityType.USER, ChangeType.DELETED, userId));
     }
 
     /**
@@ -0,0 +1,170 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.BatchOperation;
+import com.spring.restaurantmanagementsystem.dto.BatchResponse;
+import com.spring.restaurantmanagementsystem.dto.BatchResult;
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.querybudget.QueryBudget;
+import com.spring.restaurantmanagementsystem.querybudget.QueryCaptureConfiguration;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for BatchService on H2. Tests run outside a test transaction so that atomic batches commit
+ * or roll back for real; every test uses its own names to stay independent of the others.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({QueryCaptureConfiguration.class, BatchService.class, AdminService.class, StoreService.class, ShardRouter.class})
+class BatchServiceTest {
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void seedRole() {
+        if (roleRepository.findByName(RoleEnum.WAITER).isEmpty()) {
+            Role waiter = new Role();
+            waiter.setName(RoleEnum.WAITER);
+            roleRepository.save(waiter);
+        }
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+    }
+
+    private BatchOperation operation(String method, String path, String body) throws Exception {
+        return new BatchOperation(method, path, body == null ? null : objectMapper.readTree(body));
+    }
+
+    @Test
+    @DisplayName("Should create a store and staff it in one atomic batch, using the new store's id")
+    void execute_Atomic_ShouldCommitAllOperations() throws Exception {
+        // Arrange
+        List<BatchOperation> operations = List.of(
+                operation("POST", "/api/admin/stores", "{\"name\":\"Batch\",\"latitude\":41.38,\"longitude\":2.17}"),
+                operation("POST", "/api/admin/users", """
+                        {"username":"batchA","email":"batchA@restaurant.com","password":"password123",
+                         "role":"WAITER","storeId":{"$ref":"/0/id"}}"""),
+                operation("POST", "/api/admin/users", """
+                        {"username":"batchB","email":"batchB@restaurant.com","password":"password123",
+                         "role":"WAITER"}"""));
+
+        // Act
+        BatchResponse response = batchService.execute(operations, true);
+
+        // Assert
+        assertTrue(response.succeeded());
+        assertEquals(List.of(201, 201, 201), response.results().stream().map(BatchResult::status).toList());
+        JsonNode store = response.results().getFirst().body();
+        assertEquals(store.get("id"), response.results().get(1).body().get("store").get("id"));
+        User staffed = userRepository.findByUsername("batchA").orElseThrow();
+        assertEquals(store.get("id").asLong(), staffed.getStoreId());
+    }
+
+    @Test
+    @DisplayName("Should roll back every operation of an atomic batch when one fails")
+    void execute_Atomic_ShouldRollBackOnFailure() throws Exception {
+        // Arrange
+        long storesBefore = storeRepository.count();
+        List<BatchOperation> operations = List.of(
+                operation("POST", "/api/admin/stores", "{\"name\":\"Rolled back\",\"latitude\":1.0,\"longitude\":2.0}"),
+                operation("PUT", "/api/admin/users/999999", "{\"username\":\"nobody\"}"),
+                operation("DELETE", "/api/admin/stores/1", null));
+
+        // Act
+        BatchResponse response = batchService.execute(operations, true);
+
+        // Assert
+        assertFalse(response.succeeded());
+        assertEquals(List.of(201, 404), response.results().stream().map(BatchResult::status).toList());
+        assertEquals(storesBefore, storeRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should keep going after a failure in an independent batch and fail operations depending on it")
+    void execute_Independent_ShouldReportPerOperation() throws Exception {
+        // Arrange
+        List<BatchOperation> operations = List.of(
+                operation("POST", "/api/admin/stores", "{\"name\":\"\",\"latitude\":1.0,\"longitude\":2.0}"),
+                operation("PUT", "/api/admin/stores/abc", "{}"),
+                operation("POST", "/api/admin/users", """
+                        {"username":"batchC","email":"batchC@restaurant.com","password":"password123",
+                         "role":"WAITER","storeId":{"$ref":"/0/id"}}"""),
+                operation("POST", "/api/admin/stores", "{\"name\":\"Kept\",\"latitude\":1.0,\"longitude\":2.0}"),
+                operation("PATCH", "/api/admin/stores/1", "{}"));
+
+        // Act
+        BatchResponse response = batchService.execute(operations, false);
+
+        // Assert
+        assertFalse(response.succeeded());
+        assertEquals(List.of(400, 400, 424, 201, 404), response.results().stream().map(BatchResult::status).toList());
+        assertEquals("Store name is required", response.results().getFirst().body().get("message").asText());
+        assertTrue(storeRepository.findAll().stream().anyMatch(store -> store.getName().equals("Kept")));
+    }
+
+    // Stores and users get identity ids, so each is inserted on its own; only the role links go as one JDBC batch
+    @Test
+    @QueryBudget(max = 11)
+    @DisplayName("Should issue a fixed number of statements per operation of an atomic batch")
+    void execute_Atomic_ShouldStayWithinQueryBudget() throws Exception {
+        // Arrange
+        List<BatchOperation> operations = List.of(
+                operation("POST", "/api/admin/stores", "{\"name\":\"Budget 1\",\"latitude\":1.0,\"longitude\":2.0}"),
+                operation("POST", "/api/admin/stores", "{\"name\":\"Budget 2\",\"latitude\":1.0,\"longitude\":2.0}"),
+                operation("POST", "/api/admin/users", """
+                        {"username":"budgetA","email":"budgetA@restaurant.com","password":"password123",
+                         "role":"WAITER","storeId":{"$ref":"/0/id"}}"""),
+                operation("POST", "/api/admin/users", """
+                        {"username":"budgetB","email":"budgetB@restaurant.com","password":"password123",
+                         "role":"WAITER","storeId":{"$ref":"/1/id"}}"""));
+
+        // Act
+        BatchResponse response = batchService.execute(operations, true);
+
+        // Assert
+        assertTrue(response.succeeded(), response.toString());
+    }
+}
@@ -0,0 +1,216 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.calendar.CalendarFeed;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.model.Shift;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.ShiftRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the CalendarFeedService class.
+ * Verifies that feeds are rendered once per schedule version and that
+ * invalidation only regenerates the feeds of affected users and stores.
+ */
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedServiceTest {
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CalendarFeedService calendarFeedService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        calendarFeedService = new CalendarFeedService(shiftRepository, meterRegistry, 100, 60);
+    }
+
+    // Helper method to create a shift with its user and store populated
+    private Shift createShift(Long id, Long userId, String username, Store store, String title) {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+
+        Shift shift = new Shift();
+        shift.setId(id);
+        shift.setUser(user);
+        shift.setStore(store);
+        shift.setTitle(title);
+        shift.setStart(LocalDateTime.of(2026, 10, 20, 9, 0));
+        shift.setEnd(LocalDateTime.of(2026, 10, 20, 17, 0));
+        shift.setUpdatedAt(Instant.parse("2026-10-18T12:00:00Z"));
+        return shift;
+    }
+
+    private Store createStore(Long id, String name) {
+        Store store = new Store();
+        store.setId(id);
+        store.setName(name);
+        store.setLatitude(41.3874);
+        store.setLongitude(2.1686);
+        return store;
+    }
+
+    @Test
+    @DisplayName("Should render a user feed once and serve cached bytes until invalidated")
+    void getUserFeed_ShouldServeCachedFeedForSameVersion() {
+        // Arrange
+        Store store = createStore(1L, "Downtown");
+        when(shiftRepository.findByUserIdWithDetails(7L))
+                .thenReturn(List.of(createShift(1L, 7L, "waiter", store, "Morning, bar")));
+
+        // Act
+        CalendarFeed first = calendarFeedService.getUserFeed(7L);
+        CalendarFeed second = calendarFeedService.getUserFeed(7L);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+        String ics = new String(first.content(), StandardCharsets.UTF_8);
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(ics.contains("UID:shift-1@restaurant-management-system\r\n"));
+        assertTrue(ics.contains("DTSTART:20261020T090000\r\n"));
+        assertTrue(ics.contains("SUMMARY:Morning\\, bar\r\n"));
+        assertTrue(ics.contains("LOCATION:Downtown\r\n"));
+        verify(shiftRepository, times(1)).findByUserIdWithDetails(7L);
+    }
+
+    @Test
+    @DisplayName("Should regenerate only the invalidated user's feed")
+    void invalidate_ShouldRegenerateOnlyAffectedFeeds() {
+        // Arrange
+        Store store = createStore(1L, "Downtown");
+        when(shiftRepository.findByUserIdWithDetails(7L))
+                .thenReturn(List.of(createShift(1L, 7L, "waiter", store, "Morning")))
+                .thenReturn(List.of(createShift(1L, 7L, "waiter", store, "Evening")));
+        when(shiftRepository.findByUserIdWithDetails(8L))
+                .thenReturn(List.of(createShift(2L, 8L, "cashier", store, "Morning")));
+
+        CalendarFeed before = calendarFeedService.getUserFeed(7L);
+        CalendarFeed otherBefore = calendarFeedService.getUserFeed(8L);
+
+        // Act
+        calendarFeedService.invalidate(List.of(7L), List.of());
+        CalendarFeed after = calendarFeedService.getUserFeed(7L);
+        CalendarFeed otherAfter = calendarFeedService.getUserFeed(8L);
+
+        // Assert
+        assertEquals(before.version() + 1, after.version());
+        assertNotEquals(before.etag(), after.etag());
+        assertSame(otherBefore, otherAfter);
+        verify(shiftRepository, times(2)).findByUserIdWithDetails(7L);
+        verify(shiftRepository, times(1)).findByUserIdWithDetails(8L);
+    }
+
+    @Test
+    @DisplayName("Should keep the same ETag when a regenerated feed has identical content")
+    void getStoreFeed_SameContent_ShouldKeepEtag() {
+        // Arrange
+        Store store = createStore(3L, "Harbour");
+        when(shiftRepository.findByStoreIdWithDetails(3L))
+                .thenReturn(List.of(createShift(5L, 9L, "waiter", store, "Lunch")));
+
+        // Act
+        CalendarFeed before = calendarFeedService.getStoreFeed(3L);
+        calendarFeedService.invalidate(List.of(), List.of(3L));
+        CalendarFeed after = calendarFeedService.getStoreFeed(3L);
+
+        // Assert
+        assertEquals(before.etag(), after.etag());
+        verify(shiftRepository, times(2)).findByStoreIdWithDetails(3L);
+    }
+
+    @Test
+    @DisplayName("Should regenerate the user feeds naming a renamed store and leave the others cached")
+    void onEntityChanged_StoreUpdated_ShouldRegenerateFeedsNamingIt() {
+        // Arrange
+        Store downtown = createStore(1L, "Downtown");
+        Store harbour = createStore(2L, "Harbour");
+        when(shiftRepository.findByUserIdWithDetails(7L))
+                .thenReturn(List.of(createShift(1L, 7L, "waiter", downtown, "Morning")))
+                .thenReturn(List.of(createShift(1L, 7L, "waiter", createStore(1L, "Old Town"), "Morning")));
+        when(shiftRepository.findByUserIdWithDetails(8L))
+                .thenReturn(List.of(createShift(2L, 8L, "cashier", harbour, "Morning")));
+
+        CalendarFeed before = calendarFeedService.getUserFeed(7L);
+        CalendarFeed otherBefore = calendarFeedService.getUserFeed(8L);
+
+        // Act
+        calendarFeedService.onEntityChanged(new EntityChangedEvent(EntityType.STORE, ChangeType.UPDATED, 1L));
+        CalendarFeed after = calendarFeedService.getUserFeed(7L);
+        CalendarFeed otherAfter = calendarFeedService.getUserFeed(8L);
+
+        // Assert
+        assertEquals(before.version() + 1, after.version());
+        assertTrue(new String(after.content(), StandardCharsets.UTF_8).contains("LOCATION:Old Town\r\n"));
+        assertSame(otherBefore, otherAfter);
+    }
+
+    @Test
+    @DisplayName("Should regenerate the store feed of a deleted user's shifts")
+    void onEntityChanged_UserDeleted_ShouldRegenerateStoreFeed() {
+        // Arrange
+        Store store = createStore(3L, "Harbour");
+        when(shiftRepository.findByStoreIdWithDetails(3L))
+                .thenReturn(List.of(createShift(5L, 9L, "waiter", store, "Lunch")))
+                .thenReturn(List.of());
+        calendarFeedService.getStoreFeed(3L);
+
+        // Act
+        calendarFeedService.onEntityChanged(new EntityChangedEvent(EntityType.USER, ChangeType.DELETED, 9L));
+        CalendarFeed after = calendarFeedService.getStoreFeed(3L);
+
+        // Assert
+        assertFalse(new String(after.content(), StandardCharsets.UTF_8).contains("waiter"));
+        verify(shiftRepository, times(2)).findByStoreIdWithDetails(3L);
+    }
+
+    @Test
+    @DisplayName("Should keep no more feeds than allowed and give a feed rendered again after eviction a newer version")
+    void getUserFeed_OverCapacity_ShouldEvictAndRenderAgain() {
+        // Arrange
+        CalendarFeedService oneFeed = new CalendarFeedService(shiftRepository, meterRegistry, 1, 60);
+        Store store = createStore(1L, "Downtown");
+        when(shiftRepository.findByUserIdWithDetails(7L))
+                .thenReturn(List.of(createShift(1L, 7L, "waiter", store, "Morning")));
+        when(shiftRepository.findByUserIdWithDetails(8L))
+                .thenReturn(List.of(createShift(2L, 8L, "cashier", store, "Morning")));
+
+        // Act
+        CalendarFeed first = oneFeed.getUserFeed(7L);
+        CalendarFeed other = oneFeed.getUserFeed(8L);
+        CalendarFeed again = oneFeed.getUserFeed(7L);
+        oneFeed.close();
+
+        // Assert
+        assertTrue(again.version() > other.version() && other.version() > first.version());
+        verify(shiftRepository, times(2)).findByUserIdWithDetails(7L);
+    }
+}
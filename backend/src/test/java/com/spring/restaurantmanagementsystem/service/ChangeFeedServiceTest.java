@@ -0,0 +1,240 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.changes.ChangeTracker;
+import com.spring.restaurantmanagementsystem.dto.ChangesDto;
+import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UpdateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.ChangeType;
+import com.spring.restaurantmanagementsystem.event.EntityChangedEvent.EntityType;
+import com.spring.restaurantmanagementsystem.exception.CursorExpiredException;
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.model.Tombstone;
+import com.spring.restaurantmanagementsystem.repository.CommitSequenceRepository;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.repository.TombstoneHorizonRepository;
+import com.spring.restaurantmanagementsystem.repository.TombstoneRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the change feed on H2, driven through the admin and store services so that changes are
+ * stamped by ChangeTracker as in production. Tests run outside a test transaction, so every change commits.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ChangeFeedService.class, ChangeTracker.class, AdminService.class, StoreService.class, ShardRouter.class})
+class ChangeFeedServiceTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TombstoneHorizonRepository tombstoneHorizonRepository;
+
+    @Autowired
+    private CommitSequenceRepository commitSequenceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void seedRole() {
+        if (roleRepository.findByName(RoleEnum.WAITER).isEmpty()) {
+            Role waiter = new Role();
+            waiter.setName(RoleEnum.WAITER);
+            roleRepository.save(waiter);
+        }
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+    }
+
+    private String currentCursor() {
+        return changeFeedService.getChanges(null, 1).cursor();
+    }
+
+    private ChangesDto changesSince(String cursor, int limit) {
+        return changeFeedService.getChanges(changeFeedService.parseCursor(cursor), limit);
+    }
+
+    @Test
+    @DisplayName("Should return only the rows changed after the cursor, with deletes as ids")
+    void getChanges_ShouldReturnOnlyChangesAfterCursor() {
+        // Arrange
+        StoreDto untouched = storeService.createStore(new CreateStoreRequest("Untouched", 1.0, 2.0));
+        StoreDto store = storeService.createStore(new CreateStoreRequest("Feed", 1.0, 2.0));
+        UserDto deleted = adminService.createUser(
+                new CreateUserRequest("feedGone", "feedGone@restaurant.com", "password123", "WAITER", null));
+        String cursor = currentCursor();
+
+        // Act
+        storeService.updateStore(store.id(), new UpdateStoreRequest("Feed renamed", 1.0, 2.0));
+        UserDto created = adminService.createUser(
+                new CreateUserRequest("feedNew", "feedNew@restaurant.com", "password123", "WAITER", store.id()));
+        adminService.updateUser(created.id(), new UpdateUserRequest("feedRenamed", null, null, null));
+        adminService.deleteUser(deleted.id());
+        ChangesDto changes = changesSince(cursor, 100);
+        ChangesDto nothingNew = changesSince(changes.cursor(), 100);
+
+        // Assert
+        assertEquals(List.of("Feed renamed"), changes.stores().stream().map(StoreDto::name).toList());
+        assertEquals(List.of("feedRenamed"), changes.users().stream().map(UserDto::username).toList());
+        assertEquals("Feed renamed", changes.users().getFirst().store().name());
+        assertEquals(List.of(deleted.id()), changes.deletedUserIds());
+        assertFalse(changes.stores().stream().anyMatch(s -> s.id().equals(untouched.id())));
+        assertTrue(nothingNew.users().isEmpty() && nothingNew.stores().isEmpty()
+                && nothingNew.deletedUserIds().isEmpty());
+        assertEquals(changes.cursor(), nothingNew.cursor());
+    }
+
+    @Test
+    @DisplayName("Should page through changes in order of their change numbers")
+    void getChanges_ShouldPageWithLimit() {
+        // Arrange
+        String cursor = currentCursor();
+        storeService.createStore(new CreateStoreRequest("Page 1", 1.0, 2.0));
+        storeService.createStore(new CreateStoreRequest("Page 2", 1.0, 2.0));
+        storeService.createStore(new CreateStoreRequest("Page 3", 1.0, 2.0));
+
+        // Act
+        ChangesDto first = changesSince(cursor, 2);
+        ChangesDto second = changesSince(first.cursor(), 2);
+
+        // Assert
+        assertTrue(first.hasMore());
+        assertEquals(List.of("Page 1", "Page 2"), first.stores().stream().map(StoreDto::name).toList());
+        assertFalse(second.hasMore());
+        assertEquals(List.of("Page 3"), second.stores().stream().map(StoreDto::name).toList());
+    }
+
+    @Test
+    @DisplayName("Should report the users deleted with their store")
+    void getChanges_ShouldReportUsersDeletedWithStore() {
+        // Arrange
+        StoreDto store = storeService.createStore(new CreateStoreRequest("Closing", 1.0, 2.0));
+        UserDto user = adminService.createUser(
+                new CreateUserRequest("feedStaff", "feedStaff@restaurant.com", "password123", "WAITER", store.id()));
+        String cursor = currentCursor();
+
+        // Act
+        storeService.deleteStore(store.id());
+        ChangesDto changes = changesSince(cursor, 100);
+
+        // Assert
+        assertEquals(List.of(store.id()), changes.deletedStoreIds());
+        assertEquals(List.of(user.id()), changes.deletedUserIds());
+    }
+
+    @Test
+    @DisplayName("Should move the cursor past a change as soon as it is returned, without gaps left by rollbacks")
+    void getChanges_ShouldMoveCursorPastEveryChange() {
+        // Arrange
+        String cursor = currentCursor();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            storeService.createStore(new CreateStoreRequest("Rolled back", 1.0, 2.0));
+            status.setRollbackOnly();
+        });
+        storeService.createStore(new CreateStoreRequest("Committed", 1.0, 2.0));
+
+        // Act
+        ChangesDto changes = changesSince(cursor, 100);
+
+        // Assert
+        assertEquals(List.of("Committed"), changes.stores().stream().map(StoreDto::name).toList());
+        assertEquals(Long.toString(Long.parseLong(cursor) + 1), changes.cursor());
+        assertEquals(changes.cursor(), currentCursor());
+        assertFalse(changes.hasMore());
+    }
+
+    @Test
+    @DisplayName("Should delete tombstones past retention and refuse cursors from before them")
+    void getChanges_ShouldRefuseCursorBeforePrunedTombstones() {
+        // Arrange
+        StoreDto store = storeService.createStore(new CreateStoreRequest("Long gone", 1.0, 2.0));
+        String cursor = currentCursor();
+        storeService.deleteStore(store.id());
+        Tombstone old = tombstoneRepository.findAll().stream()
+                .filter(tombstone -> tombstone.getEntityId().equals(store.id()))
+                .findFirst()
+                .orElseThrow();
+        old.setDeletedAt(Instant.now().minus(Duration.ofDays(31)));
+        tombstoneRepository.save(old);
+        ChangeTracker tracker = new ChangeTracker(entityManager, commitSequenceRepository, tombstoneRepository,
+                tombstoneHorizonRepository, 30);
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                tracker.onEntityChanged(new EntityChangedEvent(EntityType.STORE, ChangeType.DELETED, -1L)));
+
+        // Assert
+        assertFalse(tombstoneRepository.existsById(old.getId()));
+        assertThrows(CursorExpiredException.class, () -> changesSince(cursor, 100));
+        assertTrue(changesSince(currentCursor(), 100).deletedStoreIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the users of an updated store, carrying its new name")
+    void getChanges_ShouldReturnUsersOfUpdatedStore() {
+        // Arrange
+        StoreDto store = storeService.createStore(new CreateStoreRequest("Before", 1.0, 2.0));
+        UserDto first = adminService.createUser(
+                new CreateUserRequest("feedCook", "feedCook@restaurant.com", "password123", "WAITER", store.id()));
+        UserDto second = adminService.createUser(
+                new CreateUserRequest("feedHost", "feedHost@restaurant.com", "password123", "WAITER", store.id()));
+        String cursor = currentCursor();
+
+        // Act
+        storeService.updateStore(store.id(), new UpdateStoreRequest("After", 1.0, 2.0));
+        ChangesDto changes = changesSince(cursor, 100);
+
+        // Assert
+        assertEquals(List.of(store.id()), changes.stores().stream().map(StoreDto::id).toList());
+        assertEquals(List.of(first.id(), second.id()), changes.users().stream().map(UserDto::id).sorted().toList());
+        assertTrue(changes.users().stream().allMatch(user -> user.store().name().equals("After")));
+    }
+}
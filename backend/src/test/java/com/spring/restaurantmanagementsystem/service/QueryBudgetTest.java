@@ -0,0 +1,173 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.StoreField;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.dto.UserField;
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.querybudget.QueryBudget;
+import com.spring.restaurantmanagementsystem.querybudget.QueryCaptureConfiguration;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Query budgets for the service methods behind the staff and store lists, and for the startup admin check.
+ * Runs against H2 with enough users and stores that a query per row would exceed the budget.
+ * The persistence context is cleared after seeding so nothing is served from the first-level cache.
+ */
+@DataJpaTest
+@Import({QueryCaptureConfiguration.class, AdminService.class, StoreService.class, ShardRouter.class})
+class QueryBudgetTest {
+
+    private static final int STORES = 5;
+    private static final int USERS_PER_STORE = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    private final List<Long> storeIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        Role waiter = role(RoleEnum.WAITER);
+        Role cashier = role(RoleEnum.CASHIER);
+        for (int s = 0; s < STORES; s++) {
+            Store store = new Store();
+            store.setName("Store " + s);
+            store.setLatitude(41.38);
+            store.setLongitude(2.17);
+            entityManager.persist(store);
+            storeIds.add(store.getId());
+
+            for (int u = 0; u < USERS_PER_STORE; u++) {
+                User user = new User();
+                user.setUsername("user" + s + "_" + u);
+                user.setEmail("user" + s + "_" + u + "@restaurant.com");
+                user.setPassword("hash");
+                user.setRoles(Set.of(u % 2 == 0 ? waiter : cashier));
+                user.setStore(store);
+                entityManager.persist(user);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should list all users with their roles and stores in one query")
+    @QueryBudget(max = 1)
+    void getAllUsers_ShouldStayWithinQueryBudget() {
+        // Act
+        List<UserDto> users = adminService.getAllUsers();
+
+        // Assert
+        assertEquals(STORES * USERS_PER_STORE, users.size());
+        assertNotNull(users.get(0).store());
+    }
+
+    @Test
+    @DisplayName("Should list a store's users without a query per user")
+    @QueryBudget(max = 2)
+    void getUsersByStoreId_ShouldStayWithinQueryBudget() {
+        // Act
+        List<UserDto> users = storeService.getUsersByStoreId(storeIds.get(0));
+
+        // Assert
+        assertEquals(USERS_PER_STORE, users.size());
+        assertEquals(1, users.get(0).roles().size());
+    }
+
+    @Test
+    @DisplayName("Should read only the requested user fields in one query")
+    @QueryBudget(max = 1)
+    void getUserFields_ShouldReadOnlyRequestedFields() {
+        // Act
+        List<Map<String, Object>> users = adminService.getUserFields(UserField.parse(List.of("username")), 1, 20);
+
+        // Assert
+        assertEquals(20, users.size());
+        assertEquals(List.of("id", "username"), List.copyOf(users.getFirst().keySet()));
+        assertEquals("user2_0", users.getFirst().get("username"));
+    }
+
+    @Test
+    @DisplayName("Should read requested roles and stores with one extra query, not one per user")
+    @QueryBudget(max = 2)
+    void getUserFields_ShouldReadRolesWithoutQueryPerUser() {
+        // Act
+        List<Map<String, Object>> users = storeService.getUserFieldsByStoreId(storeIds.get(1),
+                UserField.parse(List.of("roles", "store")));
+
+        // Assert
+        assertEquals(USERS_PER_STORE, users.size());
+        assertEquals(Set.of("WAITER"), users.getFirst().get("roles"));
+        assertEquals(storeIds.get(1), ((StoreDto) users.getFirst().get("store")).id());
+    }
+
+    @Test
+    @DisplayName("Should list all stores in one query")
+    @QueryBudget(max = 1)
+    void getAllStores_ShouldStayWithinQueryBudget() {
+        // Act & Assert
+        assertEquals(STORES, storeService.getAllStores().size());
+    }
+
+    @Test
+    @DisplayName("Should read only the requested store fields in one query")
+    @QueryBudget(max = 1)
+    void getStoreFields_ShouldReadOnlyRequestedFields() {
+        // Act
+        List<Map<String, Object>> stores = storeService.getStoreFields(StoreField.parse(List.of()));
+
+        // Assert
+        assertEquals(STORES, stores.size());
+        assertEquals(Map.of("id", storeIds.getFirst()), stores.getFirst());
+    }
+
+    @Test
+    @DisplayName("Should check whether an admin exists without loading users")
+    @QueryBudget(max = 1)
+    void existsByRolesName_ShouldStayWithinQueryBudget() {
+        // Act & Assert
+        assertFalse(userRepository.existsByRolesName(RoleEnum.ADMIN));
+    }
+
+    private Role role(RoleEnum name) {
+        Role role = new Role();
+        role.setName(name);
+        return entityManager.persist(role);
+    }
+}
@@ -0,0 +1,156 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.config.HibernateCacheConfig;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UpdateStoreRequest;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.RoleEnum;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the second-level and query caches on stores and roles.
+ * Each service call commits its own transaction, as in the running application, so the tests
+ * see what the caches actually serve after updates and deletes.
+ */
+@DataJpaTest
+@Import({HibernateCacheConfig.class, StoreService.class, ShardRouter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long storeId;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new Store();
+        store.setName("Downtown");
+        store.setLatitude(41.38);
+        store.setLongitude(2.17);
+        storeId = storeRepository.save(store).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storeRepository.deleteAll();
+        roleRepository.deleteAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated store reads from the second-level cache")
+    void getStoreById_ShouldHitCacheOnRepeatedReads() {
+        // Arrange
+        storeService.getStoreById(storeId);
+        statistics.clear();
+
+        // Act
+        storeService.getStoreById(storeId);
+
+        // Assert
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should return the updated store after updateStore")
+    void updateStore_ShouldNotServeStaleStore() {
+        // Arrange
+        storeService.getStoreById(storeId);
+
+        // Act
+        storeService.updateStore(storeId, new UpdateStoreRequest("Harbour", 41.37, 2.18));
+        StoreDto store = storeService.getStoreById(storeId);
+
+        // Assert
+        assertEquals("Harbour", store.name());
+        assertEquals(41.37, store.latitude());
+    }
+
+    @Test
+    @DisplayName("Should not find a store in the cache after deleteStore")
+    void deleteStore_ShouldEvictStore() {
+        // Arrange
+        storeService.getStoreById(storeId);
+        storeService.getAllStores();
+
+        // Act
+        storeService.deleteStore(storeId);
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> storeService.getStoreById(storeId));
+        assertTrue(storeService.getAllStores().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cache the store list until a store changes")
+    void getAllStores_ShouldUseQueryCacheUntilStoresChange() {
+        // Arrange
+        storeService.getAllStores();
+
+        // Act
+        storeService.getAllStores();
+        long hitsBeforeUpdate = statistics.getQueryCacheHitCount();
+        storeService.updateStore(storeId, new UpdateStoreRequest("Harbour", 41.37, 2.18));
+        List<StoreDto> stores = storeService.getAllStores();
+
+        // Assert
+        assertEquals(1, hitsBeforeUpdate);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals("Harbour", stores.get(0).name());
+    }
+
+    @Test
+    @DisplayName("Should cache role lookups by name")
+    void findByName_ShouldUseQueryCache() {
+        // Arrange
+        Role role = new Role();
+        role.setName(RoleEnum.WAITER);
+        roleRepository.save(role);
+        statistics.clear();
+
+        // Act
+        roleRepository.findByName(RoleEnum.WAITER);
+        roleRepository.findByName(RoleEnum.WAITER);
+
+        // Assert
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,151 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.dto.PunchReceipt;
+import com.spring.restaurantmanagementsystem.dto.PunchRequest;
+import com.spring.restaurantmanagementsystem.exception.PunchRejectedException;
+import com.spring.restaurantmanagementsystem.model.PunchType;
+import com.spring.restaurantmanagementsystem.model.Store;
+import com.spring.restaurantmanagementsystem.repository.StoreRepository;
+import com.spring.restaurantmanagementsystem.repository.TimePunchRepository;
+import com.spring.restaurantmanagementsystem.timeclock.PendingPunch;
+import com.spring.restaurantmanagementsystem.timeclock.PunchIngestor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the TimeClockService class.
+ * Covers store membership and geofence validation, acknowledgment handling and the store location cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class TimeClockServiceTest {
+
+    @Mock
+    private PunchIngestor punchIngestor;
+
+    @Mock
+    private StoreRepository storeRepository;
+
+    @Mock
+    private TimePunchRepository timePunchRepository;
+
+    private TimeClockService timeClockService;
+
+    @BeforeEach
+    void setUp() {
+        // Geofence enabled with a 150 m radius
+        timeClockService = new TimeClockService(punchIngestor, storeRepository, timePunchRepository,
+                true, 150, 1000, 60, new SimpleMeterRegistry());
+
+        Store store = new Store();
+        store.setId(1L);
+        store.setName("Downtown");
+        store.setLatitude(41.3874);
+        store.setLongitude(2.1686);
+        // Lenient: punches rejected before the store is loaded never look it up
+        lenient().when(storeRepository.findById(1L)).thenReturn(Optional.of(store));
+    }
+
+    // Helper method to create a buffered punch as returned by the ingestor
+    private PendingPunch pendingPunch(PunchRequest request, CompletableFuture<Void> ack) {
+        return new PendingPunch(UUID.randomUUID(), 5L, request.storeId(), request.type(), Instant.now(),
+                request.latitude(), request.longitude(), ack);
+    }
+
+    @Test
+    @DisplayName("Should return a durable receipt once the punch is committed")
+    void punch_InsideGeofence_ShouldReturnDurableReceipt() {
+        // Arrange: about 50 m from the store
+        PunchRequest request = new PunchRequest(1L, PunchType.CLOCK_IN, 41.3878, 2.1688);
+        when(punchIngestor.submit(eq(5L), eq(1L), eq(PunchType.CLOCK_IN), any(Instant.class), anyDouble(), anyDouble()))
+                .thenReturn(pendingPunch(request, CompletableFuture.completedFuture(null)));
+
+        // Act
+        PunchReceipt receipt = timeClockService.punch(5L, 1L, request);
+
+        // Assert
+        assertTrue(receipt.durable());
+        assertEquals(PunchType.CLOCK_IN, receipt.type());
+    }
+
+    @Test
+    @DisplayName("Should reject punches outside the store's geofence without buffering them")
+    void punch_OutsideGeofence_ShouldBeRejected() {
+        // Arrange: roughly 1 km away
+        PunchRequest request = new PunchRequest(1L, PunchType.CLOCK_IN, 41.3964, 2.1686);
+
+        // Act & Assert
+        PunchRejectedException thrown = assertThrows(PunchRejectedException.class, () ->
+                timeClockService.punch(5L, 1L, request));
+        assertEquals(PunchRejectedException.Reason.OUTSIDE_GEOFENCE, thrown.getReason());
+        verify(punchIngestor, never()).submit(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject punches at a store the user does not work at")
+    void punch_OtherStore_ShouldBeRejected() {
+        // Arrange: the user works at store 2
+        PunchRequest request = new PunchRequest(1L, PunchType.CLOCK_IN, 41.3874, 2.1686);
+
+        // Act & Assert
+        PunchRejectedException thrown = assertThrows(PunchRejectedException.class, () ->
+                timeClockService.punch(5L, 2L, request));
+        assertEquals(PunchRejectedException.Reason.NOT_STORE_MEMBER, thrown.getReason());
+        verify(punchIngestor, never()).submit(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report a non-durable receipt when the commit does not finish in time")
+    void punch_AckTimeout_ShouldReturnAcceptedReceipt() {
+        // Arrange
+        PunchRequest request = new PunchRequest(1L, PunchType.CLOCK_OUT, 41.3874, 2.1686);
+        timeClockService = new TimeClockService(punchIngestor, storeRepository, timePunchRepository,
+                true, 150, 10, 60, new SimpleMeterRegistry());
+        when(punchIngestor.submit(eq(5L), eq(1L), eq(PunchType.CLOCK_OUT), any(Instant.class), anyDouble(), anyDouble()))
+                .thenReturn(pendingPunch(request, new CompletableFuture<>()));
+
+        // Act
+        PunchReceipt receipt = timeClockService.punch(5L, 1L, request);
+
+        // Assert
+        assertFalse(receipt.durable());
+    }
+
+    @Test
+    @DisplayName("Should load store coordinates once for repeated punches")
+    void punch_RepeatedPunches_ShouldReuseStoreLocation() {
+        // Arrange
+        PunchRequest request = new PunchRequest(1L, PunchType.CLOCK_IN, 41.3874, 2.1686);
+        when(punchIngestor.submit(eq(5L), eq(1L), eq(PunchType.CLOCK_IN), any(Instant.class), anyDouble(), anyDouble()))
+                .thenReturn(pendingPunch(request, null));
+
+        // Act
+        timeClockService.punch(5L, 1L, request);
+        timeClockService.punch(5L, 1L, request);
+
+        // Assert
+        verify(storeRepository, times(1)).findById(1L);
+    }
+}
@@ -0,0 +1,206 @@
+package com.spring.restaurantmanagementsystem.sharding;
+
+import com.spring.restaurantmanagementsystem.dto.CreateStoreRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import com.spring.restaurantmanagementsystem.exception.CrossShardMoveException;
+import com.spring.restaurantmanagementsystem.security.UserDetailsServiceImpl;
+import com.spring.restaurantmanagementsystem.service.AdminService;
+import com.spring.restaurantmanagementsystem.service.StoreService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for store-id sharding with three embedded H2 databases as shards.
+ * Rows are looked up directly in each shard's database, so the tests show where data actually lives.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharding-test-0;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "application.sharding.urls=jdbc:h2:mem:sharding-test-1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:sharding-test-2;DB_CLOSE_DELAY=-1",
+        "spring.jpa.open-in-view=false",
+        "management.server.port=0",
+        "application.security.jwt.secret-key=c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0",
+        "application.security.jwt.expiration=3600000",
+        "DEF_USER=admin",
+        "DEF_PASS=admin123",
+        "application.warmup.enabled=false",
+        "application.audit.directory=target/sharding-test-audit"
+})
+class ShardingIntegrationTest {
+
+    private static final int SHARDS = 3;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private Flyway flyway;
+
+    // Helper method to tell which shard databases hold a row
+    private Set<Integer> shardsHolding(String table, Long id) {
+        return IntStream.range(0, SHARDS)
+                .filter(shard -> new JdbcTemplate(dataSource.getShards().get(shard))
+                        .queryForObject("select count(*) from " + table + " where id = ?", Long.class, id) > 0)
+                .boxed()
+                .collect(Collectors.toSet());
+    }
+
+    private StoreDto createStore(String name) {
+        return storeService.createStore(new CreateStoreRequest(name, 41.38, 2.17));
+    }
+
+    private UserDto createUser(String username, Long storeId) {
+        return adminService.createUser(new CreateUserRequest(username, username + "@restaurant.com",
+                "password123", "WAITER", storeId));
+    }
+
+    @Test
+    @DisplayName("Should migrate every shard's schema to the latest version")
+    void migrations_ShouldRunOnEveryShard() {
+        for (DataSource shard : dataSource.getShards()) {
+            // Act
+            MigrationInfoService info = Flyway.configure().configuration(flyway.getConfiguration())
+                    .dataSource(shard).load().info();
+
+            // Assert
+            assertNotNull(info.current());
+            assertEquals(0, info.pending().length);
+        }
+    }
+
+    @Test
+    @DisplayName("Should place new stores on the least used shards, each in its shard's database only")
+    void createStore_ShouldSpreadStoresAcrossShards() {
+        // Act
+        List<StoreDto> stores = IntStream.range(0, SHARDS).mapToObj(i -> createStore("Spread " + i)).toList();
+
+        // Assert
+        Set<Integer> shards = stores.stream().map(store -> (int) (store.id() % SHARDS)).collect(Collectors.toSet());
+        assertEquals(Set.of(0, 1, 2), shards);
+        for (StoreDto store : stores) {
+            assertEquals(Set.of((int) (store.id() % SHARDS)), shardsHolding("stores", store.id()));
+            assertEquals(store, storeService.getStoreById(store.id()));
+        }
+        assertTrue(storeService.getAllStores().containsAll(stores));
+    }
+
+    @Test
+    @DisplayName("Should keep users on their store's shard and route later changes there")
+    void createUser_ShouldFollowStoreShard() {
+        // Arrange
+        List<StoreDto> stores = IntStream.range(0, SHARDS).mapToObj(i -> createStore("Home " + i)).toList();
+
+        for (StoreDto store : stores) {
+            // Act
+            UserDto user = createUser("follower" + store.id(), store.id());
+            UserDto renamed = adminService.updateUser(user.id(),
+                    new UpdateUserRequest("renamed" + store.id(), null, null, null));
+
+            // Assert
+            int shard = (int) (store.id() % SHARDS);
+            assertEquals(shard, user.id() % SHARDS);
+            assertEquals(Set.of(shard), shardsHolding("users", user.id()));
+            assertEquals("renamed" + store.id(), renamed.username());
+            assertEquals(List.of(renamed), storeService.getUsersByStoreId(store.id()));
+            assertEquals("renamed" + store.id(),
+                    userDetailsService.loadUserByUsername("renamed" + store.id()).getUsername());
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge users of all shards in id order, whole and by page")
+    void getUsers_ShouldMergeShardsInIdOrder() {
+        // Arrange
+        for (int i = 0; i < SHARDS; i++) {
+            StoreDto store = createStore("Listing " + i);
+            for (int u = 0; u < 4; u++) {
+                createUser("listed" + store.id() + "_" + u, store.id());
+            }
+        }
+
+        // Act
+        List<UserDto> all = adminService.getAllUsers();
+        List<UserDto> paged = new ArrayList<>();
+        for (int page = 0; page * 5 < all.size(); page++) {
+            paged.addAll(adminService.getUsers(page, 5));
+        }
+
+        // Assert
+        assertEquals(all.stream().sorted(Comparator.comparing(UserDto::id)).toList(), all);
+        assertEquals(SHARDS, all.stream().map(user -> user.id() % SHARDS).distinct().count());
+        assertEquals(all, paged);
+    }
+
+    @Test
+    @DisplayName("Should reject a username already taken on another shard")
+    void createUser_ShouldKeepUsernamesUniqueAcrossShards() {
+        // Arrange
+        StoreDto first = createStore("Unique A");
+        StoreDto second = createStore("Unique B");
+        createUser("taken", first.id());
+
+        // Act & Assert
+        assertTrue(first.id() % SHARDS != second.id() % SHARDS);
+        assertThrows(IllegalArgumentException.class, () -> createUser("taken", second.id()));
+    }
+
+    @Test
+    @DisplayName("Should refuse to move a user to a store on another shard")
+    void updateUser_ShouldRejectCrossShardMove() {
+        // Arrange
+        StoreDto first = createStore("Move A");
+        StoreDto second = createStore("Move B");
+        UserDto user = createUser("mover", first.id());
+
+        // Act & Assert
+        assertThrows(CrossShardMoveException.class,
+                () -> adminService.updateUser(user.id(), new UpdateUserRequest(null, null, null, second.id())));
+        assertEquals(Set.of((int) (first.id() % SHARDS)), shardsHolding("users", user.id()));
+    }
+
+    @Test
+    @DisplayName("Should refuse a store on another shard to a user without a store")
+    void updateUser_WithoutStore_ShouldRejectStoreOffHomeShard() {
+        // Arrange: users without a store live on the home shard
+        UserDto user = createUser("floater", null);
+        StoreDto away = IntStream.range(0, SHARDS).mapToObj(i -> createStore("Away " + i))
+                .filter(store -> store.id() % SHARDS != 0)
+                .findFirst().orElseThrow();
+
+        // Act & Assert
+        assertThrows(CrossShardMoveException.class,
+                () -> adminService.updateUser(user.id(), new UpdateUserRequest(null, null, null, away.id())));
+        assertEquals(Set.of(0), shardsHolding("users", user.id()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.spring.restaurantmanagementsystem.timeclock;
+
+import com.spring.restaurantmanagementsystem.exception.PunchRejectedException;
+import com.spring.restaurantmanagementsystem.model.PunchType;
+import com.spring.restaurantmanagementsystem.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the punch writer and ingestor against a local H2 database whose table refuses punches of user 13.
+ */
+class PunchIngestorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PunchBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:punch-ingestor;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("create table time_punches (id uuid primary key, user_id bigint not null check (user_id <> 13), " +
+                "store_id bigint not null, type varchar(20) not null, " +
+                "punched_at timestamp(6) with time zone not null, latitude float(53), longitude float(53))");
+        writer = new PunchBatchWriter(jdbcTemplate, new ShardRouter(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    // Helper method to create a buffered punch without an ack
+    private static PendingPunch punch(long userId) {
+        return new PendingPunch(UUID.randomUUID(), userId, 1L, PunchType.CLOCK_IN, Instant.now(), null, null, null);
+    }
+
+    private int storedPunches() {
+        return jdbcTemplate.queryForObject("select count(*) from time_punches", Integer.class);
+    }
+
+    @Test
+    @DisplayName("Should store none of a batch when one of its punches fails")
+    void write_FailingRow_ShouldRollBackTheBatch() {
+        // Arrange
+        List<PendingPunch> batch = List.of(punch(1L), punch(2L), punch(13L), punch(4L));
+
+        // Act
+        assertThrows(DataAccessException.class, () -> writer.write(batch));
+
+        // Assert
+        assertEquals(0, storedPunches());
+    }
+
+    @Test
+    @DisplayName("Should leave no accepted punch unacknowledged when stopped while punches arrive")
+    void stop_WhileSubmitting_ShouldAckEveryAcceptedPunch() throws InterruptedException {
+        // Arrange
+        PunchIngestor ingestor = new PunchIngestor(writer, 1_024, 50, 1, AckMode.DURABLE);
+        Queue<PendingPunch> accepted = new ConcurrentLinkedQueue<>();
+        ingestor.start();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    while (true) {
+                        try {
+                            accepted.add(ingestor.submit(1L, 1L, PunchType.CLOCK_IN, Instant.now(), null, null));
+                        } catch (PunchRejectedException e) {
+                            if (!ingestor.isRunning()) {
+                                return;
+                            }
+                        }
+                    }
+                });
+            }
+            Thread.sleep(200);
+            ingestor.stop();
+        }
+
+        // Assert
+        assertTrue(accepted.stream().allMatch(punch -> punch.ack().isDone()));
+        assertEquals(accepted.size(), storedPunches());
+    }
+}
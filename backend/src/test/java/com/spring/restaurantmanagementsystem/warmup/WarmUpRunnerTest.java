@@ -0,0 +1,108 @@
+package com.spring.restaurantmanagementsystem.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import com.spring.restaurantmanagementsystem.security.UserDetailsServiceImpl;
+import com.spring.restaurantmanagementsystem.service.StoreService;
+import com.spring.restaurantmanagementsystem.web.UserListJsonWriter;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the WarmUpRunner class.
+ * Verifies that every step runs the configured number of times and that
+ * cold and warm latencies are exported.
+ */
+@ExtendWith(MockitoExtension.class)
+class WarmUpRunnerTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private StoreService storeService;
+
+    @Mock
+    private DataSource dataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private WarmUpRunner runner(boolean enabled, int iterations) {
+        return new WarmUpRunner(jwtService, userDetailsService, storeService, new UserListJsonWriter(),
+                new ObjectMapper(), dataSource, meterRegistry, enabled, iterations, 30, "admin");
+    }
+
+    @Test
+    @DisplayName("Should run every warm-up step and export cold and warm latencies")
+    void run_ShouldExerciseEveryStep() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+        when(jwtService.generateToken(anyString())).thenReturn("token");
+
+        // Act
+        runner(true, 20).run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(jwtService, times(20)).isTokenValid(any(), any());
+        verify(userDetailsService, times(20)).loadUserByUsername("admin");
+        verify(storeService, times(20)).getAllStores();
+        assertEquals(8, meterRegistry.find("app.warmup.latency").timeGauges().size());
+        TimeGauge warmSerialization = meterRegistry.find("app.warmup.latency")
+                .tags("step", "serialization", "phase", "warm").timeGauge();
+        assertNotNull(warmSerialization);
+    }
+
+    @Test
+    @DisplayName("Should keep warming up when the default admin does not exist yet")
+    void run_ShouldTolerateMissingDefaultUser() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+        when(userDetailsService.loadUserByUsername("admin")).thenThrow(new UsernameNotFoundException("admin"));
+
+        // Act
+        runner(true, 5).run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(storeService, times(5)).getAllStores();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when warm-up is disabled")
+    void run_Disabled_ShouldSkipWarmUp() throws Exception {
+        // Act
+        runner(false, 20).run(new DefaultApplicationArguments());
+
+        // Assert
+        verifyNoInteractions(jwtService, userDetailsService, storeService, dataSource);
+        assertEquals(0, meterRegistry.find("app.warmup.latency").timeGauges().size());
+    }
+}
@@ -0,0 +1,152 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for AdaptiveLimit, driven by a hand-moved clock, and for BulkheadFilter with a stand-in
+ * controller that holds login requests until released.
+ */
+class BulkheadFilterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveLimit limit(int initial, int max) {
+        return new AdaptiveLimit(initial, 2, max, WINDOW, clock::get);
+    }
+
+    /**
+     * Runs one sampling window: rounds of {@code concurrency} requests taking {@code rttMs} each.
+     */
+    private void window(AdaptiveLimit limit, int concurrency, long rttMs) {
+        clock.addAndGet(WINDOW.toNanos());
+        for (int samples = 0; samples < AdaptiveLimit.MIN_WINDOW_SAMPLES; samples += concurrency) {
+            for (int i = 0; i < concurrency; i++) {
+                assertTrue(limit.tryAcquire());
+            }
+            for (int i = 0; i < concurrency; i++) {
+                limit.release(TimeUnit.MILLISECONDS.toNanos(rttMs));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should raise a fully used limit while latency stays flat, up to the maximum")
+    void adaptiveLimit_FlatLatency_ShouldGrow() {
+        // Arrange
+        AdaptiveLimit limit = limit(10, 40);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            window(limit, limit.getLimit(), 20);
+        }
+
+        // Assert
+        assertEquals(40, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should lower the limit once latency rises well above its long-term average")
+    void adaptiveLimit_RisingLatency_ShouldShrink() {
+        // Arrange
+        AdaptiveLimit limit = limit(30, 30);
+        for (int i = 0; i < 20; i++) {
+            window(limit, 30, 20);
+        }
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            window(limit, limit.getLimit(), 200);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() < 20, "limit " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not grow a limit that is mostly unused")
+    void adaptiveLimit_Underused_ShouldHold() {
+        // Arrange
+        AdaptiveLimit limit = limit(20, 100);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            window(limit, 2, 20);
+        }
+
+        // Assert
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should shed requests over their class's limit with 503 while other classes still pass")
+    void doFilter_FullBulkhead_ShouldShedOnlyThatClass() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch entered = new CountDownLatch(2);
+        FilterChain controller = (request, response) -> {
+            if (((HttpServletRequest) request).getRequestURI().startsWith("/api/auth/")) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_OK);
+        };
+        BulkheadFilter filter = new BulkheadFilter(Map.of(
+                EndpointClass.AUTH, limit(2, 2),
+                EndpointClass.ADMIN_READ, limit(2, 2)), new SimpleMeterRegistry());
+
+        // Act
+        MockHttpServletResponse shed;
+        MockHttpServletResponse other;
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> first = executor.submit(() -> send(filter, controller, "POST", "/api/auth/login"));
+            Future<?> second = executor.submit(() -> send(filter, controller, "POST", "/api/auth/login"));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            shed = send(filter, controller, "POST", "/api/auth/login");
+            other = send(filter, controller, "GET", "/api/admin/stores");
+            release.countDown();
+            first.get();
+            second.get();
+        }
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, shed.getStatus());
+        assertEquals("1", shed.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpServletResponse.SC_OK, other.getStatus());
+    }
+
+    private static MockHttpServletResponse send(BulkheadFilter filter, FilterChain controller, String method, String path) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest(method, path), response, controller);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,291 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import com.spring.restaurantmanagementsystem.model.IdempotencyRecord;
+import com.spring.restaurantmanagementsystem.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IdempotencyFilter and IdempotencyStore, with a stand-in for the controller that counts
+ * how often it runs and answers 201 with the request body.
+ */
+class IdempotencyFilterTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile int status = HttpServletResponse.SC_CREATED;
+
+    private final FilterChain controller = (request, response) -> {
+        executions.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setStatus(status);
+        httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        httpResponse.getOutputStream().write(request.getInputStream().readAllBytes());
+    };
+
+    private IdempotencyFilter filter(IdempotencyStore store) {
+        return new IdempotencyFilter(store, 5000, 64, new SimpleMeterRegistry());
+    }
+
+    private static IdempotencyStore memoryStore() {
+        return new IdempotencyStore(100, Duration.ofHours(1), null, Clock.systemUTC());
+    }
+
+    private static MockHttpServletRequest post(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/admin/users");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse send(IdempotencyFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should run a request once and replay its response to a retry")
+    void doFilter_ShouldReplayRetry() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(memoryStore());
+
+        // Act
+        MockHttpServletResponse first = send(filter, post("key-1", "{\"username\":\"a\"}"));
+        MockHttpServletResponse retry = send(filter, post("key-1", "{\"username\":\"a\"}"));
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("{\"username\":\"a\"}", retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request with 422")
+    void doFilter_ShouldRejectKeyReuse() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(memoryStore());
+        send(filter, post("key-2", "{\"username\":\"a\"}"));
+
+        // Act
+        MockHttpServletResponse reused = send(filter, post("key-2", "{\"username\":\"b\"}"));
+
+        // Assert
+        assertEquals(422, reused.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once and give all of them the same response")
+    void doFilter_ShouldCoalesceConcurrentDuplicates() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(memoryStore());
+        release = new CountDownLatch(1);
+        int duplicates = 8;
+
+        // Act
+        Map<Integer, Future<MockHttpServletResponse>> responses = new HashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < duplicates; i++) {
+                responses.put(i, executor.submit(() -> send(filter, post("key-3", "{\"username\":\"c\"}"))));
+            }
+            Thread.sleep(200);
+            release.countDown();
+        }
+
+        // Assert
+        assertEquals(1, executions.get());
+        long replayed = 0;
+        for (Future<MockHttpServletResponse> response : responses.values()) {
+            assertEquals(201, response.get().getStatus());
+            assertEquals("{\"username\":\"c\"}", response.get().getContentAsString());
+            if ("true".equals(response.get().getHeader(IdempotencyFilter.REPLAYED))) {
+                replayed++;
+            }
+        }
+        assertEquals(duplicates - 1, replayed);
+    }
+
+    @Test
+    @DisplayName("Should not keep server errors, so a retry runs again")
+    void doFilter_ShouldRetryServerErrors() throws Exception {
+        // Arrange
+        IdempotencyStore store = memoryStore();
+        IdempotencyFilter filter = filter(store);
+        status = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+
+        // Act
+        MockHttpServletResponse failed = send(filter, post("key-4", "{}"));
+        status = HttpServletResponse.SC_CREATED;
+        MockHttpServletResponse retried = send(filter, post("key-4", "{}"));
+
+        // Assert
+        assertEquals(503, failed.getStatus());
+        assertEquals(201, retried.getStatus());
+        assertEquals(2, executions.get());
+        assertNull(retried.getHeader(IdempotencyFilter.REPLAYED));
+    }
+
+    @Test
+    @DisplayName("Should evict answered keys over the limit but keep keys whose request is still running")
+    void begin_OverLimit_ShouldKeepRunningKeys() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(1, Duration.ofHours(1), null, Clock.systemUTC());
+        store.begin("caller", "running", "f1");
+        store.begin("caller", "answered", "f2");
+        store.complete("caller", "answered", "f2", new StoredResponse(201, null, new byte[0]));
+
+        // Act
+        store.begin("caller", "next", "f3");
+
+        // Assert
+        assertInstanceOf(IdempotencyStore.InProgress.class, store.begin("caller", "running", "f1"));
+        assertInstanceOf(IdempotencyStore.Execute.class, store.begin("caller", "answered", "f2"));
+    }
+
+    @Test
+    @DisplayName("Should not release a key claimed again by another request when an earlier claim is abandoned")
+    void abandon_ClaimedAgain_ShouldKeepNewClaim() {
+        // Arrange
+        IdempotencyStore store = memoryStore();
+        store.begin("caller", "key", "first");
+        store.abandon("caller", "key", "first");
+        store.begin("caller", "key", "second");
+
+        // Act
+        store.abandon("caller", "key", "first");
+
+        // Assert
+        assertInstanceOf(IdempotencyStore.InProgress.class, store.begin("caller", "key", "second"));
+    }
+
+    @Test
+    @DisplayName("Should replay a persisted response after a restart")
+    void doFilter_ShouldReplayPersistedResponse() throws Exception {
+        // Arrange
+        Map<String, IdempotencyRecord> table = new HashMap<>();
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            table.put(record.getId(), record);
+            return record;
+        });
+        when(repository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.getArgument(0))));
+        send(filter(new IdempotencyStore(100, Duration.ofHours(1), repository, Clock.systemUTC())),
+                post("key-5", "{\"username\":\"e\"}"));
+
+        // Act
+        IdempotencyFilter restarted = filter(new IdempotencyStore(100, Duration.ofHours(1), repository, Clock.systemUTC()));
+        MockHttpServletResponse retry = send(restarted, post("key-5", "{\"username\":\"e\"}"));
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals("{\"username\":\"e\"}", retry.getContentAsString());
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    @DisplayName("Should answer a keyed request with a body over the limit with 413 without running it")
+    void doFilter_ShouldRejectOversizedBody() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(memoryStore());
+        // A chunked request, whose length is only known by reading it
+        MockHttpServletRequest undeclared = new MockHttpServletRequest("POST", "/api/admin/users") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        undeclared.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-6");
+        undeclared.setContent("x".repeat(65).getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        MockHttpServletResponse declared = send(filter, post("key-6", "x".repeat(65)));
+        MockHttpServletResponse streamed = send(filter, undeclared);
+        MockHttpServletResponse atLimit = send(filter, post("key-7", "x".repeat(64)));
+
+        // Assert
+        assertEquals(413, declared.getStatus());
+        assertEquals(413, streamed.getStatus());
+        assertEquals(201, atLimit.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should hand the buffered body to a non-blocking reader")
+    void doFilter_ShouldNotifyReadListener() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = filter(memoryStore());
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger completed = new AtomicInteger();
+        FilterChain asyncController = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    completed.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+            });
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_CREATED);
+        };
+
+        // Act
+        filter.doFilter(post("key-8", "{\"username\":\"h\"}"), new MockHttpServletResponse(), asyncController);
+
+        // Assert
+        assertEquals("{\"username\":\"h\"}", read.toString(StandardCharsets.UTF_8));
+        assertEquals(1, completed.get());
+    }
+}
@@ -0,0 +1,70 @@
+package com.spring.restaurantmanagementsystem.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.StoreDto;
+import com.spring.restaurantmanagementsystem.dto.UserDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for UserListJsonWriter.
+ * The default form is compared byte for byte with Jackson's own serialization of the same list.
+ */
+class UserListJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserListJsonWriter writer = new UserListJsonWriter();
+
+    private final StoreDto downtown = new StoreDto(1L, "Downtown \"Central\"", 41.38, 2.17);
+    private final StoreDto harbour = new StoreDto(2L, "Harbour", null, Double.NaN);
+    private final List<UserDto> users = List.of(
+            new UserDto(1L, "admin", "admin@mail.com", Set.of("ADMIN"), null),
+            new UserDto(2L, "waiter", "waiter@mail.com", Set.of("WAITER", "CASHIER"), downtown),
+            new UserDto(3L, "cook", null, Set.of(), harbour),
+            new UserDto(4L, "host", "host@mail.com", null, downtown));
+
+    @Test
+    @DisplayName("Should write the same JSON as Jackson's default serialization")
+    void write_ShouldMatchJacksonOutput() throws IOException {
+        // Arrange
+        String expected = objectMapper.writeValueAsString(users);
+
+        // Act
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            writer.write(users, generator);
+        }
+
+        // Assert
+        assertEquals(expected, json.toString());
+    }
+
+    @Test
+    @DisplayName("Should list each store once in the normalized form")
+    void writeNormalized_ShouldListEachStoreOnce() throws IOException {
+        // Act
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            writer.writeNormalized(users, generator);
+        }
+        JsonNode root = objectMapper.readTree(json.toString());
+
+        // Assert
+        assertEquals(2, root.get("stores").size());
+        assertEquals(objectMapper.writeValueAsString(downtown), root.get("stores").get(0).toString());
+        assertEquals(4, root.get("users").size());
+        assertTrue(root.get("users").get(0).get("storeId").isNull());
+        assertEquals(1L, root.get("users").get(3).get("storeId").asLong());
+        assertTrue(root.get("users").get(1).path("store").isMissingNode());
+    }
+}
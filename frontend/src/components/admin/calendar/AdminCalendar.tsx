@@ -40,8 +40,8 @@ export const AdminCalendar: React.FC = () => {
 
   // Fetch users for selection
   const { data: users = [] } = useQuery({
-    queryKey: ['users'],
-    queryFn: adminApi.getAllUsers,
+    queryKey: ['users', 'username,roles'],
+    queryFn: () => adminApi.getAllUsers(['username', 'roles']),
     staleTime: 5 * 60 * 1000, // 5 minutes
   });
 
@@ -37,7 +37,7 @@ export const ManageStores: React.FC = () => {
     // Fetch users for selected store
     const {data: storeUsers = []} = useQuery({
         queryKey: ['store-users', selectedStore?.id],
-        queryFn: () => selectedStore ? adminApi.getUsersByStore(selectedStore.id) : Promise.resolve([]),
+        queryFn: () => selectedStore ? adminApi.getUsersByStore(selectedStore.id, ['username', 'email', 'roles']) : Promise.resolve([]),
         enabled: !!selectedStore && isUsersModalOpen,
     });
 
@@ -63,8 +63,9 @@ export const authApi = {
 };
 
 export const adminApi = {
-  getAllUsers: async (): Promise<User[]> => {
-    return apiClient.get<User[]>('/admin/users');
+  // With fields, only those fields (and the id) are read and returned, e.g. ['username'] for dropdowns
+  getAllUsers: async (fields?: string[]): Promise<User[]> => {
+    return apiClient.get<User[]>(fields ? `/admin/users?fields=${fields.join(',')}` : '/admin/users');
   },
 
   createUser: async (userData: CreateUserRequest): Promise<User> => {
@@ -104,7 +105,8 @@ export const adminApi = {
     await apiClient.delete(`/admin/stores/${id.toString()}`);
   },
 
-  getUsersByStore: async (storeId: number): Promise<User[]> => {
-    return apiClient.get<User[]>(`/admin/stores/${storeId.toString()}/users`);
+  getUsersByStore: async (storeId: number, fields?: string[]): Promise<User[]> => {
+    const path = `/admin/stores/${storeId.toString()}/users`;
+    return apiClient.get<User[]>(fields ? `${path}?fields=${fields.join(',')}` : path);
   }
 };